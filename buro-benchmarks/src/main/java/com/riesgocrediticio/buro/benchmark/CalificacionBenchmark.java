@@ -0,0 +1,97 @@
+package com.riesgocrediticio.buro.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.riesgocrediticio.buro.config.CalificacionProperties;
+import com.riesgocrediticio.buro.service.calificacion.AgregadosRiesgo;
+import com.riesgocrediticio.buro.service.calificacion.CalificadorRiesgo;
+import com.riesgocrediticio.buro.service.calificacion.ReglasCalificacion;
+import com.riesgocrediticio.buro.service.calificacion.ReglasCalificacionVigentes;
+import com.riesgocrediticio.buro.service.calificacion.ResultadoCalificacion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calificación de riesgo y capacidad de pago: agregados sobre las listas del cliente y evaluación de la tabla.
+ * Cada invocación toma el siguiente cliente del arreglo para no medir siempre la misma rama de las reglas.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalificacionBenchmark {
+
+    private static final int CLIENTES = 1024;
+
+    @Param({"TIPICO", "PESADO"})
+    public DatosBenchmark.Perfil perfil;
+
+    private CalificadorRiesgo calificador;
+    private ReglasCalificacion reglas;
+    private DatosBenchmark.Cliente[] clientes;
+    private AgregadosRiesgo[] agregados;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        ReglasCalificacionVigentes vigentes = new ReglasCalificacionVigentes(
+            new DefaultResourceLoader(), new ObjectMapper(), new CalificacionProperties(), evento -> { });
+        calificador = new CalificadorRiesgo(vigentes);
+        reglas = vigentes.obtener();
+        clientes = DatosBenchmark.generar(perfil, CLIENTES);
+        agregados = new AgregadosRiesgo[CLIENTES];
+        for (int i = 0; i < CLIENTES; i++) {
+            agregados[i] = calificador.calcularAgregadosInterno(clientes[i].ingresosInternos, clientes[i].egresosInternos);
+        }
+    }
+
+    private int siguiente() {
+        int i = siguiente;
+        siguiente = (i + 1) & (CLIENTES - 1);
+        return i;
+    }
+
+    @Benchmark
+    public AgregadosRiesgo agregadosInterno() {
+        DatosBenchmark.Cliente cliente = clientes[siguiente()];
+        return calificador.calcularAgregadosInterno(cliente.ingresosInternos, cliente.egresosInternos);
+    }
+
+    @Benchmark
+    public AgregadosRiesgo agregadosExterno() {
+        DatosBenchmark.Cliente cliente = clientes[siguiente()];
+        return calificador.calcularAgregadosExterno(cliente.ingresosExternos, cliente.egresosExternos);
+    }
+
+    @Benchmark
+    public String calificacionRiesgo() {
+        return reglas.calificar(agregados[siguiente()]);
+    }
+
+    @Benchmark
+    public BigDecimal capacidadPago() {
+        return reglas.calcularCapacidadPago(agregados[siguiente()]);
+    }
+
+    // Camino completo de la consulta: agregados + calificación + capacidad con la tabla vigente
+    @Benchmark
+    public ResultadoCalificacion calificacionCompleta() {
+        DatosBenchmark.Cliente cliente = clientes[siguiente()];
+        return calificador.calificar(calificador.calcularAgregadosInterno(cliente.ingresosInternos, cliente.egresosInternos));
+    }
+}
@@ -0,0 +1,155 @@
+package com.riesgocrediticio.buro.benchmark;
+
+import com.riesgocrediticio.buro.repository.ConsultaBuroRepository;
+import com.riesgocrediticio.buro.repository.RegistrosBuroCliente;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de la lectura de registros por cédula contra una base PostgreSQL con datos cargados:
+ * la consulta UNION ALL de ConsultaBuroRepository frente a las cuatro consultas por tabla que se hacían antes.
+ * Las dos variantes corren en una transacción de solo lectura, como en los servicios, sobre cédulas repartidas
+ * por toda la base (no solo las primeras). El modo SampleTime reporta percentiles (p50, p99). Requiere la base;
+ * se omite con -e ConsultaBuroBenchmark.
+ * <p>
+ * El buró externo se busca por cédula en todas sus particiones mensuales, así que el costo crece con los meses
+ * que siguen adjuntos. mesesAnteriores agrega ese número de particiones vacías de ingresos y de egresos antes
+ * del mes más antiguo, para medir la latencia según los meses que deja buro.particiones-externo.meses-retencion;
+ * se borran al terminar.
+ * <p>
+ * Conexión: -p url=jdbc:postgresql://host:5432/RiesgoCrediticio -p usuario=... -p clave=...
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConsultaBuroBenchmark {
+
+    private static final String SQL_CEDULAS =
+            "SELECT cedula_cliente FROM (SELECT DISTINCT cedula_cliente FROM buro_interno.ingresos " +
+            "UNION SELECT DISTINCT cedula_cliente FROM buro_externo.ingresos) c ORDER BY md5(cedula_cliente) LIMIT 512";
+
+    // Primer mes de la partición mensual más antigua que sigue adjunta al buró externo
+    private static final String SQL_MES_MAS_ANTIGUO =
+            "SELECT min(to_date(right(hija.relname, 6), 'YYYYMM')) FROM pg_inherits h " +
+            "JOIN pg_class hija ON hija.oid = h.inhrelid WHERE h.inhparent = 'buro_externo.ingresos'::regclass " +
+            "AND hija.relname ~ '_[0-9]{6}$'";
+
+    private static final String[] SQL_POR_TABLA = {
+        "SELECT * FROM buro_interno.ingresos WHERE cedula_cliente = ?",
+        "SELECT * FROM buro_interno.egresos WHERE cedula_cliente = ?",
+        "SELECT * FROM buro_externo.ingresos WHERE cedula_cliente = ?",
+        "SELECT * FROM buro_externo.egresos WHERE cedula_cliente = ?"
+    };
+
+    @Param("jdbc:postgresql://localhost:5432/RiesgoCrediticio")
+    public String url;
+
+    @Param("postgres")
+    public String usuario;
+
+    @Param("123")
+    public String clave;
+
+    @Param("BANCO BANQUITO")
+    public String institucion;
+
+    @Param({"0", "24", "96"})
+    public int mesesAnteriores;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ConsultaBuroRepository consultaBuroRepository;
+    private TransactionTemplate transaccion;
+    private List<String> instituciones;
+    private String[] cedulas;
+    private final List<String> particionesAgregadas = new ArrayList<>();
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        dataSource = new SingleConnectionDataSource(url, usuario, clave, true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // Lo mismo que spring.datasource.hikari.connection-init-sql en la aplicación
+        jdbcTemplate.execute("SET plan_cache_mode = force_generic_plan");
+        consultaBuroRepository = new ConsultaBuroRepository(new NamedParameterJdbcTemplate(jdbcTemplate));
+        transaccion = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaccion.setReadOnly(true);
+        instituciones = List.of(institucion);
+        agregarMesesAnteriores();
+        cedulas = jdbcTemplate.queryForList(SQL_CEDULAS, String.class).toArray(String[]::new);
+        if (cedulas.length == 0) {
+            throw new IllegalStateException("La base no tiene registros de buró para medir");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        for (String particion : particionesAgregadas) {
+            jdbcTemplate.execute("DROP TABLE buro_externo." + particion);
+        }
+        dataSource.destroy();
+    }
+
+    private void agregarMesesAnteriores() {
+        LocalDate masAntiguo = jdbcTemplate.queryForObject(SQL_MES_MAS_ANTIGUO, LocalDate.class);
+        for (int i = 1; i <= mesesAnteriores; i++) {
+            LocalDate mes = masAntiguo.minusMonths(i);
+            for (String tabla : List.of("ingresos", "egresos")) {
+                Boolean creada = jdbcTemplate.queryForObject(
+                    "SELECT buro_externo.crear_particion_mes(?, ?)", Boolean.class, tabla, mes);
+                if (Boolean.TRUE.equals(creada)) {
+                    particionesAgregadas.add(tabla + "_" + mes.format(DateTimeFormatter.ofPattern("yyyyMM")));
+                }
+            }
+        }
+        jdbcTemplate.execute("ANALYZE buro_externo.ingresos, buro_externo.egresos");
+    }
+
+    private String siguiente() {
+        String cedula = cedulas[siguiente];
+        siguiente = (siguiente + 1) % cedulas.length;
+        return cedula;
+    }
+
+    @Benchmark
+    public RegistrosBuroCliente unionAll() {
+        String cedula = siguiente();
+        return transaccion.execute(estado -> consultaBuroRepository.buscarPorCedula(cedula, instituciones));
+    }
+
+    @Benchmark
+    public void cuatroConsultas(Blackhole blackhole) {
+        String cedula = siguiente();
+        transaccion.executeWithoutResult(estado -> {
+            for (String sql : SQL_POR_TABLA) {
+                blackhole.consume(jdbcTemplate.queryForList(sql, cedula));
+            }
+        });
+    }
+}
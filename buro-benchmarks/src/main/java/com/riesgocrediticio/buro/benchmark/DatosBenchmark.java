@@ -0,0 +1,173 @@
+package com.riesgocrediticio.buro.benchmark;
+
+import com.riesgocrediticio.buro.enums.MoraEnum;
+import com.riesgocrediticio.buro.enums.MoraTresMesesEnum;
+import com.riesgocrediticio.buro.enums.ProductoExternoEnum;
+import com.riesgocrediticio.buro.enums.ProductoInternoEnum;
+import com.riesgocrediticio.buro.model.EgresosExterno;
+import com.riesgocrediticio.buro.model.EgresosInterno;
+import com.riesgocrediticio.buro.model.IngresosExterno;
+import com.riesgocrediticio.buro.model.IngresosInterno;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Genera clientes de prueba con la misma forma que los registros leídos de la base (montos con 2 decimales).
+ * La semilla es fija para que todas las corridas midan los mismos datos.
+ */
+public final class DatosBenchmark {
+
+    private static final long SEMILLA = 20240601L;
+
+    private static final String[] INSTITUCIONES = {
+        "BANCO BANQUITO", "BANCO PICHINCHA", "BANCO GUAYAQUIL", "BANCO DEL PACIFICO",
+        "PRODUBANCO", "BANCO INTERNACIONAL", "BANCO BOLIVARIANO", "COOPERATIVA JEP"
+    };
+
+    private static final String[] PRODUCTOS_INGRESO = {"CUENTA DE AHORRO", "CUENTA CORRIENTE"};
+
+    private DatosBenchmark() {
+    }
+
+    /**
+     * Tamaño del cliente: TIPICO replica la carga mock (un ingreso, tarjeta y préstamo en una institución);
+     * PESADO es un cliente con productos en todas las instituciones.
+     */
+    public enum Perfil {
+        TIPICO(1, 2, 1),
+        PESADO(3, 6, INSTITUCIONES.length);
+
+        final int ingresosPorInstitucion;
+        final int egresosPorInstitucion;
+        final int instituciones;
+
+        Perfil(int ingresosPorInstitucion, int egresosPorInstitucion, int instituciones) {
+            this.ingresosPorInstitucion = ingresosPorInstitucion;
+            this.egresosPorInstitucion = egresosPorInstitucion;
+            this.instituciones = instituciones;
+        }
+    }
+
+    /**
+     * Registros de un cliente del buró interno y otro del externo con el mismo perfil.
+     */
+    static final class Cliente {
+        final List<IngresosInterno> ingresosInternos = new ArrayList<>();
+        final List<EgresosInterno> egresosInternos = new ArrayList<>();
+        final List<IngresosExterno> ingresosExternos = new ArrayList<>();
+        final List<EgresosExterno> egresosExternos = new ArrayList<>();
+    }
+
+    static Cliente[] generar(Perfil perfil, int cantidad) {
+        return generar(perfil, cantidad, 1700000000L);
+    }
+
+    /**
+     * Igual que {@link #generar(Perfil, int)}, con cédulas consecutivas desde primeraCedula.
+     */
+    static Cliente[] generar(Perfil perfil, int cantidad, long primeraCedula) {
+        SplittableRandom random = new SplittableRandom(SEMILLA);
+        Cliente[] clientes = new Cliente[cantidad];
+        for (int c = 0; c < cantidad; c++) {
+            clientes[c] = generarCliente(perfil, String.valueOf(primeraCedula + c), "Persona " + c, random);
+        }
+        return clientes;
+    }
+
+    private static Cliente generarCliente(Perfil perfil, String cedula, String nombre, SplittableRandom random) {
+        Cliente cliente = new Cliente();
+        LocalDate hoy = LocalDate.now();
+        long id = 1;
+
+        for (int i = 0; i < perfil.instituciones; i++) {
+            String institucion = INSTITUCIONES[i];
+
+            for (int k = 0; k < perfil.ingresosPorInstitucion; k++) {
+                String producto = PRODUCTOS_INGRESO[k % PRODUCTOS_INGRESO.length];
+                BigDecimal saldo = monto(random, 20_000, 300_000);
+                String cuenta = "100" + (random.nextInt(9_000_000) + 1_000_000);
+                LocalDate registro = hoy.minusDays(random.nextInt(14));
+
+                IngresosInterno interno = new IngresosInterno();
+                interno.setId(id);
+                interno.setCedulaCliente(cedula);
+                interno.setNombres(nombre);
+                interno.setInstitucionBancaria(institucion);
+                interno.setProducto(producto);
+                interno.setSaldoPromedioMes(saldo);
+                interno.setNumeroCuenta(cuenta);
+                interno.setFechaActualizacion(hoy);
+                interno.setFechaRegistro(registro);
+                interno.setVersion(1L);
+                cliente.ingresosInternos.add(interno);
+
+                IngresosExterno externo = new IngresosExterno();
+                externo.setId(id);
+                externo.setCedulaCliente(cedula);
+                externo.setNombres(nombre);
+                externo.setInstitucionBancaria(institucion);
+                externo.setProducto(producto);
+                externo.setSaldoPromedioMes(saldo);
+                externo.setNumeroCuenta(cuenta);
+                externo.setFechaActualizacion(hoy);
+                externo.setFechaRegistro(registro);
+                externo.setVersion(1L);
+                cliente.ingresosExternos.add(externo);
+                id++;
+            }
+
+            for (int k = 0; k < perfil.egresosPorInstitucion; k++) {
+                boolean tarjeta = k % 2 == 0;
+                int meses = random.nextBoolean() ? 0 : (tarjeta ? 1 + random.nextInt(36) : 12 + random.nextInt(36));
+                BigDecimal cuota = meses == 0 ? BigDecimal.ZERO.setScale(2)
+                    : tarjeta ? monto(random, 2_000, 12_000) : monto(random, 10_000, 50_000);
+                BigDecimal saldo = cuota.multiply(BigDecimal.valueOf(meses));
+                MoraEnum mora = meses == 0 ? MoraEnum.NO : MoraEnum.SI;
+                MoraTresMesesEnum moraReciente = random.nextBoolean() ? MoraTresMesesEnum.SI : MoraTresMesesEnum.NO;
+                LocalDate registro = hoy.minusDays(random.nextInt(14));
+
+                EgresosInterno interno = new EgresosInterno();
+                interno.setId(id);
+                interno.setCedulaCliente(cedula);
+                interno.setNombres(nombre);
+                interno.setInstitucionBancaria(institucion);
+                interno.setProducto(tarjeta ? ProductoInternoEnum.TARJETA_DE_CREDITO : ProductoInternoEnum.PRESTAMO);
+                interno.setSaldoPendiente(saldo);
+                interno.setMesesPendientes(meses);
+                interno.setCuotaPago(cuota);
+                interno.setMora(mora);
+                interno.setMoraUltimosTresMeses(moraReciente);
+                interno.setFechaActualizacion(hoy);
+                interno.setFechaRegistro(registro);
+                interno.setVersion(1L);
+                cliente.egresosInternos.add(interno);
+
+                EgresosExterno externo = new EgresosExterno();
+                externo.setId(id);
+                externo.setCedulaCliente(cedula);
+                externo.setNombres(nombre);
+                externo.setInstitucionBancaria(institucion);
+                externo.setProducto(tarjeta ? ProductoExternoEnum.TARJETA_DE_CREDITO : ProductoExternoEnum.PRESTAMO);
+                externo.setSaldoPendiente(saldo);
+                externo.setMesesPendientes(meses);
+                externo.setCuotaPago(cuota);
+                externo.setMora(mora);
+                externo.setMoraUltimosTresMeses(moraReciente);
+                externo.setFechaActualizacion(hoy);
+                externo.setFechaRegistro(registro);
+                externo.setVersion(1L);
+                cliente.egresosExternos.add(externo);
+                id++;
+            }
+        }
+        return cliente;
+    }
+
+    private static BigDecimal monto(SplittableRandom random, long minimoCentavos, long maximoCentavos) {
+        return BigDecimal.valueOf(random.nextLong(minimoCentavos, maximoCentavos), 2);
+    }
+}
@@ -0,0 +1,35 @@
+package com.riesgocrediticio.buro.benchmark;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada del jar de benchmarks. Acepta las mismas opciones que JMH y agrega siempre el
+ * profiler de GC, para que cada resultado incluya la tasa de asignación (gc.alloc.rate.norm).
+ */
+public final class EjecutarBenchmarks {
+
+    private EjecutarBenchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions lineaComandos = new CommandLineOptions(args);
+        if (lineaComandos.shouldHelp() || lineaComandos.shouldList() || lineaComandos.shouldListWithParams()
+                || lineaComandos.shouldListProfilers() || lineaComandos.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        boolean conGc = lineaComandos.getProfilers().stream()
+            .anyMatch(p -> p.getKlass().equals("gc") || p.getKlass().equals(GCProfiler.class.getName()));
+        OptionsBuilder opciones = new OptionsBuilder();
+        opciones.parent(lineaComandos);
+        if (!conGc) {
+            opciones.addProfiler(GCProfiler.class);
+        }
+        new Runner(opciones.build()).run();
+    }
+}
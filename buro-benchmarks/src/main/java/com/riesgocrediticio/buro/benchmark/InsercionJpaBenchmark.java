@@ -0,0 +1,309 @@
+package com.riesgocrediticio.buro.benchmark;
+
+import com.riesgocrediticio.buro.enums.MoraEnum;
+import com.riesgocrediticio.buro.enums.MoraTresMesesEnum;
+import com.riesgocrediticio.buro.enums.ProductoInternoEnum;
+import com.riesgocrediticio.buro.model.EgresosInterno;
+import com.riesgocrediticio.buro.model.IngresosInterno;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserción con JPA (lo que hace saveAll con entidades nuevas) de clientes del buró interno según cómo se generan
+ * los ids. IDENTITY, como antes de V6, obliga a Hibernate a insertar cada fila al persistirla para leer su id, sin
+ * lotes JDBC. SECUENCIA usa las entidades del servicio: reservan 50 ids por nextval y Hibernate agrupa los INSERT
+ * en lotes de 50, que el driver reescribe como una sentencia multi-fila. Las dos variantes escriben en las mismas
+ * tablas (IDENTITY usa el DEFAULT de la columna) con la configuración de batch de application.properties, en una
+ * transacción por iteración. El perfil TIPICO son 3 filas por cliente. Requiere la base; se omite con
+ * -e InsercionJpaBenchmark.
+ * <p>
+ * Usa cédulas desde 1910000000, que se borran (con sus cambios en la bandeja del interno) antes de cada iteración
+ * y al terminar. Conexión: -p url=jdbc:postgresql://host:5432/RiesgoCrediticio -p usuario=... -p clave=...
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InsercionJpaBenchmark {
+
+    private static final long PRIMERA_CEDULA = 1910000000L;
+
+    @Param({"IDENTITY", "SECUENCIA"})
+    public String ids;
+
+    @Param("10000")
+    public int clientes;
+
+    @Param("jdbc:postgresql://localhost:5432/RiesgoCrediticio?reWriteBatchedInserts=true")
+    public String url;
+
+    @Param("postgres")
+    public String usuario;
+
+    @Param("123")
+    public String clave;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private SessionFactory sessionFactory;
+    private DatosBenchmark.Cliente[] datos;
+    private List<Object> entidades;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(usuario);
+        dataSource.setPassword(clave);
+        dataSource.setMaximumPoolSize(2);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // Mismos valores que spring.jpa.properties.hibernate.* en application.properties
+        StandardServiceRegistry registro = new StandardServiceRegistryBuilder()
+            .applySetting(AvailableSettings.DATASOURCE, dataSource)
+            .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, 50)
+            .applySetting(AvailableSettings.ORDER_INSERTS, true)
+            .applySetting(AvailableSettings.ORDER_UPDATES, true)
+            .build();
+        sessionFactory = new MetadataSources(registro)
+            .addAnnotatedClass(IngresosInterno.class)
+            .addAnnotatedClass(EgresosInterno.class)
+            .addAnnotatedClass(IngresoIdentidad.class)
+            .addAnnotatedClass(EgresoIdentidad.class)
+            .buildMetadata()
+            .buildSessionFactory();
+
+        datos = DatosBenchmark.generar(DatosBenchmark.Perfil.TIPICO, clientes, PRIMERA_CEDULA);
+    }
+
+    /**
+     * Borra las filas de la iteración anterior y arma entidades nuevas (sin id) para la siguiente.
+     */
+    @Setup(Level.Iteration)
+    public void limpiar() {
+        String desde = String.valueOf(PRIMERA_CEDULA);
+        String hasta = String.valueOf(PRIMERA_CEDULA + clientes - 1);
+        jdbcTemplate.update("WITH borradas AS (DELETE FROM buro_interno.ingresos WHERE cedula_cliente BETWEEN ? AND ? RETURNING id) " +
+            "DELETE FROM buro_control.cambios_interno c USING borradas b WHERE c.tabla = 'INGRESOS' AND c.registro_id = b.id",
+            desde, hasta);
+        jdbcTemplate.update("WITH borradas AS (DELETE FROM buro_interno.egresos WHERE cedula_cliente BETWEEN ? AND ? RETURNING id) " +
+            "DELETE FROM buro_control.cambios_interno c USING borradas b WHERE c.tabla = 'EGRESOS' AND c.registro_id = b.id",
+            desde, hasta);
+        // Sin esto las tuplas muertas de iteraciones anteriores y el autovacuum meten ruido de varios segundos
+        jdbcTemplate.execute("VACUUM buro_interno.ingresos, buro_interno.egresos, buro_control.cambios_interno");
+
+        boolean identidad = "IDENTITY".equals(ids);
+        entidades = new ArrayList<>();
+        for (DatosBenchmark.Cliente cliente : datos) {
+            for (IngresosInterno ingreso : cliente.ingresosInternos) {
+                entidades.add(identidad ? new IngresoIdentidad(ingreso) : copiar(ingreso));
+            }
+            for (EgresosInterno egreso : cliente.egresosInternos) {
+                entidades.add(identidad ? new EgresoIdentidad(egreso) : copiar(egreso));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        limpiar();
+        sessionFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int insertar() {
+        try (Session sesion = sessionFactory.openSession()) {
+            Transaction transaccion = sesion.beginTransaction();
+            entidades.forEach(sesion::persist);
+            transaccion.commit();
+        }
+        return entidades.size();
+    }
+
+    private static IngresosInterno copiar(IngresosInterno origen) {
+        IngresosInterno ingreso = new IngresosInterno();
+        ingreso.setCedulaCliente(origen.getCedulaCliente());
+        ingreso.setNombres(origen.getNombres());
+        ingreso.setInstitucionBancaria(origen.getInstitucionBancaria());
+        ingreso.setProducto(origen.getProducto());
+        ingreso.setSaldoPromedioMes(origen.getSaldoPromedioMes());
+        ingreso.setNumeroCuenta(origen.getNumeroCuenta());
+        ingreso.setFechaActualizacion(origen.getFechaActualizacion());
+        ingreso.setFechaRegistro(origen.getFechaRegistro());
+        ingreso.setVersion(origen.getVersion());
+        return ingreso;
+    }
+
+    private static EgresosInterno copiar(EgresosInterno origen) {
+        EgresosInterno egreso = new EgresosInterno();
+        egreso.setCedulaCliente(origen.getCedulaCliente());
+        egreso.setNombres(origen.getNombres());
+        egreso.setInstitucionBancaria(origen.getInstitucionBancaria());
+        egreso.setProducto(origen.getProducto());
+        egreso.setSaldoPendiente(origen.getSaldoPendiente());
+        egreso.setMesesPendientes(origen.getMesesPendientes());
+        egreso.setCuotaPago(origen.getCuotaPago());
+        egreso.setMora(origen.getMora());
+        egreso.setMoraUltimosTresMeses(origen.getMoraUltimosTresMeses());
+        egreso.setFechaActualizacion(origen.getFechaActualizacion());
+        egreso.setFechaRegistro(origen.getFechaRegistro());
+        egreso.setVersion(origen.getVersion());
+        return egreso;
+    }
+
+    /**
+     * buro_interno.ingresos con el id IDENTITY que tenía la entidad antes de V6.
+     */
+    @Entity(name = "IngresoIdentidad")
+    @Table(name = "ingresos", schema = "buro_interno")
+    static class IngresoIdentidad {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @Column(name = "cedula_cliente")
+        String cedulaCliente;
+
+        String nombres;
+
+        @Column(name = "institucion_bancaria")
+        String institucionBancaria;
+
+        String producto;
+
+        @Column(name = "saldo_promedio_mes")
+        BigDecimal saldoPromedioMes;
+
+        @Column(name = "numero_cuenta")
+        String numeroCuenta;
+
+        @Column(name = "fecha_actualizacion")
+        LocalDate fechaActualizacion;
+
+        @Column(name = "fecha_registro")
+        LocalDate fechaRegistro;
+
+        @Version
+        Long version;
+
+        IngresoIdentidad() {
+        }
+
+        IngresoIdentidad(IngresosInterno origen) {
+            cedulaCliente = origen.getCedulaCliente();
+            nombres = origen.getNombres();
+            institucionBancaria = origen.getInstitucionBancaria();
+            producto = origen.getProducto();
+            saldoPromedioMes = origen.getSaldoPromedioMes();
+            numeroCuenta = origen.getNumeroCuenta();
+            fechaActualizacion = origen.getFechaActualizacion();
+            fechaRegistro = origen.getFechaRegistro();
+            version = origen.getVersion();
+        }
+    }
+
+    /**
+     * buro_interno.egresos con el id IDENTITY que tenía la entidad antes de V6.
+     */
+    @Entity(name = "EgresoIdentidad")
+    @Table(name = "egresos", schema = "buro_interno")
+    static class EgresoIdentidad {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @Column(name = "cedula_cliente")
+        String cedulaCliente;
+
+        String nombres;
+
+        @Column(name = "institucion_bancaria")
+        String institucionBancaria;
+
+        @Enumerated(EnumType.STRING)
+        ProductoInternoEnum producto;
+
+        @Column(name = "saldo_pendiente")
+        BigDecimal saldoPendiente;
+
+        @Column(name = "meses_pendientes")
+        Integer mesesPendientes;
+
+        @Column(name = "cuota_pago")
+        BigDecimal cuotaPago;
+
+        @Enumerated(EnumType.STRING)
+        MoraEnum mora;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "mora_ultimos_3_meses")
+        MoraTresMesesEnum moraUltimosTresMeses;
+
+        @Column(name = "fecha_actualizacion")
+        LocalDate fechaActualizacion;
+
+        @Column(name = "fecha_registro")
+        LocalDate fechaRegistro;
+
+        @Version
+        Long version;
+
+        EgresoIdentidad() {
+        }
+
+        EgresoIdentidad(EgresosInterno origen) {
+            cedulaCliente = origen.getCedulaCliente();
+            nombres = origen.getNombres();
+            institucionBancaria = origen.getInstitucionBancaria();
+            producto = origen.getProducto();
+            saldoPendiente = origen.getSaldoPendiente();
+            mesesPendientes = origen.getMesesPendientes();
+            cuotaPago = origen.getCuotaPago();
+            mora = origen.getMora();
+            moraUltimosTresMeses = origen.getMoraUltimosTresMeses();
+            fechaActualizacion = origen.getFechaActualizacion();
+            fechaRegistro = origen.getFechaRegistro();
+            version = origen.getVersion();
+        }
+    }
+}
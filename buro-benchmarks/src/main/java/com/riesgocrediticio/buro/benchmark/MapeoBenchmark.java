@@ -0,0 +1,82 @@
+package com.riesgocrediticio.buro.benchmark;
+
+import com.riesgocrediticio.buro.dto.EgresosExternoDto;
+import com.riesgocrediticio.buro.dto.EgresosInternoDto;
+import com.riesgocrediticio.buro.dto.IngresosExternoDto;
+import com.riesgocrediticio.buro.dto.IngresosInternoDto;
+import com.riesgocrediticio.buro.mapper.EgresosExternoMapper;
+import com.riesgocrediticio.buro.mapper.EgresosInternoMapper;
+import com.riesgocrediticio.buro.mapper.IngresosExternoMapper;
+import com.riesgocrediticio.buro.mapper.IngresosInternoMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión de entidades a DTO con los mappers de MapStruct que usa la consulta por cédula.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapeoBenchmark {
+
+    private static final int CLIENTES = 256;
+
+    @Param({"TIPICO", "PESADO"})
+    public DatosBenchmark.Perfil perfil;
+
+    private final IngresosInternoMapper ingresosInternoMapper = Mappers.getMapper(IngresosInternoMapper.class);
+    private final EgresosInternoMapper egresosInternoMapper = Mappers.getMapper(EgresosInternoMapper.class);
+    private final IngresosExternoMapper ingresosExternoMapper = Mappers.getMapper(IngresosExternoMapper.class);
+    private final EgresosExternoMapper egresosExternoMapper = Mappers.getMapper(EgresosExternoMapper.class);
+
+    private DatosBenchmark.Cliente[] clientes;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        clientes = DatosBenchmark.generar(perfil, CLIENTES);
+    }
+
+    private DatosBenchmark.Cliente siguiente() {
+        int i = siguiente;
+        siguiente = (i + 1) & (CLIENTES - 1);
+        return clientes[i];
+    }
+
+    @Benchmark
+    public List<IngresosInternoDto> ingresosInternos() {
+        return ingresosInternoMapper.toDtoList(siguiente().ingresosInternos);
+    }
+
+    @Benchmark
+    public List<EgresosInternoDto> egresosInternos() {
+        return egresosInternoMapper.toDtoList(siguiente().egresosInternos);
+    }
+
+    @Benchmark
+    public List<IngresosExternoDto> ingresosExternos() {
+        return ingresosExternoMapper.toDtoList(siguiente().ingresosExternos);
+    }
+
+    @Benchmark
+    public List<EgresosExternoDto> egresosExternos() {
+        return egresosExternoMapper.toDtoList(siguiente().egresosExternos);
+    }
+}
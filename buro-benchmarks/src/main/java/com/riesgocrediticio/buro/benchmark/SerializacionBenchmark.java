@@ -0,0 +1,106 @@
+package com.riesgocrediticio.buro.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.riesgocrediticio.buro.dto.response.ConsultaBuroCreditoResponse;
+import com.riesgocrediticio.buro.mapper.EgresosExternoMapper;
+import com.riesgocrediticio.buro.mapper.EgresosInternoMapper;
+import com.riesgocrediticio.buro.mapper.IngresosExternoMapper;
+import com.riesgocrediticio.buro.mapper.IngresosInternoMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON de ConsultaBuroCreditoResponse con la misma configuración de Jackson que usa Spring MVC.
+ * El cliente interno llena las listas internas y el externo las externas, como en la respuesta real.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacionBenchmark {
+
+    private static final int CLIENTES = 256;
+
+    @Param({"TIPICO", "PESADO"})
+    public DatosBenchmark.Perfil perfil;
+
+    private ObjectMapper objectMapper;
+    private ConsultaBuroCreditoResponse[] respuestasInternas;
+    private ConsultaBuroCreditoResponse[] respuestasExternas;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        IngresosInternoMapper ingresosInternoMapper = Mappers.getMapper(IngresosInternoMapper.class);
+        EgresosInternoMapper egresosInternoMapper = Mappers.getMapper(EgresosInternoMapper.class);
+        IngresosExternoMapper ingresosExternoMapper = Mappers.getMapper(IngresosExternoMapper.class);
+        EgresosExternoMapper egresosExternoMapper = Mappers.getMapper(EgresosExternoMapper.class);
+
+        DatosBenchmark.Cliente[] clientes = DatosBenchmark.generar(perfil, CLIENTES);
+        respuestasInternas = new ConsultaBuroCreditoResponse[CLIENTES];
+        respuestasExternas = new ConsultaBuroCreditoResponse[CLIENTES];
+        for (int i = 0; i < CLIENTES; i++) {
+            DatosBenchmark.Cliente cliente = clientes[i];
+            String cedula = cliente.ingresosInternos.get(0).getCedulaCliente();
+            String nombre = cliente.ingresosInternos.get(0).getNombres();
+            respuestasInternas[i] = ConsultaBuroCreditoResponse.builder()
+                .nombreCliente(nombre)
+                .cedulaCliente(cedula)
+                .ingresosInternos(ingresosInternoMapper.toDtoList(cliente.ingresosInternos))
+                .egresosInternos(egresosInternoMapper.toDtoList(cliente.egresosInternos))
+                .ingresosExternos(Collections.emptyList())
+                .egresosExternos(Collections.emptyList())
+                .calificacionRiesgo("B+")
+                .capacidadPago(new BigDecimal("450.30"))
+                .versionReglas("2025.1")
+                .build();
+            respuestasExternas[i] = ConsultaBuroCreditoResponse.builder()
+                .nombreCliente(nombre)
+                .cedulaCliente(cedula)
+                .ingresosInternos(Collections.emptyList())
+                .egresosInternos(Collections.emptyList())
+                .ingresosExternos(ingresosExternoMapper.toDtoList(cliente.ingresosExternos))
+                .egresosExternos(egresosExternoMapper.toDtoList(cliente.egresosExternos))
+                .calificacionRiesgo("D+")
+                .capacidadPago(new BigDecimal("120.00"))
+                .versionReglas("2025.1")
+                .build();
+        }
+    }
+
+    private int siguiente() {
+        int i = siguiente;
+        siguiente = (i + 1) & (CLIENTES - 1);
+        return i;
+    }
+
+    @Benchmark
+    public byte[] respuestaInterna() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(respuestasInternas[siguiente()]);
+    }
+
+    @Benchmark
+    public byte[] respuestaExterna() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(respuestasExternas[siguiente()]);
+    }
+}
@@ -0,0 +1,156 @@
+package com.riesgocrediticio.buro.benchmark;
+
+import com.riesgocrediticio.buro.config.SincronizacionProperties;
+import com.riesgocrediticio.buro.model.EgresosInterno;
+import com.riesgocrediticio.buro.model.IngresosInterno;
+import com.riesgocrediticio.buro.repository.CargaMasivaRepository;
+import com.riesgocrediticio.buro.service.EjecutorParticiones;
+import com.riesgocrediticio.buro.service.EjecutorParticiones.ResultadoLote;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Curva de escalamiento de la sincronización por particiones: el mismo conjunto de clientes nuevos se
+ * carga al buró interno con 1, 2, 4 y 8 hilos. Cada partición hace lo mismo que en la sincronización con el
+ * core (bloqueo de sus cubetas, verificación de existencia y COPY) en su propia transacción, con un pool de
+ * hilos + 1 conexiones. Requiere la base; se omite con -e SincronizacionParticionadaBenchmark.
+ * <p>
+ * Usa cédulas desde 1900000000, que se borran antes de cada iteración y al terminar.
+ * Conexión: -p url=jdbc:postgresql://host:5432/RiesgoCrediticio -p usuario=... -p clave=...
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SincronizacionParticionadaBenchmark {
+
+    private static final long PRIMERA_CEDULA = 1900000000L;
+    private static final String PROCESO = "BENCHMARK_SINCRONIZACION";
+
+    @Param({"1", "2", "4", "8"})
+    public int hilos;
+
+    @Param("20000")
+    public int clientes;
+
+    // Clientes por partición en cada lote (buro.sincronizacion.paginas-por-lote × clientes.tamano-pagina)
+    @Param("5000")
+    public int clientesPorParticion;
+
+    @Param("jdbc:postgresql://localhost:5432/RiesgoCrediticio?reWriteBatchedInserts=true")
+    public String url;
+
+    @Param("postgres")
+    public String usuario;
+
+    @Param("123")
+    public String clave;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    private CargaMasivaRepository cargaMasivaRepository;
+    private EjecutorParticiones ejecutorParticiones;
+    private List<DatosBenchmark.Cliente> datos;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(usuario);
+        dataSource.setPassword(clave);
+        dataSource.setMaximumPoolSize(hilos + 1);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        cargaMasivaRepository = new CargaMasivaRepository(dataSource, jdbcTemplate);
+
+        SincronizacionProperties properties = new SincronizacionProperties();
+        properties.setHilos(hilos);
+        ejecutorParticiones = new EjecutorParticiones(new DataSourceTransactionManager(dataSource), jdbcTemplate, properties);
+
+        datos = Arrays.asList(DatosBenchmark.generar(DatosBenchmark.Perfil.TIPICO, clientes, PRIMERA_CEDULA));
+    }
+
+    @Setup(Level.Iteration)
+    public void limpiar() {
+        String desde = String.valueOf(PRIMERA_CEDULA);
+        String hasta = String.valueOf(PRIMERA_CEDULA + clientes - 1);
+        jdbcTemplate.update("DELETE FROM buro_interno.ingresos WHERE cedula_cliente BETWEEN ? AND ?", desde, hasta);
+        jdbcTemplate.update("DELETE FROM buro_interno.egresos WHERE cedula_cliente BETWEEN ? AND ?", desde, hasta);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        limpiar();
+        ejecutorParticiones.cerrar();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public long sincronizar() {
+        int tamanoLote = clientesPorParticion * ejecutorParticiones.getHilos();
+        long creados = 0;
+        for (int desde = 0; desde < datos.size(); desde += tamanoLote) {
+            List<DatosBenchmark.Cliente> lote = datos.subList(desde, Math.min(desde + tamanoLote, datos.size()));
+            ResultadoLote resultado = ejecutorParticiones.ejecutar(
+                PROCESO, lote, SincronizacionParticionadaBenchmark::cedula, this::cargarParticion);
+            creados += resultado.getCreados();
+        }
+        if (creados != clientes) {
+            throw new IllegalStateException("Se crearon " + creados + " clientes de " + clientes);
+        }
+        return creados;
+    }
+
+    private ResultadoLote cargarParticion(List<DatosBenchmark.Cliente> particion) {
+        List<String> cedulas = particion.stream().map(SincronizacionParticionadaBenchmark::cedula).toList();
+        Set<String> registradas = new HashSet<>(namedJdbcTemplate.queryForList(
+            "SELECT DISTINCT r.cedula_cliente FROM unnest(CAST(:cedulas AS varchar[])) AS c (cedula) " +
+            "JOIN buro_interno.ingresos r ON r.cedula_cliente = c.cedula",
+            Map.of("cedulas", cedulas.toArray(String[]::new)), String.class));
+
+        List<IngresosInterno> ingresos = new ArrayList<>();
+        List<EgresosInterno> egresos = new ArrayList<>();
+        int existentes = 0;
+        for (DatosBenchmark.Cliente cliente : particion) {
+            if (registradas.add(cedula(cliente))) {
+                ingresos.addAll(cliente.ingresosInternos);
+                egresos.addAll(cliente.egresosInternos);
+            } else {
+                existentes++;
+            }
+        }
+        cargaMasivaRepository.copiarIngresosInternos(ingresos);
+        cargaMasivaRepository.copiarEgresosInternos(egresos);
+        return new ResultadoLote(particion.size() - existentes, existentes);
+    }
+
+    private static String cedula(DatosBenchmark.Cliente cliente) {
+        return cliente.ingresosInternos.get(0).getCedulaCliente();
+    }
+}
@@ -0,0 +1,59 @@
+-- Completa fecha_registro en los registros de buró que no la tienen, previo a V12__particiones_mensuales_externo.sql.
+-- No es una migración: se corre en una sesión de psql con \i, que deja la transacción abierta, y se confirma con
+-- COMMIT después de revisar los conteos del final.
+--
+-- Cada registro toma su fecha_actualizacion o, si tampoco la tiene, la fecha actual. Los registros completados
+-- quedan anotados en buro_archivo.fecha_registro_completada; restaurar_fecha_registro.sql vuelve a dejarlos sin
+-- fecha mientras V12 no haya puesto la columna en NOT NULL. Como la huella de V10 incluye fecha_registro, un
+-- registro completado que quede igual a otro de esa fecha choca con el índice único y el script no cambia nada:
+-- ese duplicado se resuelve antes a mano.
+
+BEGIN;
+
+CREATE SCHEMA IF NOT EXISTS buro_archivo;
+
+CREATE TABLE IF NOT EXISTS buro_archivo.fecha_registro_completada (
+    tabla text NOT NULL,
+    id bigint NOT NULL,
+    fecha_registro date NOT NULL,
+    completado_en timestamp NOT NULL DEFAULT now()
+);
+
+WITH completados AS (
+    UPDATE buro_interno.ingresos SET fecha_registro = coalesce(fecha_actualizacion, current_date)
+    WHERE fecha_registro IS NULL
+    RETURNING id, fecha_registro
+)
+INSERT INTO buro_archivo.fecha_registro_completada (tabla, id, fecha_registro)
+SELECT 'buro_interno.ingresos', id, fecha_registro FROM completados;
+
+WITH completados AS (
+    UPDATE buro_interno.egresos SET fecha_registro = coalesce(fecha_actualizacion, current_date)
+    WHERE fecha_registro IS NULL
+    RETURNING id, fecha_registro
+)
+INSERT INTO buro_archivo.fecha_registro_completada (tabla, id, fecha_registro)
+SELECT 'buro_interno.egresos', id, fecha_registro FROM completados;
+
+WITH completados AS (
+    UPDATE buro_externo.ingresos SET fecha_registro = coalesce(fecha_actualizacion, current_date)
+    WHERE fecha_registro IS NULL
+    RETURNING id, fecha_registro
+)
+INSERT INTO buro_archivo.fecha_registro_completada (tabla, id, fecha_registro)
+SELECT 'buro_externo.ingresos', id, fecha_registro FROM completados;
+
+WITH completados AS (
+    UPDATE buro_externo.egresos SET fecha_registro = coalesce(fecha_actualizacion, current_date)
+    WHERE fecha_registro IS NULL
+    RETURNING id, fecha_registro
+)
+INSERT INTO buro_archivo.fecha_registro_completada (tabla, id, fecha_registro)
+SELECT 'buro_externo.egresos', id, fecha_registro FROM completados;
+
+-- Registros completados por tabla y fecha asignada: si no es lo esperado, ROLLBACK; si lo es, COMMIT
+SELECT tabla, fecha_registro, count(*) AS registros
+FROM buro_archivo.fecha_registro_completada
+WHERE completado_en = now()
+GROUP BY tabla, fecha_registro
+ORDER BY tabla, fecha_registro;
@@ -0,0 +1,89 @@
+-- Depuración de los registros de buró con huella repetida, previa a V10__huella_registros_buro.sql. No es una
+-- migración: se corre en una sesión de psql con \i, que deja la transacción abierta, y se confirma con COMMIT
+-- después de revisar los conteos del final.
+--
+-- De cada huella se conserva el registro de menor id. Los demás, y las fotos de puntaje de sus cédulas (la
+-- consulta resumida las calcula en línea hasta la próxima sincronización), se copian completos a
+-- buro_archivo.duplicados_huella antes de borrarse. restaurar_duplicados_huella.sql los devuelve mientras los
+-- índices únicos de V10 no existan.
+--
+-- La huella es la misma expresión de V10: si cambia allá, se cambia aquí.
+
+BEGIN;
+
+CREATE SCHEMA IF NOT EXISTS buro_archivo;
+
+CREATE TABLE IF NOT EXISTS buro_archivo.duplicados_huella (
+    tabla text NOT NULL,
+    cedula_cliente varchar(10) NOT NULL,
+    registro jsonb NOT NULL,
+    depurado_en timestamp NOT NULL DEFAULT now()
+);
+
+CREATE TEMP TABLE duplicados ON COMMIT DROP AS
+SELECT 'buro_interno.ingresos' AS tabla, id, cedula_cliente FROM (
+    SELECT id, cedula_cliente, row_number() OVER (
+        PARTITION BY md5(cedula_cliente || '|' || upper(btrim(institucion_bancaria)) || '|' || coalesce(producto, '\N') || '|' ||
+            coalesce(numero_cuenta, '\N') || '|' || coalesce(saldo_promedio_mes::text, '\N') || '|' ||
+            coalesce((fecha_registro - DATE '2000-01-01')::text, '\N'))
+        ORDER BY id) AS orden
+    FROM buro_interno.ingresos) r
+WHERE orden > 1
+UNION ALL
+SELECT 'buro_interno.egresos' AS tabla, id, cedula_cliente FROM (
+    SELECT id, cedula_cliente, row_number() OVER (
+        PARTITION BY md5(cedula_cliente || '|' || upper(btrim(institucion_bancaria)) || '|' || producto || '|' ||
+            coalesce(saldo_pendiente::text, '\N') || '|' || coalesce(meses_pendientes::text, '\N') || '|' ||
+            coalesce(cuota_pago::text, '\N') || '|' || mora || '|' || mora_ultimos_3_meses || '|' ||
+            coalesce((fecha_registro - DATE '2000-01-01')::text, '\N'))
+        ORDER BY id) AS orden
+    FROM buro_interno.egresos) r
+WHERE orden > 1
+UNION ALL
+SELECT 'buro_externo.ingresos' AS tabla, id, cedula_cliente FROM (
+    SELECT id, cedula_cliente, row_number() OVER (
+        PARTITION BY md5(cedula_cliente || '|' || upper(btrim(institucion_bancaria)) || '|' || coalesce(producto, '\N') || '|' ||
+            coalesce(numero_cuenta, '\N') || '|' || coalesce(saldo_promedio_mes::text, '\N') || '|' ||
+            coalesce((fecha_registro - DATE '2000-01-01')::text, '\N'))
+        ORDER BY id) AS orden
+    FROM buro_externo.ingresos) r
+WHERE orden > 1
+UNION ALL
+SELECT 'buro_externo.egresos' AS tabla, id, cedula_cliente FROM (
+    SELECT id, cedula_cliente, row_number() OVER (
+        PARTITION BY md5(cedula_cliente || '|' || upper(btrim(institucion_bancaria)) || '|' || producto || '|' ||
+            coalesce(saldo_pendiente::text, '\N') || '|' || coalesce(meses_pendientes::text, '\N') || '|' ||
+            coalesce(cuota_pago::text, '\N') || '|' || mora || '|' || mora_ultimos_3_meses || '|' ||
+            coalesce((fecha_registro - DATE '2000-01-01')::text, '\N'))
+        ORDER BY id) AS orden
+    FROM buro_externo.egresos) r
+WHERE orden > 1;
+
+INSERT INTO buro_archivo.duplicados_huella (tabla, cedula_cliente, registro)
+SELECT d.tabla, d.cedula_cliente, to_jsonb(r) FROM duplicados d JOIN buro_interno.ingresos r ON r.id = d.id
+WHERE d.tabla = 'buro_interno.ingresos'
+UNION ALL
+SELECT d.tabla, d.cedula_cliente, to_jsonb(r) FROM duplicados d JOIN buro_interno.egresos r ON r.id = d.id
+WHERE d.tabla = 'buro_interno.egresos'
+UNION ALL
+SELECT d.tabla, d.cedula_cliente, to_jsonb(r) FROM duplicados d JOIN buro_externo.ingresos r ON r.id = d.id
+WHERE d.tabla = 'buro_externo.ingresos'
+UNION ALL
+SELECT d.tabla, d.cedula_cliente, to_jsonb(r) FROM duplicados d JOIN buro_externo.egresos r ON r.id = d.id
+WHERE d.tabla = 'buro_externo.egresos'
+UNION ALL
+SELECT 'buro_consolidado.puntajes', p.cedula_cliente, to_jsonb(p) FROM buro_consolidado.puntajes p
+WHERE p.cedula_cliente IN (SELECT cedula_cliente FROM duplicados);
+
+DELETE FROM buro_interno.ingresos r USING duplicados d WHERE d.tabla = 'buro_interno.ingresos' AND r.id = d.id;
+DELETE FROM buro_interno.egresos r USING duplicados d WHERE d.tabla = 'buro_interno.egresos' AND r.id = d.id;
+DELETE FROM buro_externo.ingresos r USING duplicados d WHERE d.tabla = 'buro_externo.ingresos' AND r.id = d.id;
+DELETE FROM buro_externo.egresos r USING duplicados d WHERE d.tabla = 'buro_externo.egresos' AND r.id = d.id;
+DELETE FROM buro_consolidado.puntajes p USING duplicados d WHERE p.cedula_cliente = d.cedula_cliente;
+
+-- Registros y cédulas depurados por tabla: si no es lo esperado, ROLLBACK; si lo es, COMMIT
+SELECT tabla, count(*) AS registros, count(DISTINCT cedula_cliente) AS cedulas
+FROM buro_archivo.duplicados_huella
+WHERE depurado_en = now()
+GROUP BY tabla
+ORDER BY tabla;
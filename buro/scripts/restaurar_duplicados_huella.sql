@@ -0,0 +1,30 @@
+-- Revierte depurar_duplicados_huella.sql: vuelve a insertar los registros y las fotos de puntaje respaldados en
+-- buro_archivo.duplicados_huella y vacía el respaldo. Solo sirve antes de V10__huella_registros_buro.sql; con
+-- sus índices únicos los duplicados no pueden volver. Se corre a mano con psql.
+
+BEGIN;
+
+DO $$
+DECLARE
+    t record;
+    columnas text;
+    valores text;
+BEGIN
+    FOR t IN SELECT DISTINCT tabla FROM buro_archivo.duplicados_huella LOOP
+        -- Las columnas generadas (institucion_normalizada) se recalculan al insertar
+        SELECT string_agg(quote_ident(column_name), ', ' ORDER BY ordinal_position),
+               string_agg('r.' || quote_ident(column_name), ', ' ORDER BY ordinal_position)
+        INTO columnas, valores
+        FROM information_schema.columns
+        WHERE table_schema || '.' || table_name = t.tabla AND is_generated = 'NEVER';
+
+        EXECUTE format('INSERT INTO %s (%s) SELECT %s FROM buro_archivo.duplicados_huella d, ' ||
+                       'jsonb_populate_record(NULL::%s, d.registro) r WHERE d.tabla = %L ON CONFLICT DO NOTHING',
+                       t.tabla, columnas, valores, t.tabla, t.tabla);
+    END LOOP;
+END;
+$$;
+
+DELETE FROM buro_archivo.duplicados_huella;
+
+COMMIT;
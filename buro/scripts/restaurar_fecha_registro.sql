@@ -0,0 +1,18 @@
+-- Revierte completar_fecha_registro.sql: deja otra vez sin fecha_registro los registros anotados en
+-- buro_archivo.fecha_registro_completada y vacía la anotación. Solo sirve antes de
+-- V12__particiones_mensuales_externo.sql, que pone la columna en NOT NULL. Se corre a mano con psql.
+
+BEGIN;
+
+UPDATE buro_interno.ingresos r SET fecha_registro = NULL FROM buro_archivo.fecha_registro_completada c
+WHERE c.tabla = 'buro_interno.ingresos' AND r.id = c.id;
+UPDATE buro_interno.egresos r SET fecha_registro = NULL FROM buro_archivo.fecha_registro_completada c
+WHERE c.tabla = 'buro_interno.egresos' AND r.id = c.id;
+UPDATE buro_externo.ingresos r SET fecha_registro = NULL FROM buro_archivo.fecha_registro_completada c
+WHERE c.tabla = 'buro_externo.ingresos' AND r.id = c.id;
+UPDATE buro_externo.egresos r SET fecha_registro = NULL FROM buro_archivo.fecha_registro_completada c
+WHERE c.tabla = 'buro_externo.egresos' AND r.id = c.id;
+
+DELETE FROM buro_archivo.fecha_registro_completada;
+
+COMMIT;
@@ -1,15 +1,34 @@
 package com.riesgocrediticio.buro.client;
 
 import com.riesgocrediticio.buro.dto.ClienteDto;
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @FeignClient(name = "clientes", url = "${clientes.url}")
 public interface ClienteBuroClient {
 
+    /**
+     * Todos los clientes del tipo indicado en una sola respuesta, con teléfonos, direcciones y contacto.
+     * Carga la población completa en memoria; la sincronización usa {@link #listarPaginaPorTipoEntidad}.
+     */
     @GetMapping("/api/v1/clientes/listar-por-tipo-entidad")
     List<ClienteDto> listarPorTipoEntidad(@RequestParam("tipoEntidad") String tipoEntidad);
+
+    /**
+     * Una página de clientes del core. Devuelve la respuesta sin decodificar para que
+     * {@link LectorPersonasCore} la lea en streaming. Con creadoDesde el core filtra por fecha de
+     * creación (inclusive); sin él devuelve todos.
+     */
+    @GetMapping("/api/v1/clientes/listar-por-tipo-entidad")
+    Response listarPaginaPorTipoEntidad(
+            @RequestParam("tipoEntidad") String tipoEntidad,
+            @RequestParam("pagina") int pagina,
+            @RequestParam("tamanio") int tamanio,
+            @RequestParam(value = "creadoDesde", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate creadoDesde);
 }
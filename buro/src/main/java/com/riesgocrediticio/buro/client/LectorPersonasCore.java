@@ -0,0 +1,103 @@
+package com.riesgocrediticio.buro.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.riesgocrediticio.buro.config.ClientesCoreProperties;
+import com.riesgocrediticio.buro.dto.PersonaCoreDto;
+import feign.FeignException;
+import feign.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lee las personas del core página por página. Cada página se decodifica en streaming: se recorre el
+ * arreglo JSON elemento por elemento y solo se enlazan los campos de {@link PersonaCoreDto}; los subárboles
+ * de teléfonos, direcciones y contacto se saltan sin construirse. En memoria queda a lo más una página: si el
+ * core devuelve más personas que el tamaño pedido, el resto de la respuesta no se lee.
+ * <p>
+ * Un core que ignora la paginación devuelve lo mismo en cada página; la lectura termina cuando una página
+ * acaba en la misma cédula que la anterior, y clientes.maximo-paginas acota la corrida en cualquier caso.
+ */
+@Slf4j
+@Component
+public class LectorPersonasCore {
+
+    private static final String TIPO_ENTIDAD_PERSONA = "PERSONA";
+
+    private final ClienteBuroClient clienteBuroClient;
+    private final ClientesCoreProperties properties;
+    private final ObjectReader lectorPersona;
+
+    public LectorPersonasCore(ClienteBuroClient clienteBuroClient, ClientesCoreProperties properties, ObjectMapper objectMapper) {
+        this.clienteBuroClient = clienteBuroClient;
+        this.properties = properties;
+        this.lectorPersona = objectMapper.readerFor(PersonaCoreDto.class);
+    }
+
+    /**
+     * Personas de una página y si es la última. Una página que repite la anterior llega vacía y marcada como última.
+     */
+    public record Pagina(List<PersonaCoreDto> personas, boolean ultima) {
+
+        /** Cédula de la última persona de la página, o la anterior si la página vino vacía. */
+        public String ultimaCedula(String anterior) {
+            return personas.isEmpty() ? anterior : personas.get(personas.size() - 1).getNumeroIdentificacion();
+        }
+    }
+
+    /**
+     * Personas de la página indicada (desde 0), solo con las creadas desde la fecha indicada (inclusive; con null
+     * no se filtra). ultimaCedulaAnterior es la última cédula de la página anterior (null en la primera).
+     * Una página vacía o incompleta es la última.
+     */
+    public Pagina leerPagina(int pagina, LocalDate creadoDesde, String ultimaCedulaAnterior) {
+        int tamano = properties.getTamanoPagina();
+        if (pagina >= properties.getMaximoPaginas()) {
+            throw new IllegalStateException("Se leyeron " + pagina + " páginas del core sin llegar a la última;"
+                + " revise que el core pagine o aumente clientes.maximo-paginas");
+        }
+        List<PersonaCoreDto> personas = new ArrayList<>(tamano);
+        try (Response respuesta = clienteBuroClient.listarPaginaPorTipoEntidad(TIPO_ENTIDAD_PERSONA, pagina, tamano, creadoDesde)) {
+            if (respuesta.status() >= 300) {
+                throw FeignException.errorStatus("ClienteBuroClient#listarPaginaPorTipoEntidad", respuesta);
+            }
+            if (respuesta.body() == null) {
+                return new Pagina(personas, true);
+            }
+            try (InputStream cuerpo = respuesta.body().asInputStream();
+                 JsonParser parser = lectorPersona.createParser(cuerpo)) {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new IllegalStateException("El core no devolvió un arreglo de clientes en la página " + pagina);
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    if (personas.size() == tamano) {
+                        // Al cerrar la respuesta se descarta el resto del cuerpo sin leerlo
+                        log.warn("El core devolvió más de {} clientes en la página {}; ignora la paginación y se leen solo los primeros",
+                            tamano, pagina);
+                        break;
+                    }
+                    personas.add(lectorPersona.readValue(parser));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo leer la página " + pagina + " de clientes del core", ex);
+        }
+
+        if (ultimaCedulaAnterior != null && !personas.isEmpty()
+                && ultimaCedulaAnterior.equals(personas.get(personas.size() - 1).getNumeroIdentificacion())) {
+            log.warn("La página {} del core termina en la misma cédula que la anterior ({}); se da por terminada la lectura",
+                pagina, ultimaCedulaAnterior);
+            return new Pagina(List.of(), true);
+        }
+        return new Pagina(personas, personas.size() < tamano);
+    }
+}
@@ -0,0 +1,12 @@
+package com.riesgocrediticio.buro.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "buro.calificacion")
+public class CalificacionProperties {
+
+    // Archivo JSON con la tabla de calificación (classpath: o file:)
+    private String reglas = "classpath:calificacion/reglas-calificacion.json";
+}
@@ -0,0 +1,12 @@
+package com.riesgocrediticio.buro.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "buro.carga-masiva")
+public class CargaMasivaProperties {
+
+    // Desde este número de filas las cargas de la sincronización y del generador usan COPY en lugar de JPA
+    private int umbralFilas = 5_000;
+}
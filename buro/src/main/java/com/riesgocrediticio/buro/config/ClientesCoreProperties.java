@@ -0,0 +1,14 @@
+package com.riesgocrediticio.buro.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "clientes")
+public class ClientesCoreProperties {
+
+    // Personas por página al leer el core
+    private int tamanoPagina = 1_000;
+    // Tope de páginas por corrida, por si el core no pagina y nunca devuelve una página incompleta
+    private int maximoPaginas = 100_000;
+}
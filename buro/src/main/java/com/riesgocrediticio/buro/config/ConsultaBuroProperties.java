@@ -0,0 +1,50 @@
+package com.riesgocrediticio.buro.config;
+
+import com.riesgocrediticio.buro.enums.ModoConteoEnum;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+@Data
+@ConfigurationProperties(prefix = "buro.consulta")
+public class ConsultaBuroProperties {
+
+    // Instituciones del buró externo que se consideran en la consulta por cédula
+    private List<String> instituciones = List.of("BANCO BANQUITO");
+
+    private Cache cache = new Cache();
+    private ConteoClientes conteoClientes = new ConteoClientes();
+
+    /**
+     * Instituciones en el mismo formato que la columna institucion_normalizada.
+     */
+    public List<String> getInstitucionesNormalizadas() {
+        return instituciones.stream()
+                .map(i -> i.trim().toUpperCase(Locale.ROOT))
+                .distinct()
+                .toList();
+    }
+
+    @Data
+    public static class Cache {
+        // Número máximo de cédulas en memoria
+        private long maximoEntradas = 10_000;
+        // Tiempo máximo que una respuesta permanece en caché
+        private Duration expiracion = Duration.ofMinutes(30);
+        // A partir de esta edad se sirve el valor en caché y se refresca en segundo plano
+        private Duration refresco = Duration.ofMinutes(5);
+        // Hilos para los refrescos en segundo plano
+        private int hilosRefresco = 2;
+    }
+
+    @Data
+    public static class ConteoClientes {
+        // Modo de /clientes-internos cuando la petición no indica uno
+        private ModoConteoEnum modo = ModoConteoEnum.EXACTO;
+        // Tiempo que se reutiliza el último conteo exacto (0 cuenta en cada petición)
+        private Duration vigencia = Duration.ZERO;
+    }
+}
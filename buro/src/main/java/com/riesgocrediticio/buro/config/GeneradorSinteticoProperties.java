@@ -0,0 +1,60 @@
+package com.riesgocrediticio.buro.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "buro.generador-sintetico")
+public class GeneradorSinteticoProperties {
+
+    // Lotes que se generan y cargan en paralelo; cada uno usa una conexión y su propia transacción
+    private int hilos = 4;
+    // Clientes de cada lote (una transacción con un COPY por tabla)
+    private int clientesPorLote = 10_000;
+    // Semilla por defecto; con la misma semilla, cantidad, primera cédula y distribuciones salen los mismos registros
+    private long semilla = 20_250_101L;
+    // Cédula del primer cliente; el cliente i recibe primeraCedula + i. El rango debería reservarse para datos sintéticos
+    private long primeraCedula = 5_000_000_000L;
+    // Fracción de los clientes que también son del banco y tienen registros en el buró interno
+    private double proporcionInterno = 0.3;
+    // Institución de los registros del buró interno
+    private String institucionInterna = "BANCO BANQUITO";
+    // Instituciones entre las que se reparten los registros del buró externo
+    private List<String> bancosExternos = List.of("BANCO PICHINCHA", "BANCO GUAYAQUIL", "BANCO DEL PACIFICO",
+            "PRODUBANCO", "BANCO INTERNACIONAL", "BANCO BOLIVARIANO", "BANCO DE MACHALA", "BANCO DEL AUSTRO");
+    // Bancos externos por cliente, elegidos sin repetir entre bancosExternos
+    private int bancosPorClienteMinimo = 1;
+    private int bancosPorClienteMaximo = 3;
+    // Probabilidad de que un cliente tenga tarjeta de crédito y préstamo en cada banco
+    private double probabilidadTarjeta = 0.6;
+    private double probabilidadPrestamo = 0.4;
+    // Probabilidad de que una deuda vigente esté en mora y, si no lo está, de que lo haya estado en los últimos 3 meses
+    private double tasaMora = 0.08;
+    private double tasaMoraTresMeses = 0.05;
+    // Recalcular en cada lote la foto de calificación de sus clientes (antes de confirmarlo). Cerca de triplica el
+    // tiempo de carga; en false se borran sus puntajes y la consulta resumida los califica en línea
+    private boolean recalcularPuntajes = true;
+    // Días hacia atrás en los que se reparte fecha_registro (con el valor por defecto cubre 13 particiones mensuales)
+    private int diasRegistro = 365;
+    // Bandas de ingreso mensual en dólares, elegidas según su peso
+    private List<BandaIngreso> bandasIngreso = List.of(
+            new BandaIngreso(200, 800, 45),
+            new BandaIngreso(800, 2_000, 35),
+            new BandaIngreso(2_000, 6_000, 15),
+            new BandaIngreso(6_000, 20_000, 5));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BandaIngreso {
+        // Ingreso mínimo (incluido) y máximo (excluido) de la banda
+        private long minimo;
+        private long maximo;
+        // Peso relativo frente a las demás bandas
+        private int peso;
+    }
+}
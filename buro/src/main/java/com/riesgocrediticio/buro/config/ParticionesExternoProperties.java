@@ -0,0 +1,17 @@
+package com.riesgocrediticio.buro.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "buro.particiones-externo")
+public class ParticionesExternoProperties {
+
+    // Revisión diaria de las particiones mensuales del buró externo (cron de Spring, "-" la desactiva)
+    private String cron = "0 30 1 * * *";
+    // Meses siguientes al actual que deben tener su partición creada
+    private int mesesAnticipados = 3;
+    // Meses que quedan en el buró externo, contando el actual; los anteriores pasan a buro_archivo (0 no archiva).
+    // La consulta por cédula recorre cada mes adjunto, así que este valor acota su latencia
+    private int mesesRetencion = 24;
+}
@@ -0,0 +1,29 @@
+package com.riesgocrediticio.buro.config;
+
+import com.riesgocrediticio.buro.enums.PoliticaRetrasoEnum;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "buro.programacion")
+public class ProgramacionProperties {
+
+    // Activa el programador de sincronizaciones en este nodo
+    private boolean habilitada = true;
+    // Cron de la sincronización core → interno ("-" la desactiva)
+    private String cronCore = "0 0 2 * * SUN";
+    // Cron de la copia completa interno → externo ("-" la desactiva; la propagación por bandeja la reemplaza)
+    private String cronInternoExterno = "-";
+    // Zona horaria de los cron; vacía = la del servidor
+    private String zona = "";
+    // Cada cuánto se revisa si hay una ejecución pendiente
+    private Duration intervaloRevision = Duration.ofSeconds(30);
+    // Retraso aleatorio máximo tras la hora programada, para no cargar la base con todo a la vez
+    private Duration ventanaAleatoria = Duration.ofMinutes(10);
+    // Pasado este tiempo (después de la ventana) una ejecución se considera perdida
+    private Duration toleranciaRetraso = Duration.ofHours(1);
+    // Qué hacer con una ejecución perdida (nodos caídos a la hora programada)
+    private PoliticaRetrasoEnum politicaRetraso = PoliticaRetrasoEnum.EJECUTAR;
+}
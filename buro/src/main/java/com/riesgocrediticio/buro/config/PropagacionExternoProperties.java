@@ -0,0 +1,18 @@
+package com.riesgocrediticio.buro.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "buro.propagacion-externo")
+public class PropagacionExternoProperties {
+
+    // Activa el propagador de la bandeja de cambios del buró interno en este nodo
+    private boolean habilitada = true;
+    // Pausa entre revisiones de la bandeja cuando quedó vacía
+    private Duration intervalo = Duration.ofSeconds(2);
+    // Cambios aplicados y confirmados por transacción
+    private int tamanoLote = 5_000;
+}
@@ -0,0 +1,20 @@
+package com.riesgocrediticio.buro.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "buro.sincronizacion")
+public class SincronizacionProperties {
+
+    // Páginas del core que se confirman en cada transacción (partición) de la sincronización con el core
+    private int paginasPorLote = 5;
+    // Cédulas del buró interno que se confirman en cada transacción (partición) de la sincronización al externo
+    private int cedulasPorLote = 5_000;
+    // Particiones (por hash de cédula) que se procesan en paralelo en cada lote; el lote cubre hilos veces los tamaños anteriores
+    private int hilos = 4;
+    // Con una corrida completa más antigua que esto, la sincronización con el core ignora la marca de agua
+    private Duration reconciliacionCompleta = Duration.ofDays(7);
+}
@@ -0,0 +1,20 @@
+package com.riesgocrediticio.buro.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "buro.trabajos")
+public class TrabajosProperties {
+
+    // Hilos dedicados a las sincronizaciones y a los generadores de datos
+    private int hilos = 2;
+    // Trabajos que pueden esperar en cola; con la cola llena se responde 503
+    private int capacidadCola = 4;
+    // Tiempo que un trabajo terminado sigue disponible en /trabajos/{id}
+    private Duration retencion = Duration.ofHours(1);
+    // Tiempo máximo abierto de un flujo de eventos de progreso
+    private Duration tiempoMaximoEventos = Duration.ofMinutes(30);
+}
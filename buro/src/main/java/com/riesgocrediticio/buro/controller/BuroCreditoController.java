@@ -1,7 +1,17 @@
 package com.riesgocrediticio.buro.controller;
 
+import com.riesgocrediticio.buro.dto.request.ConsultaBuroLoteRequest;
 import com.riesgocrediticio.buro.dto.response.ConsultaBuroCreditoResponse;
+import com.riesgocrediticio.buro.dto.response.ConsultaBuroLoteResponse;
+import com.riesgocrediticio.buro.dto.response.ResumenBuroCreditoResponse;
+import com.riesgocrediticio.buro.dto.response.TrabajoBuroResponse;
+import com.riesgocrediticio.buro.enums.ModoConteoEnum;
 import com.riesgocrediticio.buro.service.BuroCreditoService;
+import com.riesgocrediticio.buro.service.ConsultaBuroCache;
+import com.riesgocrediticio.buro.service.PuntajeClienteService;
+import com.riesgocrediticio.buro.service.calificacion.ReglasCalificacion;
+import com.riesgocrediticio.buro.service.calificacion.ReglasCalificacionVigentes;
+import com.riesgocrediticio.buro.service.trabajo.TrabajosBuroService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,11 +20,20 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -24,9 +43,22 @@ import org.springframework.web.bind.annotation.*;
 public class BuroCreditoController {
 
     private final BuroCreditoService buroCreditoService;
+    private final ConsultaBuroCache consultaBuroCache;
+    private final PuntajeClienteService puntajeClienteService;
+    private final ReglasCalificacionVigentes reglasCalificacionVigentes;
+    private final TrabajosBuroService trabajosBuroService;
 
-    public BuroCreditoController(BuroCreditoService buroCreditoService) {
+    public BuroCreditoController(
+            BuroCreditoService buroCreditoService,
+            ConsultaBuroCache consultaBuroCache,
+            PuntajeClienteService puntajeClienteService,
+            ReglasCalificacionVigentes reglasCalificacionVigentes,
+            TrabajosBuroService trabajosBuroService) {
         this.buroCreditoService = buroCreditoService;
+        this.consultaBuroCache = consultaBuroCache;
+        this.puntajeClienteService = puntajeClienteService;
+        this.reglasCalificacionVigentes = reglasCalificacionVigentes;
+        this.trabajosBuroService = trabajosBuroService;
     }
 
     @Operation(
@@ -46,27 +78,91 @@ public class BuroCreditoController {
         @PathVariable @NotBlank String cedula) {
 
         log.debug("Solicitud recibida → Consulta de buró por cédula={}", cedula);
-        ConsultaBuroCreditoResponse response = buroCreditoService.consultarPorCedula(cedula);
+        ConsultaBuroCreditoResponse response = consultaBuroCache.consultar(cedula);
         log.info("Consulta de buró crediticio exitosa para cédula={}", cedula);
         return ResponseEntity.ok(response);
     }
-    
+
     @Operation(
-        summary = "Sincroniza todos los clientes tipo PERSONA desde el core al buró interno",
-        description = "Carga masiva de clientes del core. Devuelve un mensaje con el total de registros creados."
+        summary = "Consulta resumida de buró crediticio por cédula",
+        description = "Retorna solo la calificación de riesgo, la capacidad de pago y sus totales, sin el detalle de ingresos y egresos."
     )
     @ApiResponses({
-        @ApiResponse(responseCode = "200", description = "Sincronización exitosa",
+        @ApiResponse(responseCode = "200", description = "Consulta exitosa",
+            content = @Content(schema = @Schema(implementation = ResumenBuroCreditoResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Cliente no registrado en el buró",
             content = @Content(schema = @Schema(implementation = String.class))),
         @ApiResponse(responseCode = "500", description = "Error interno")
     })
+    @GetMapping("/consulta-por-cedula/{cedula}/resumen")
+    public ResponseEntity<ResumenBuroCreditoResponse> consultarResumenPorCedula(
+        @Parameter(description = "Cédula del cliente a consultar", required = true)
+        @PathVariable @NotBlank String cedula) {
+
+        log.debug("Solicitud recibida → Consulta resumida de buró por cédula={}", cedula);
+        ResumenBuroCreditoResponse response = puntajeClienteService.consultarResumenPorCedula(cedula);
+        log.info("Consulta resumida de buró crediticio exitosa para cédula={}", cedula);
+        return ResponseEntity.ok(response);
+    }
     
+    @Operation(
+        summary = "Consulta información de buró crediticio para varias cédulas",
+        description = "Resuelve todas las cédulas con una sola lectura a la base y retorna un resultado por cédula. " +
+            "Las cédulas no registradas se informan en el resultado en lugar de responder 404."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Consulta exitosa",
+            content = @Content(schema = @Schema(implementation = ConsultaBuroLoteResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Solicitud no válida"),
+        @ApiResponse(responseCode = "500", description = "Error interno")
+    })
+    @PostMapping(path = "/consulta-por-cedulas", consumes = "application/json")
+    public ResponseEntity<ConsultaBuroLoteResponse> consultarPorCedulas(
+        @Valid @RequestBody ConsultaBuroLoteRequest request) {
+
+        List<String> cedulas = List.copyOf(new LinkedHashSet<>(request.getCedulas()));
+        log.debug("Solicitud recibida → Consulta de buró en lote para {} cédulas", cedulas.size());
+        Map<String, ConsultaBuroCreditoResponse> encontradas = consultaBuroCache.consultarLote(cedulas);
+
+        List<ConsultaBuroLoteResponse.ResultadoConsultaBuro> resultados = cedulas.stream()
+            .map(cedula -> {
+                ConsultaBuroCreditoResponse consulta = encontradas.get(cedula);
+                return ConsultaBuroLoteResponse.ResultadoConsultaBuro.builder()
+                    .cedula(cedula)
+                    .encontrado(consulta != null)
+                    .mensaje(consulta != null ? null : "El cliente no está registrado en el buro interno ni externo.")
+                    .consulta(consulta)
+                    .build();
+            })
+            .toList();
+
+        log.info("Consulta de buró en lote finalizada: {} encontradas de {}", encontradas.size(), cedulas.size());
+        return ResponseEntity.ok(ConsultaBuroLoteResponse.builder()
+            .totalEncontrados(encontradas.size())
+            .totalNoEncontrados(cedulas.size() - encontradas.size())
+            .resultados(resultados)
+            .build());
+    }
+
+    @Operation(
+        summary = "Sincroniza todos los clientes tipo PERSONA desde el core al buró interno",
+        description = "Encola la carga de clientes del core y responde de inmediato con el trabajo. " +
+            "Por defecto solo pide los clientes creados desde la última sincronización; con completa=true (o si la " +
+            "última corrida completa es antigua) recorre todo el core. El avance se consulta en /trabajos/{id}."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Sincronización encolada",
+            content = @Content(schema = @Schema(implementation = TrabajoBuroResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Ya hay una sincronización con el core en curso"),
+        @ApiResponse(responseCode = "503", description = "Cola de trabajos llena"),
+        @ApiResponse(responseCode = "500", description = "Error interno")
+    })
     @PostMapping("/sincronizar-core")
-    public ResponseEntity<String> sincronizarDesdeCore() {
-        log.info("Solicitud recibida → Sincronización masiva desde el core");
-        String mensaje = buroCreditoService.sincronizarClientesDesdeCore();
-        log.info("Sincronización finalizada: {}", mensaje);
-        return ResponseEntity.ok(mensaje);
+    public ResponseEntity<TrabajoBuroResponse> sincronizarDesdeCore(
+        @Parameter(description = "Recorre todo el core en lugar de solo los clientes nuevos")
+        @RequestParam(defaultValue = "false") boolean completa) {
+        log.info("Solicitud recibida → Sincronización {} desde el core", completa ? "completa" : "incremental");
+        return aceptado(trabajosBuroService.iniciarSincronizacionCore(completa));
     }
 
     @Operation(
@@ -91,42 +187,121 @@ public class BuroCreditoController {
     description = "Copia todos los clientes existentes en el buró interno al buró externo si aún no existen. Ideal para la carga mensual."
     )
     @ApiResponses({
-        @ApiResponse(responseCode = "200", description = "Sincronización exitosa",
-            content = @Content(schema = @Schema(implementation = String.class))),
+        @ApiResponse(responseCode = "202", description = "Sincronización encolada",
+            content = @Content(schema = @Schema(implementation = TrabajoBuroResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Ya hay una sincronización interno-externo en curso"),
+        @ApiResponse(responseCode = "503", description = "Cola de trabajos llena"),
         @ApiResponse(responseCode = "500", description = "Error interno")
     })
     @PostMapping("/sincronizar-interno-externo")
-    public ResponseEntity<String> sincronizarClientesDesdeInternoAExterno() {
+    public ResponseEntity<TrabajoBuroResponse> sincronizarClientesDesdeInternoAExterno() {
         log.info("Solicitud recibida → Sincronización de clientes internos a externos");
-        String mensaje = buroCreditoService.sincronizarClientesDesdeInternoAExterno();
-        log.info("Sincronización interno-externo finalizada: {}", mensaje);
-        return ResponseEntity.ok(mensaje);
+        return aceptado(trabajosBuroService.iniciarSincronizacionInternoAExterno());
     }
 
     @Operation(
         summary = "Genera clientes externos mock",
-        description = "Genera un número determinado de clientes externos ficticios (mock) que no existen en el buró interno. Útil para pruebas y simulaciones."
+        description = "Genera un número determinado de clientes ficticios (mock) que solo tienen registros en el buró externo, " +
+            "con cédulas al azar que no existen en ningún buró. Usa el generador sintético: distribuciones de " +
+            "buro.generador-sintetico y lotes en paralelo cargados con COPY. Útil para pruebas y simulaciones."
     )
     @ApiResponses({
-        @ApiResponse(responseCode = "200", description = "Generación exitosa",
-            content = @Content(schema = @Schema(implementation = String.class))),
-        @ApiResponse(responseCode = "400", description = "Cantidad no válida"),
+        @ApiResponse(responseCode = "202", description = "Generación encolada",
+            content = @Content(schema = @Schema(implementation = TrabajoBuroResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Cantidad o configuración no válida"),
+        @ApiResponse(responseCode = "409", description = "Ya hay una generación en curso"),
+        @ApiResponse(responseCode = "503", description = "Cola de trabajos llena"),
         @ApiResponse(responseCode = "500", description = "Error interno")
     })
     @PostMapping("/generar-clientes-externos/{cantidad}")
-    public ResponseEntity<String> generarClientesExternos(
+    public ResponseEntity<TrabajoBuroResponse> generarClientesExternos(
         @Parameter(description = "Cantidad de clientes externos mock a generar", example = "20", required = true)
-        @PathVariable int cantidad) {
+        @PathVariable int cantidad,
+        @Parameter(description = "Semilla de la generación; por defecto una al azar, informada en el resultado")
+        @RequestParam(required = false) Long semilla) {
         log.info("Solicitud recibida → Generar {} clientes externos mock", cantidad);
-        int creados = buroCreditoService.generarClientesExternosMock(cantidad);
-        String mensaje = "Se generaron " + creados + " clientes externos.";
-        log.info("Generación de clientes externos mock finalizada: {}", mensaje);
-        return ResponseEntity.ok(mensaje);
+        return aceptado(trabajosBuroService.iniciarGeneracionExternos(cantidad, semilla));
+    }
+
+    @Operation(
+        summary = "Genera un buró sintético para pruebas de carga",
+        description = "Genera en paralelo clientes con ingresos y egresos en el buró interno y en el externo, con las " +
+            "distribuciones de buro.generador-sintetico y cargados con COPY. Con la misma semilla se obtienen los mismos registros."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Generación encolada",
+            content = @Content(schema = @Schema(implementation = TrabajoBuroResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Cantidad o configuración no válida"),
+        @ApiResponse(responseCode = "409", description = "Ya hay una generación sintética en curso"),
+        @ApiResponse(responseCode = "503", description = "Cola de trabajos llena"),
+        @ApiResponse(responseCode = "500", description = "Error interno")
+    })
+    @PostMapping("/generar-buro-sintetico/{clientes}")
+    public ResponseEntity<TrabajoBuroResponse> generarBuroSintetico(
+        @Parameter(description = "Cantidad de clientes sintéticos a generar", example = "1000000", required = true)
+        @PathVariable int clientes,
+        @Parameter(description = "Semilla de la generación; por defecto buro.generador-sintetico.semilla")
+        @RequestParam(required = false) Long semilla) {
+        log.info("Solicitud recibida → Generar buró sintético de {} clientes", clientes);
+        return aceptado(trabajosBuroService.iniciarGeneracionSintetica(clientes, semilla));
+    }
+
+    @Operation(
+        summary = "Lista los trabajos de sincronización y generación",
+        description = "Trabajos en cola, en ejecución y terminados dentro del tiempo de retención, del más reciente al más antiguo."
+    )
+    @GetMapping("/trabajos")
+    public ResponseEntity<List<TrabajoBuroResponse>> listarTrabajos() {
+        return ResponseEntity.ok(trabajosBuroService.listar());
+    }
+
+    @Operation(
+        summary = "Consulta el estado de un trabajo",
+        description = "Progreso (procesados/total, filas por segundo, segundos restantes) y, al terminar, los conteos finales o el error."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Estado del trabajo",
+            content = @Content(schema = @Schema(implementation = TrabajoBuroResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Trabajo inexistente o ya depurado")
+    })
+    @GetMapping("/trabajos/{id}")
+    public ResponseEntity<TrabajoBuroResponse> consultarTrabajo(
+        @Parameter(description = "Id devuelto al encolar el trabajo", required = true)
+        @PathVariable String id) {
+        return trabajosBuroService.consultar(id)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @Operation(
+        summary = "Flujo de progreso de un trabajo (Server-Sent Events)",
+        description = "Envía un evento \"progreso\" por segundo con el estado del trabajo y un evento \"fin\" al terminar."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Flujo de eventos abierto"),
+        @ApiResponse(responseCode = "404", description = "Trabajo inexistente o ya depurado")
+    })
+    @GetMapping(path = "/trabajos/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> seguirTrabajo(
+        @Parameter(description = "Id devuelto al encolar el trabajo", required = true)
+        @PathVariable String id) {
+        return trabajosBuroService.suscribir(id)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<TrabajoBuroResponse> aceptado(TrabajoBuroResponse trabajo) {
+        log.info("Trabajo {} encolado con id={}", trabajo.getTipo(), trabajo.getId());
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/v1/riesgo-crediticio/trabajos/" + trabajo.getId()))
+            .body(trabajo);
     }
 
     @Operation(
         summary = "Cuenta el número de clientes en el buro interno",
-        description = "Retorna el total de registros de clientes existentes en el buro interno."
+        description = "Retorna el número de cédulas distintas con ingresos en el buro interno. ESTIMADO usa las " +
+            "estadísticas de la base (se actualizan con ANALYZE) y responde sin recorrer la tabla; sin modo se usa " +
+            "buro.consulta.conteo-clientes.modo."
     )
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Conteo exitoso",
@@ -134,16 +309,41 @@ public class BuroCreditoController {
         @ApiResponse(responseCode = "500", description = "Error interno")
     })
     @GetMapping("/clientes-internos")
-    public int contarClientesEnBuroInterno() {
+    public int contarClientesEnBuroInterno(
+        @Parameter(description = "EXACTO o ESTIMADO")
+        @RequestParam(required = false) ModoConteoEnum modo) {
         try {
-            // Llamar al servicio para contar los clientes en el buro interno
-            int totalClientes = buroCreditoService.contarClientesEnBuroInterno();
-            log.info("Total de clientes en buro interno: {}", totalClientes);
-            return totalClientes;
+            return modo != null
+                ? buroCreditoService.contarClientesEnBuroInterno(modo)
+                : buroCreditoService.contarClientesEnBuroInterno();
         } catch (Exception ex) {
             log.error("Error al contar los clientes en el buro interno: {}", ex.getMessage(), ex);
             throw new RuntimeException("Error al contar los clientes en el buro interno", ex);
         }
     }
 
+    @Operation(
+        summary = "Recarga la tabla de calificación de riesgo",
+        description = "Vuelve a leer el archivo configurado en buro.calificacion.reglas y activa la nueva versión sin reiniciar. " +
+            "Si el archivo no es válido se conserva la versión actual."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Tabla recargada"),
+        @ApiResponse(responseCode = "400", description = "Archivo de reglas no válido"),
+        @ApiResponse(responseCode = "500", description = "Error interno")
+    })
+    @PostMapping("/reglas-calificacion/recargar")
+    public ResponseEntity<Map<String, String>> recargarReglasCalificacion() {
+        log.info("Solicitud recibida → Recarga de la tabla de calificación");
+        try {
+            ReglasCalificacion reglas = reglasCalificacionVigentes.recargar();
+            return ResponseEntity.ok(Map.of("versionReglas", reglas.getVersion()));
+        } catch (IllegalArgumentException | UncheckedIOException ex) {
+            log.error("No se pudo recargar la tabla de calificación: {}", ex.getMessage());
+            return ResponseEntity.badRequest().body(Map.of(
+                "mensaje", ex.getMessage(),
+                "versionReglas", reglasCalificacionVigentes.obtener().getVersion()));
+        }
+    }
+
 }
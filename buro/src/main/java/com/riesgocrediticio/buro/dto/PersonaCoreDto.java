@@ -0,0 +1,24 @@
+package com.riesgocrediticio.buro.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.jackson.Jacksonized;
+import java.time.LocalDate;
+
+/**
+ * Campos del cliente del core que usa el buró. Teléfonos, direcciones y contacto se ignoran al leer.
+ */
+@Data
+@Builder
+@Jacksonized
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PersonaCoreDto {
+    private String numeroIdentificacion;
+    private String nombre;
+    private LocalDate fechaCreacion;
+}
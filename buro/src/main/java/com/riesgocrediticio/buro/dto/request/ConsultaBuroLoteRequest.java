@@ -0,0 +1,24 @@
+package com.riesgocrediticio.buro.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsultaBuroLoteRequest {
+
+    public static final int MAXIMO_CEDULAS = 1000;
+
+    @NotEmpty(message = "Debe enviar al menos una cédula")
+    @Size(max = MAXIMO_CEDULAS, message = "No se pueden consultar más de " + MAXIMO_CEDULAS + " cédulas por solicitud")
+    private List<@NotBlank(message = "La cédula no puede estar vacía") String> cedulas;
+}
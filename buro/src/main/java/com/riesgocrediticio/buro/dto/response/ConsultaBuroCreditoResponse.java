@@ -25,4 +25,5 @@ public class ConsultaBuroCreditoResponse {
     private List<EgresosExternoDto> egresosExternos;
     private String calificacionRiesgo;
     private BigDecimal capacidadPago;
+    private String versionReglas;
 }
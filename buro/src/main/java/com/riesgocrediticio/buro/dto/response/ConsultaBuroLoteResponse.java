@@ -0,0 +1,31 @@
+package com.riesgocrediticio.buro.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsultaBuroLoteResponse {
+    private int totalEncontrados;
+    private int totalNoEncontrados;
+    private List<ResultadoConsultaBuro> resultados;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ResultadoConsultaBuro {
+        private String cedula;
+        private boolean encontrado;
+        private String mensaje;
+        private ConsultaBuroCreditoResponse consulta;
+    }
+}
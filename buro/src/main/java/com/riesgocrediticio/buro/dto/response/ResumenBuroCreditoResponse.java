@@ -0,0 +1,32 @@
+package com.riesgocrediticio.buro.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResumenBuroCreditoResponse {
+    private String nombreCliente;
+    private String cedulaCliente;
+    private String origen;
+    private String calificacionRiesgo;
+    private BigDecimal capacidadPago;
+    private String versionReglas;
+    private BigDecimal totalIngresos;
+    private BigDecimal totalCuotas;
+    private BigDecimal saldoPendiente;
+    private Integer maxMesesPendientes;
+    private Boolean tieneMora;
+    private Boolean moraUltimosTresMeses;
+    private LocalDateTime fechaCalculo;
+}
@@ -0,0 +1,34 @@
+package com.riesgocrediticio.buro.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TrabajoBuroResponse {
+    private String id;
+    private String tipo;
+    private String estado;
+    // Clientes o cédulas procesados; total es null cuando no se conoce de antemano (core)
+    private Long procesados;
+    private Long total;
+    private Double filasPorSegundo;
+    private Long segundosRestantes;
+    // Conteos finales
+    private Long creados;
+    private Long existentes;
+    private String mensaje;
+    private String error;
+    private LocalDateTime fechaCreacion;
+    private LocalDateTime fechaInicio;
+    private LocalDateTime fechaFin;
+}
@@ -0,0 +1,16 @@
+package com.riesgocrediticio.buro.enums;
+
+public enum EstadoSincronizacionEnum {
+    EN_CURSO("EN_CURSO"),
+    COMPLETADA("COMPLETADA");
+
+    private final String valor;
+
+    EstadoSincronizacionEnum(String valor) {
+        this.valor = valor;
+    }
+
+    public String getValor() {
+        return valor;
+    }
+}
@@ -0,0 +1,22 @@
+package com.riesgocrediticio.buro.enums;
+
+public enum EstadoTrabajoEnum {
+    EN_COLA("EN_COLA"),
+    EN_EJECUCION("EN_EJECUCION"),
+    COMPLETADO("COMPLETADO"),
+    FALLIDO("FALLIDO");
+
+    private final String valor;
+
+    EstadoTrabajoEnum(String valor) {
+        this.valor = valor;
+    }
+
+    public String getValor() {
+        return valor;
+    }
+
+    public boolean esFinal() {
+        return this == COMPLETADO || this == FALLIDO;
+    }
+}
@@ -0,0 +1,18 @@
+package com.riesgocrediticio.buro.enums;
+
+public enum ModoConteoEnum {
+    // COUNT(DISTINCT) sobre el buró interno
+    EXACTO("EXACTO"),
+    // Suma de las cédulas distintas que estiman las estadísticas de cada partición (ANALYZE); no recorre la tabla
+    ESTIMADO("ESTIMADO");
+
+    private final String valor;
+
+    ModoConteoEnum(String valor) {
+        this.valor = valor;
+    }
+
+    public String getValor() {
+        return valor;
+    }
+}
@@ -0,0 +1,16 @@
+package com.riesgocrediticio.buro.enums;
+
+public enum OrigenBuroEnum {
+    INTERNO("INTERNO"),
+    EXTERNO("EXTERNO");
+
+    private final String valor;
+
+    OrigenBuroEnum(String valor) {
+        this.valor = valor;
+    }
+
+    public String getValor() {
+        return valor;
+    }
+}
@@ -0,0 +1,18 @@
+package com.riesgocrediticio.buro.enums;
+
+public enum PoliticaRetrasoEnum {
+    // Las ejecuciones perdidas se cubren con una sola ejecución inmediata
+    EJECUTAR("EJECUTAR"),
+    // Las ejecuciones perdidas se marcan como tomadas y se espera la siguiente
+    OMITIR("OMITIR");
+
+    private final String valor;
+
+    PoliticaRetrasoEnum(String valor) {
+        this.valor = valor;
+    }
+
+    public String getValor() {
+        return valor;
+    }
+}
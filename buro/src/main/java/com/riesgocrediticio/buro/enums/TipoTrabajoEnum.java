@@ -0,0 +1,23 @@
+package com.riesgocrediticio.buro.enums;
+
+public enum TipoTrabajoEnum {
+    SINCRONIZACION_CORE("SINCRONIZACION_CORE"),
+    SINCRONIZACION_INTERNO_EXTERNO("SINCRONIZACION_INTERNO_EXTERNO"),
+    GENERACION_EXTERNOS("GENERACION_EXTERNOS"),
+    GENERACION_SINTETICA("GENERACION_SINTETICA");
+
+    private final String valor;
+
+    TipoTrabajoEnum(String valor) {
+        this.valor = valor;
+    }
+
+    public String getValor() {
+        return valor;
+    }
+
+    // Las sincronizaciones comparten punto de control y bloqueo entre réplicas (el valor es el proceso)
+    public boolean esSincronizacion() {
+        return this == SINCRONIZACION_CORE || this == SINCRONIZACION_INTERNO_EXTERNO;
+    }
+}
@@ -0,0 +1,33 @@
+package com.riesgocrediticio.buro.event;
+
+import java.util.Set;
+
+/**
+ * Se publica cuando se escriben registros de buró (interno o externo) para las cédulas indicadas.
+ */
+public class RegistrosBuroModificadosEvent {
+
+    private final Set<String> cedulas;
+    private final boolean recalcularPuntajes;
+
+    public RegistrosBuroModificadosEvent(Set<String> cedulas) {
+        this(cedulas, true);
+    }
+
+    /**
+     * Con recalcularPuntajes en false se borra la foto de calificación de las cédulas en lugar de recalcularla;
+     * la consulta resumida las califica en línea.
+     */
+    public RegistrosBuroModificadosEvent(Set<String> cedulas, boolean recalcularPuntajes) {
+        this.cedulas = cedulas;
+        this.recalcularPuntajes = recalcularPuntajes;
+    }
+
+    public Set<String> getCedulas() {
+        return cedulas;
+    }
+
+    public boolean isRecalcularPuntajes() {
+        return recalcularPuntajes;
+    }
+}
@@ -0,0 +1,23 @@
+package com.riesgocrediticio.buro.event;
+
+/**
+ * Se publica cuando se activa una nueva versión de la tabla de calificación.
+ */
+public class ReglasCalificacionActualizadasEvent {
+
+    private final String versionAnterior;
+    private final String versionNueva;
+
+    public ReglasCalificacionActualizadasEvent(String versionAnterior, String versionNueva) {
+        this.versionAnterior = versionAnterior;
+        this.versionNueva = versionNueva;
+    }
+
+    public String getVersionAnterior() {
+        return versionAnterior;
+    }
+
+    public String getVersionNueva() {
+        return versionNueva;
+    }
+}
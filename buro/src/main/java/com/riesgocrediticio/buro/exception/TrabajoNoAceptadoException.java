@@ -0,0 +1,16 @@
+package com.riesgocrediticio.buro.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class TrabajoNoAceptadoException extends RuntimeException {
+    private final HttpStatus status;
+
+    public TrabajoNoAceptadoException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
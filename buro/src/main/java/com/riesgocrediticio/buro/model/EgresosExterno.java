@@ -10,6 +10,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import java.math.BigDecimal;
@@ -21,7 +22,8 @@ import java.util.Objects;
 public class EgresosExterno {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "egresos_externo_seq")
+    @SequenceGenerator(name = "egresos_externo_seq", schema = "buro_externo", sequenceName = "egresos_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -34,6 +36,10 @@ public class EgresosExterno {
     @Column(name = "institucion_bancaria", nullable = false, length = 35)
     private String institucionBancaria;
 
+    // Columna generada en la base: upper(btrim(institucion_bancaria))
+    @Column(name = "institucion_normalizada", length = 35, insertable = false, updatable = false)
+    private String institucionNormalizada;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "producto", nullable = false)
     private ProductoExternoEnum producto;
@@ -58,7 +64,7 @@ public class EgresosExterno {
     @Column(name = "fecha_actualizacion")
     private LocalDate fechaActualizacion;
 
-    @Column(name = "fecha_registro")
+    @Column(name = "fecha_registro", nullable = false)
     private LocalDate fechaRegistro;
 
     @Version
@@ -106,6 +112,10 @@ public class EgresosExterno {
         this.institucionBancaria = institucionBancaria;
     }
 
+    public String getInstitucionNormalizada() {
+        return institucionNormalizada;
+    }
+
     public ProductoExternoEnum getProducto() {
         return producto;
     }
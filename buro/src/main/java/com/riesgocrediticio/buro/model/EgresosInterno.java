@@ -10,6 +10,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import java.math.BigDecimal;
@@ -21,7 +22,8 @@ import java.util.Objects;
 public class EgresosInterno {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "egresos_interno_seq")
+    @SequenceGenerator(name = "egresos_interno_seq", schema = "buro_interno", sequenceName = "egresos_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -58,7 +60,7 @@ public class EgresosInterno {
     @Column(name = "fecha_actualizacion")
     private LocalDate fechaActualizacion;
 
-    @Column(name = "fecha_registro")
+    @Column(name = "fecha_registro", nullable = false)
     private LocalDate fechaRegistro;
 
     @Version
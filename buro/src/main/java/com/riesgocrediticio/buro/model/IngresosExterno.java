@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import java.math.BigDecimal;
@@ -16,7 +17,8 @@ import java.util.Objects;
 public class IngresosExterno {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ingresos_externo_seq")
+    @SequenceGenerator(name = "ingresos_externo_seq", schema = "buro_externo", sequenceName = "ingresos_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -29,6 +31,10 @@ public class IngresosExterno {
     @Column(name = "institucion_bancaria", nullable = false, length = 35)
     private String institucionBancaria;
 
+    // Columna generada en la base: upper(btrim(institucion_bancaria))
+    @Column(name = "institucion_normalizada", length = 35, insertable = false, updatable = false)
+    private String institucionNormalizada;
+
     @Column(name = "producto", length = 16)
     private String producto;
 
@@ -41,7 +47,7 @@ public class IngresosExterno {
     @Column(name = "fecha_actualizacion")
     private LocalDate fechaActualizacion;
 
-    @Column(name = "fecha_registro")
+    @Column(name = "fecha_registro", nullable = false)
     private LocalDate fechaRegistro;
 
     @Version
@@ -89,6 +95,10 @@ public class IngresosExterno {
         this.institucionBancaria = institucionBancaria;
     }
 
+    public String getInstitucionNormalizada() {
+        return institucionNormalizada;
+    }
+
     public String getProducto() {
         return producto;
     }
@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import java.math.BigDecimal;
@@ -16,7 +17,8 @@ import java.util.Objects;
 public class IngresosInterno {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ingresos_interno_seq")
+    @SequenceGenerator(name = "ingresos_interno_seq", schema = "buro_interno", sequenceName = "ingresos_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -41,7 +43,7 @@ public class IngresosInterno {
     @Column(name = "fecha_actualizacion")
     private LocalDate fechaActualizacion;
 
-    @Column(name = "fecha_registro")
+    @Column(name = "fecha_registro", nullable = false)
     private LocalDate fechaRegistro;
 
     @Version
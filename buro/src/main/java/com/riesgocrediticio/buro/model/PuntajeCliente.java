@@ -0,0 +1,203 @@
+package com.riesgocrediticio.buro.model;
+
+import com.riesgocrediticio.buro.enums.OrigenBuroEnum;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "puntajes", schema = "buro_consolidado")
+public class PuntajeCliente {
+
+    @Id
+    @Column(name = "cedula_cliente", nullable = false, length = 10)
+    private String cedulaCliente;
+
+    @Column(name = "nombres", length = 80)
+    private String nombres;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "origen", nullable = false, length = 10)
+    private OrigenBuroEnum origen;
+
+    @Column(name = "calificacion_riesgo", nullable = false, length = 2)
+    private String calificacionRiesgo;
+
+    @Column(name = "capacidad_pago", nullable = false, precision = 14, scale = 2)
+    private BigDecimal capacidadPago;
+
+    @Column(name = "version_reglas", length = 40)
+    private String versionReglas;
+
+    @Column(name = "total_ingresos", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalIngresos;
+
+    @Column(name = "total_cuotas", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalCuotas;
+
+    @Column(name = "saldo_pendiente", nullable = false, precision = 14, scale = 2)
+    private BigDecimal saldoPendiente;
+
+    @Column(name = "max_meses_pendientes", nullable = false)
+    private Integer maxMesesPendientes;
+
+    @Column(name = "tiene_mora", nullable = false)
+    private Boolean tieneMora;
+
+    @Column(name = "mora_ultimos_tres_meses", nullable = false)
+    private Boolean moraUltimosTresMeses;
+
+    @Column(name = "fecha_calculo", nullable = false)
+    private LocalDateTime fechaCalculo;
+
+    // Constructores
+    public PuntajeCliente() {
+    }
+
+    public PuntajeCliente(String cedulaCliente) {
+        this.cedulaCliente = cedulaCliente;
+    }
+
+    // Getters y Setters
+    public String getCedulaCliente() {
+        return cedulaCliente;
+    }
+
+    public void setCedulaCliente(String cedulaCliente) {
+        this.cedulaCliente = cedulaCliente;
+    }
+
+    public String getNombres() {
+        return nombres;
+    }
+
+    public void setNombres(String nombres) {
+        this.nombres = nombres;
+    }
+
+    public OrigenBuroEnum getOrigen() {
+        return origen;
+    }
+
+    public void setOrigen(OrigenBuroEnum origen) {
+        this.origen = origen;
+    }
+
+    public String getCalificacionRiesgo() {
+        return calificacionRiesgo;
+    }
+
+    public void setCalificacionRiesgo(String calificacionRiesgo) {
+        this.calificacionRiesgo = calificacionRiesgo;
+    }
+
+    public BigDecimal getCapacidadPago() {
+        return capacidadPago;
+    }
+
+    public void setCapacidadPago(BigDecimal capacidadPago) {
+        this.capacidadPago = capacidadPago;
+    }
+
+    public String getVersionReglas() {
+        return versionReglas;
+    }
+
+    public void setVersionReglas(String versionReglas) {
+        this.versionReglas = versionReglas;
+    }
+
+    public BigDecimal getTotalIngresos() {
+        return totalIngresos;
+    }
+
+    public void setTotalIngresos(BigDecimal totalIngresos) {
+        this.totalIngresos = totalIngresos;
+    }
+
+    public BigDecimal getTotalCuotas() {
+        return totalCuotas;
+    }
+
+    public void setTotalCuotas(BigDecimal totalCuotas) {
+        this.totalCuotas = totalCuotas;
+    }
+
+    public BigDecimal getSaldoPendiente() {
+        return saldoPendiente;
+    }
+
+    public void setSaldoPendiente(BigDecimal saldoPendiente) {
+        this.saldoPendiente = saldoPendiente;
+    }
+
+    public Integer getMaxMesesPendientes() {
+        return maxMesesPendientes;
+    }
+
+    public void setMaxMesesPendientes(Integer maxMesesPendientes) {
+        this.maxMesesPendientes = maxMesesPendientes;
+    }
+
+    public Boolean getTieneMora() {
+        return tieneMora;
+    }
+
+    public void setTieneMora(Boolean tieneMora) {
+        this.tieneMora = tieneMora;
+    }
+
+    public Boolean getMoraUltimosTresMeses() {
+        return moraUltimosTresMeses;
+    }
+
+    public void setMoraUltimosTresMeses(Boolean moraUltimosTresMeses) {
+        this.moraUltimosTresMeses = moraUltimosTresMeses;
+    }
+
+    public LocalDateTime getFechaCalculo() {
+        return fechaCalculo;
+    }
+
+    public void setFechaCalculo(LocalDateTime fechaCalculo) {
+        this.fechaCalculo = fechaCalculo;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PuntajeCliente that = (PuntajeCliente) o;
+        return Objects.equals(cedulaCliente, that.cedulaCliente);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(cedulaCliente);
+    }
+
+    @Override
+    public String toString() {
+        return "PuntajeCliente{" +
+                "cedulaCliente='" + cedulaCliente + '\'' +
+                ", nombres='" + nombres + '\'' +
+                ", origen=" + origen +
+                ", calificacionRiesgo='" + calificacionRiesgo + '\'' +
+                ", capacidadPago=" + capacidadPago +
+                ", versionReglas='" + versionReglas + '\'' +
+                ", totalIngresos=" + totalIngresos +
+                ", totalCuotas=" + totalCuotas +
+                ", saldoPendiente=" + saldoPendiente +
+                ", maxMesesPendientes=" + maxMesesPendientes +
+                ", tieneMora=" + tieneMora +
+                ", moraUltimosTresMeses=" + moraUltimosTresMeses +
+                ", fechaCalculo=" + fechaCalculo +
+                '}';
+    }
+}
@@ -0,0 +1,196 @@
+package com.riesgocrediticio.buro.model;
+
+import com.riesgocrediticio.buro.enums.EstadoSincronizacionEnum;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "puntos_control", schema = "buro_control")
+public class PuntoControlSincronizacion {
+
+    @Id
+    @Column(name = "proceso", nullable = false, length = 40)
+    private String proceso;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false, length = 12)
+    private EstadoSincronizacionEnum estado;
+
+    // Última página del core confirmada (sincronización con el core)
+    @Column(name = "ultima_pagina")
+    private Integer ultimaPagina;
+
+    // Última cédula confirmada (sincronización interno → externo)
+    @Column(name = "ultima_cedula", length = 10)
+    private String ultimaCedula;
+
+    // Filtro de fecha de creación de la corrida en curso; null en una corrida completa
+    @Column(name = "creado_desde")
+    private LocalDate creadoDesde;
+
+    // Mayor fecha de creación del core ya confirmada (sincronización con el core)
+    @Column(name = "marca_agua")
+    private LocalDate marcaAgua;
+
+    @Column(name = "fecha_ultima_completa")
+    private LocalDateTime fechaUltimaCompleta;
+
+    // Última fecha programada (cron) ya reclamada por algún nodo
+    @Column(name = "ultima_programada")
+    private LocalDateTime ultimaProgramada;
+
+    @Column(name = "creados", nullable = false)
+    private Long creados;
+
+    @Column(name = "existentes", nullable = false)
+    private Long existentes;
+
+    @Column(name = "fecha_inicio", nullable = false)
+    private LocalDateTime fechaInicio;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private LocalDateTime fechaActualizacion;
+
+    // Constructores
+    public PuntoControlSincronizacion() {
+    }
+
+    public PuntoControlSincronizacion(String proceso) {
+        this.proceso = proceso;
+    }
+
+    // Getters y Setters
+    public String getProceso() {
+        return proceso;
+    }
+
+    public void setProceso(String proceso) {
+        this.proceso = proceso;
+    }
+
+    public EstadoSincronizacionEnum getEstado() {
+        return estado;
+    }
+
+    public void setEstado(EstadoSincronizacionEnum estado) {
+        this.estado = estado;
+    }
+
+    public Integer getUltimaPagina() {
+        return ultimaPagina;
+    }
+
+    public void setUltimaPagina(Integer ultimaPagina) {
+        this.ultimaPagina = ultimaPagina;
+    }
+
+    public String getUltimaCedula() {
+        return ultimaCedula;
+    }
+
+    public void setUltimaCedula(String ultimaCedula) {
+        this.ultimaCedula = ultimaCedula;
+    }
+
+    public LocalDate getCreadoDesde() {
+        return creadoDesde;
+    }
+
+    public void setCreadoDesde(LocalDate creadoDesde) {
+        this.creadoDesde = creadoDesde;
+    }
+
+    public LocalDate getMarcaAgua() {
+        return marcaAgua;
+    }
+
+    public void setMarcaAgua(LocalDate marcaAgua) {
+        this.marcaAgua = marcaAgua;
+    }
+
+    public LocalDateTime getFechaUltimaCompleta() {
+        return fechaUltimaCompleta;
+    }
+
+    public void setFechaUltimaCompleta(LocalDateTime fechaUltimaCompleta) {
+        this.fechaUltimaCompleta = fechaUltimaCompleta;
+    }
+
+    public LocalDateTime getUltimaProgramada() {
+        return ultimaProgramada;
+    }
+
+    public void setUltimaProgramada(LocalDateTime ultimaProgramada) {
+        this.ultimaProgramada = ultimaProgramada;
+    }
+
+    public Long getCreados() {
+        return creados;
+    }
+
+    public void setCreados(Long creados) {
+        this.creados = creados;
+    }
+
+    public Long getExistentes() {
+        return existentes;
+    }
+
+    public void setExistentes(Long existentes) {
+        this.existentes = existentes;
+    }
+
+    public LocalDateTime getFechaInicio() {
+        return fechaInicio;
+    }
+
+    public void setFechaInicio(LocalDateTime fechaInicio) {
+        this.fechaInicio = fechaInicio;
+    }
+
+    public LocalDateTime getFechaActualizacion() {
+        return fechaActualizacion;
+    }
+
+    public void setFechaActualizacion(LocalDateTime fechaActualizacion) {
+        this.fechaActualizacion = fechaActualizacion;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PuntoControlSincronizacion that = (PuntoControlSincronizacion) o;
+        return Objects.equals(proceso, that.proceso);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(proceso);
+    }
+
+    @Override
+    public String toString() {
+        return "PuntoControlSincronizacion{" +
+                "proceso='" + proceso + '\'' +
+                ", estado=" + estado +
+                ", ultimaPagina=" + ultimaPagina +
+                ", ultimaCedula='" + ultimaCedula + '\'' +
+                ", creadoDesde=" + creadoDesde +
+                ", marcaAgua=" + marcaAgua +
+                ", fechaUltimaCompleta=" + fechaUltimaCompleta +
+                ", ultimaProgramada=" + ultimaProgramada +
+                ", creados=" + creados +
+                ", existentes=" + existentes +
+                ", fechaInicio=" + fechaInicio +
+                ", fechaActualizacion=" + fechaActualizacion +
+                '}';
+    }
+}
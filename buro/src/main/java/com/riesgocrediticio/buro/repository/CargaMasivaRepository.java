@@ -0,0 +1,294 @@
+package com.riesgocrediticio.buro.repository;
+
+import com.riesgocrediticio.buro.model.EgresosExterno;
+import com.riesgocrediticio.buro.model.EgresosInterno;
+import com.riesgocrediticio.buro.model.IngresosExterno;
+import com.riesgocrediticio.buro.model.IngresosInterno;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+/**
+ * Carga de registros del buró sin pasar por el contexto de persistencia, en dos variantes: COPY FROM STDIN
+ * (formato texto) para lotes grandes y un INSERT ... SELECT FROM unnest(...) con un arreglo por columna para los
+ * chicos. Los registros se usan solo como portadores de valores: no se adjuntan al EntityManager ni se les
+ * asigna id. Las dos devuelven las filas insertadas, sin las omitidas por huella repetida.
+ * <p>
+ * Las dos variantes son idempotentes: insertan con ON CONFLICT sobre la huella, así que un registro
+ * con el mismo contenido de negocio que uno existente (ver V10) se omite en lugar de duplicarse, aunque lo
+ * inserte otra transacción en paralelo. Como las tablas están particionadas, el índice de la huella incluye
+ * la clave de partición: fecha_registro en el externo (V12) y cedula_cliente en el interno (V13). La huella ya
+ * contiene las dos columnas, así que la unicidad es la de toda la tabla. COPY no
+ * admite ON CONFLICT, por eso carga primero una tabla temporal de la sesión y desde ella hace el
+ * INSERT ... SELECT.
+ * <p>
+ * Todo va por la conexión de la transacción en curso, así que se confirma o revierte junto con ella.
+ * Las restricciones (NOT NULL, longitudes, CHECK de los enums) las aplica la base igual que en los INSERT
+ * de JPA: un registro inválido aborta la carga completa.
+ */
+@Repository
+public class CargaMasivaRepository {
+
+    // Igual al allocationSize de las entidades y al INCREMENT BY de las secuencias (V6)
+    private static final int INCREMENTO_SECUENCIA = 50;
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    // Índices únicos de huella que arbitran el ON CONFLICT de cada buró
+    private static final String HUELLA_INTERNO = "(huella, cedula_cliente)";
+    private static final String HUELLA_EXTERNO = "(huella, fecha_registro)";
+
+    private static final String COLUMNAS_INGRESO =
+            "(id, cedula_cliente, nombres, institucion_bancaria, producto, saldo_promedio_mes, numero_cuenta, " +
+            "fecha_actualizacion, fecha_registro, version)";
+
+    private static final String COLUMNAS_EGRESO =
+            "(id, cedula_cliente, nombres, institucion_bancaria, producto, saldo_pendiente, meses_pendientes, cuota_pago, " +
+            "mora, mora_ultimos_3_meses, fecha_actualizacion, fecha_registro, version)";
+
+    // Tipos de las columnas anteriores, para convertir los arreglos de texto de insertar
+    private static final String[] TIPOS_INGRESO =
+            {"bigint", "varchar", "varchar", "varchar", "varchar", "numeric", "varchar", "date", "date", "bigint"};
+
+    private static final String[] TIPOS_EGRESO =
+            {"bigint", "varchar", "varchar", "varchar", "varchar", "numeric", "integer", "numeric", "varchar", "varchar",
+             "date", "date", "bigint"};
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public CargaMasivaRepository(DataSource dataSource, JdbcTemplate jdbcTemplate) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int copiarIngresosInternos(List<IngresosInterno> ingresos) {
+        return copiar("buro_interno.ingresos", COLUMNAS_INGRESO, HUELLA_INTERNO, ingresos, CargaMasivaRepository::valoresIngreso);
+    }
+
+    public int copiarEgresosInternos(List<EgresosInterno> egresos) {
+        return copiar("buro_interno.egresos", COLUMNAS_EGRESO, HUELLA_INTERNO, egresos, CargaMasivaRepository::valoresEgreso);
+    }
+
+    public int copiarIngresosExternos(List<IngresosExterno> ingresos) {
+        return copiar("buro_externo.ingresos", COLUMNAS_INGRESO, HUELLA_EXTERNO, ingresos, CargaMasivaRepository::valoresIngreso);
+    }
+
+    public int copiarEgresosExternos(List<EgresosExterno> egresos) {
+        return copiar("buro_externo.egresos", COLUMNAS_EGRESO, HUELLA_EXTERNO, egresos, CargaMasivaRepository::valoresEgreso);
+    }
+
+    public int insertarIngresosInternos(List<IngresosInterno> ingresos) {
+        return insertar("buro_interno.ingresos", COLUMNAS_INGRESO, TIPOS_INGRESO, HUELLA_INTERNO, ingresos,
+                CargaMasivaRepository::valoresIngreso);
+    }
+
+    public int insertarEgresosInternos(List<EgresosInterno> egresos) {
+        return insertar("buro_interno.egresos", COLUMNAS_EGRESO, TIPOS_EGRESO, HUELLA_INTERNO, egresos,
+                CargaMasivaRepository::valoresEgreso);
+    }
+
+    private static Object[] valoresIngreso(IngresosInterno i) {
+        return new Object[] {i.getCedulaCliente(), i.getNombres(), i.getInstitucionBancaria(), i.getProducto(),
+                i.getSaldoPromedioMes(), i.getNumeroCuenta(), i.getFechaActualizacion(), i.getFechaRegistro(), i.getVersion()};
+    }
+
+    private static Object[] valoresIngreso(IngresosExterno i) {
+        return new Object[] {i.getCedulaCliente(), i.getNombres(), i.getInstitucionBancaria(), i.getProducto(),
+                i.getSaldoPromedioMes(), i.getNumeroCuenta(), i.getFechaActualizacion(), i.getFechaRegistro(), i.getVersion()};
+    }
+
+    private static Object[] valoresEgreso(EgresosInterno e) {
+        return new Object[] {e.getCedulaCliente(), e.getNombres(), e.getInstitucionBancaria(), e.getProducto(),
+                e.getSaldoPendiente(), e.getMesesPendientes(), e.getCuotaPago(), e.getMora(), e.getMoraUltimosTresMeses(),
+                e.getFechaActualizacion(), e.getFechaRegistro(), e.getVersion()};
+    }
+
+    private static Object[] valoresEgreso(EgresosExterno e) {
+        return new Object[] {e.getCedulaCliente(), e.getNombres(), e.getInstitucionBancaria(), e.getProducto(),
+                e.getSaldoPendiente(), e.getMesesPendientes(), e.getCuotaPago(), e.getMora(), e.getMoraUltimosTresMeses(),
+                e.getFechaActualizacion(), e.getFechaRegistro(), e.getVersion()};
+    }
+
+    /**
+     * Un solo INSERT ... SELECT FROM unnest(...) ... ON CONFLICT DO NOTHING sobre la huella: cada columna viaja
+     * como un arreglo de texto que la base convierte al tipo de la columna. Los ids salen de los mismos bloques
+     * de secuencia que usa Hibernate. Devuelve las filas insertadas (sin las omitidas por huella repetida).
+     */
+    private <T> int insertar(String tabla, String columnas, String[] tipos, String huella, List<T> registros,
+                             Function<T, Object[]> valores) {
+        if (registros.isEmpty()) {
+            return 0;
+        }
+        long[] bloques = reservarIds(tabla + "_id_seq", registros.size());
+        String[][] arreglos = new String[tipos.length][registros.size()];
+        for (int i = 0; i < registros.size(); i++) {
+            arreglos[0][i] = String.valueOf(id(bloques, i));
+            Object[] valoresRegistro = valores.apply(registros.get(i));
+            for (int c = 0; c < valoresRegistro.length; c++) {
+                arreglos[c + 1][i] = texto(valoresRegistro[c]);
+            }
+        }
+        StringJoiner parametros = new StringJoiner(", ");
+        for (String tipo : tipos) {
+            parametros.add("CAST(? AS " + tipo + "[])");
+        }
+        String sql = "INSERT INTO " + tabla + " " + columnas + " SELECT * FROM unnest(" + parametros + ") " +
+                "ON CONFLICT " + huella + " DO NOTHING";
+
+        Integer insertadas = jdbcTemplate.execute(sql, (PreparedStatement sentencia) -> {
+            for (int c = 0; c < arreglos.length; c++) {
+                sentencia.setArray(c + 1, sentencia.getConnection().createArrayOf("text", arreglos[c]));
+            }
+            return sentencia.executeUpdate();
+        });
+        return insertadas == null ? 0 : insertadas;
+    }
+
+    private static String texto(Object valor) {
+        if (valor == null) {
+            return null;
+        }
+        if (valor instanceof BigDecimal numero) {
+            return numero.toPlainString();
+        }
+        if (valor instanceof Enum<?> constante) {
+            return constante.name();
+        }
+        // String, Long, Integer y LocalDate (ISO, aceptado con cualquier DateStyle)
+        return valor.toString();
+    }
+
+    /**
+     * COPY a la tabla temporal de carga y de ahí INSERT ... SELECT ... ON CONFLICT DO NOTHING sobre la huella.
+     * Devuelve las filas insertadas (sin las omitidas por huella repetida).
+     */
+    private <T> int copiar(String tabla, String columnas, String huella, List<T> registros, Function<T, Object[]> valores) {
+        if (registros.isEmpty()) {
+            return 0;
+        }
+        long[] bloques = reservarIds(tabla + "_id_seq", registros.size());
+        String temporal = "carga_" + tabla.replace('.', '_');
+        // La tabla temporal vive en la sesión (conexión del pool) y se vacía en cada commit
+        jdbcTemplate.execute("CREATE TEMP TABLE IF NOT EXISTS " + temporal + " (LIKE " + tabla + ") ON COMMIT DELETE ROWS");
+        jdbcTemplate.execute("TRUNCATE " + temporal);
+        String sql = "COPY " + temporal + " " + columnas + " FROM STDIN";
+
+        Connection conexion = DataSourceUtils.getConnection(dataSource);
+        try {
+            PGCopyOutputStream salida = new PGCopyOutputStream(conexion.unwrap(PGConnection.class), sql, TAMANO_BUFFER);
+            Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), TAMANO_BUFFER);
+            FilaCopy fila = new FilaCopy();
+            try {
+                for (int i = 0; i < registros.size(); i++) {
+                    fila.iniciar(id(bloques, i));
+                    for (Object valor : valores.apply(registros.get(i))) {
+                        fila.valor(valor);
+                    }
+                    fila.escribirEn(escritor);
+                }
+                // Al cerrar se vacía el buffer y se termina el COPY
+                escritor.close();
+            } catch (IOException | RuntimeException ex) {
+                if (salida.isActive()) {
+                    salida.cancelCopy();
+                }
+                throw ex;
+            }
+        } catch (SQLException ex) {
+            throw jdbcTemplate.getExceptionTranslator().translate("COPY " + tabla, sql, ex);
+        } catch (IOException ex) {
+            // PGCopyOutputStream envuelve los errores del servidor en IOException
+            if (ex.getCause() instanceof SQLException causa) {
+                throw jdbcTemplate.getExceptionTranslator().translate("COPY " + tabla, sql, causa);
+            }
+            throw new UncheckedIOException(ex);
+        } finally {
+            DataSourceUtils.releaseConnection(conexion, dataSource);
+        }
+
+        String listaColumnas = columnas.substring(1, columnas.length() - 1);
+        return jdbcTemplate.update("INSERT INTO " + tabla + " " + columnas + " SELECT " + listaColumnas + " FROM " + temporal +
+                " ON CONFLICT " + huella + " DO NOTHING");
+    }
+
+    // Cada bloque cubre (valor - 49 .. valor], igual que el optimizador pooled de Hibernate
+    private static long id(long[] bloques, int indice) {
+        return bloques[indice / INCREMENTO_SECUENCIA] - INCREMENTO_SECUENCIA + 1 + indice % INCREMENTO_SECUENCIA;
+    }
+
+    /**
+     * Reserva los bloques de ids necesarios con un nextval por bloque, en una sola consulta.
+     */
+    private long[] reservarIds(String secuencia, int filas) {
+        int cantidadBloques = (filas + INCREMENTO_SECUENCIA - 1) / INCREMENTO_SECUENCIA;
+        List<Long> bloques = jdbcTemplate.queryForList(
+                "SELECT nextval(CAST(? AS regclass)) FROM generate_series(1, ?)", Long.class, secuencia, cantidadBloques);
+        return bloques.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Una fila en el formato de texto de COPY: columnas separadas por tabulador, \N para null y
+     * barra invertida, tabulador y saltos de línea escapados.
+     */
+    private static final class FilaCopy {
+
+        private final StringBuilder linea = new StringBuilder(256);
+
+        void iniciar(long id) {
+            linea.setLength(0);
+            linea.append(id);
+        }
+
+        FilaCopy valor(Object valor) {
+            linea.append('\t');
+            if (valor == null) {
+                linea.append("\\N");
+            } else if (valor instanceof String texto) {
+                escapar(texto);
+            } else if (valor instanceof BigDecimal numero) {
+                linea.append(numero.toPlainString());
+            } else if (valor instanceof Enum<?> constante) {
+                linea.append(constante.name());
+            } else {
+                // Long, Integer y LocalDate (ISO, aceptado con cualquier DateStyle)
+                linea.append(valor);
+            }
+            return this;
+        }
+
+        void escribirEn(Writer escritor) throws IOException {
+            linea.append('\n');
+            escritor.append(linea);
+        }
+
+        private void escapar(String texto) {
+            for (int i = 0; i < texto.length(); i++) {
+                char c = texto.charAt(i);
+                switch (c) {
+                    case '\\' -> linea.append("\\\\");
+                    case '\t' -> linea.append("\\t");
+                    case '\n' -> linea.append("\\n");
+                    case '\r' -> linea.append("\\r");
+                    default -> linea.append(c);
+                }
+            }
+        }
+    }
+}
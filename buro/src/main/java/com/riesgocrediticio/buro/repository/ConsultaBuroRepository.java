@@ -0,0 +1,211 @@
+package com.riesgocrediticio.buro.repository;
+
+import com.riesgocrediticio.buro.enums.MoraEnum;
+import com.riesgocrediticio.buro.enums.MoraTresMesesEnum;
+import com.riesgocrediticio.buro.enums.ProductoExternoEnum;
+import com.riesgocrediticio.buro.enums.ProductoInternoEnum;
+import com.riesgocrediticio.buro.model.EgresosExterno;
+import com.riesgocrediticio.buro.model.EgresosInterno;
+import com.riesgocrediticio.buro.model.IngresosExterno;
+import com.riesgocrediticio.buro.model.IngresosInterno;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Lectura de los cuatro conjuntos de registros del buró (ingresos/egresos internos y externos)
+ * de una o varias cédulas en una sola sentencia UNION ALL, en lugar de cuatro consultas por cédula.
+ * El buró externo se filtra en la base por institucion_normalizada y se lee completo en sus particiones
+ * mensuales (V12): solo dejan de consultarse los meses que el mantenimiento de particiones archiva. Como la
+ * cédula no es la clave de partición, cada consulta busca en el índice de todos los meses adjuntos; la
+ * retención (buro.particiones-externo.meses-retencion) es la que acota ese número.
+ * <p>
+ * El interno está particionado por hash de la cédula (V13) y se lee con un join contra unnest(:cedulas): cada
+ * cédula se busca solo en su partición. Con cedula_cliente = ANY(:cedulas) cada partición recorrería su
+ * índice con el arreglo completo.
+ */
+@Repository
+public class ConsultaBuroRepository {
+
+    private static final int INGRESO_INTERNO = 1;
+    private static final int EGRESO_INTERNO = 2;
+    private static final int INGRESO_EXTERNO = 3;
+    private static final int EGRESO_EXTERNO = 4;
+
+    private static final String COLUMNAS_INGRESO =
+            "id, cedula_cliente, nombres, institucion_bancaria, producto, saldo_promedio_mes, numero_cuenta, " +
+            "CAST(NULL AS numeric) AS saldo_pendiente, CAST(NULL AS integer) AS meses_pendientes, " +
+            "CAST(NULL AS numeric) AS cuota_pago, CAST(NULL AS varchar) AS mora, " +
+            "CAST(NULL AS varchar) AS mora_ultimos_3_meses, fecha_actualizacion, fecha_registro, version";
+
+    private static final String COLUMNAS_EGRESO =
+            "id, cedula_cliente, nombres, institucion_bancaria, CAST(producto AS varchar) AS producto, " +
+            "CAST(NULL AS numeric) AS saldo_promedio_mes, CAST(NULL AS varchar) AS numero_cuenta, " +
+            "saldo_pendiente, meses_pendientes, cuota_pago, CAST(mora AS varchar) AS mora, " +
+            "CAST(mora_ultimos_3_meses AS varchar) AS mora_ultimos_3_meses, fecha_actualizacion, fecha_registro, version";
+
+    private static final String SQL_REGISTROS_POR_CEDULAS =
+            "SELECT " + INGRESO_INTERNO + " AS origen, " + COLUMNAS_INGRESO +
+            " FROM unnest(:cedulas) AS c (cedula) JOIN buro_interno.ingresos i ON i.cedula_cliente = c.cedula" +
+            " UNION ALL SELECT " + EGRESO_INTERNO + " AS origen, " + COLUMNAS_EGRESO +
+            " FROM unnest(:cedulas) AS c (cedula) JOIN buro_interno.egresos i ON i.cedula_cliente = c.cedula" +
+            " UNION ALL SELECT " + INGRESO_EXTERNO + " AS origen, " + COLUMNAS_INGRESO +
+            " FROM buro_externo.ingresos WHERE cedula_cliente = ANY(:cedulas) AND institucion_normalizada = ANY(:instituciones)" +
+            " UNION ALL SELECT " + EGRESO_EXTERNO + " AS origen, " + COLUMNAS_EGRESO +
+            " FROM buro_externo.egresos WHERE cedula_cliente = ANY(:cedulas) AND institucion_normalizada = ANY(:instituciones)" +
+            " ORDER BY cedula_cliente, origen, id";
+
+    // Una sola cédula: con cedula_cliente = :cedula el plan genérico de la sentencia preparada descarta al ejecutar
+    // las 15 particiones hash del interno que no le corresponden. Con unnest y ANY estimaba de a 10 cédulas y
+    // elegía un Gather Merge paralelo cuyo arranque de workers costaba más que la lectura
+    private static final String SQL_REGISTROS_POR_CEDULA =
+            "SELECT " + INGRESO_INTERNO + " AS origen, " + COLUMNAS_INGRESO +
+            " FROM buro_interno.ingresos WHERE cedula_cliente = :cedula" +
+            " UNION ALL SELECT " + EGRESO_INTERNO + " AS origen, " + COLUMNAS_EGRESO +
+            " FROM buro_interno.egresos WHERE cedula_cliente = :cedula" +
+            " UNION ALL SELECT " + INGRESO_EXTERNO + " AS origen, " + COLUMNAS_INGRESO +
+            " FROM buro_externo.ingresos WHERE cedula_cliente = :cedula AND institucion_normalizada = ANY(:instituciones)" +
+            " UNION ALL SELECT " + EGRESO_EXTERNO + " AS origen, " + COLUMNAS_EGRESO +
+            " FROM buro_externo.egresos WHERE cedula_cliente = :cedula AND institucion_normalizada = ANY(:instituciones)" +
+            " ORDER BY origen, id";
+
+    // Solo las cédulas de 10 dígitos se pueden representar como número; las demás no chocan con las generadas
+    private static final String SQL_CEDULAS_REGISTRADAS =
+            "SELECT CAST(cedula_cliente AS bigint) AS cedula FROM (" +
+            "SELECT DISTINCT cedula_cliente FROM buro_interno.ingresos UNION ALL " +
+            "SELECT DISTINCT cedula_cliente FROM buro_externo.ingresos) c WHERE cedula_cliente ~ '^[0-9]{10}$'";
+
+    private static final int FILAS_POR_LECTURA = 10_000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ConsultaBuroRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Registros de una cédula. Cuenta con el plan genérico de la sentencia preparada, que las conexiones del pool
+     * fijan al abrirse (spring.datasource.hikari.connection-init-sql).
+     */
+    public RegistrosBuroCliente buscarPorCedula(String cedula, Collection<String> institucionesExternas) {
+        RegistrosBuroCliente registros = new RegistrosBuroCliente(cedula);
+        MapSqlParameterSource parametros = new MapSqlParameterSource("cedula", cedula)
+                .addValue("instituciones", institucionesExternas.toArray(String[]::new));
+        jdbcTemplate.query(SQL_REGISTROS_POR_CEDULA, parametros, (RowCallbackHandler) rs -> agregarFila(registros, rs));
+        return registros;
+    }
+
+    /**
+     * Registros de todas las cédulas indicadas; las cédulas sin registros no aparecen en el mapa.
+     */
+    public Map<String, RegistrosBuroCliente> buscarPorCedulas(Collection<String> cedulas, Collection<String> institucionesExternas) {
+        Map<String, RegistrosBuroCliente> registrosPorCedula = new LinkedHashMap<>();
+        MapSqlParameterSource parametros = new MapSqlParameterSource("cedulas", cedulas.toArray(String[]::new))
+                .addValue("instituciones", institucionesExternas.toArray(String[]::new));
+        jdbcTemplate.query(SQL_REGISTROS_POR_CEDULAS, parametros, (RowCallbackHandler) rs -> {
+            String cedula = rs.getString("cedula_cliente");
+            agregarFila(registrosPorCedula.computeIfAbsent(cedula, RegistrosBuroCliente::new), rs);
+        });
+        return registrosPorCedula;
+    }
+
+    /**
+     * Entrega como número cada cédula con ingresos en el buró interno o en el externo, leyendo el resultado de a
+     * {@value #FILAS_POR_LECTURA} filas sin cargar entidades. Una cédula que está en los dos burós llega dos veces.
+     * Para que el driver lea por partes tiene que correr dentro de una transacción.
+     */
+    public void recorrerCedulasRegistradas(LongConsumer consumidor) {
+        jdbcTemplate.getJdbcTemplate().query(conexion -> {
+            PreparedStatement sentencia = conexion.prepareStatement(SQL_CEDULAS_REGISTRADAS);
+            sentencia.setFetchSize(FILAS_POR_LECTURA);
+            return sentencia;
+        }, (RowCallbackHandler) rs -> consumidor.accept(rs.getLong(1)));
+    }
+
+    private void agregarFila(RegistrosBuroCliente registros, ResultSet rs) throws SQLException {
+        switch (rs.getInt("origen")) {
+            case INGRESO_INTERNO -> registros.getIngresosInternos().add(mapearIngresoInterno(rs));
+            case EGRESO_INTERNO -> registros.getEgresosInternos().add(mapearEgresoInterno(rs));
+            case INGRESO_EXTERNO -> registros.getIngresosExternos().add(mapearIngresoExterno(rs));
+            case EGRESO_EXTERNO -> registros.getEgresosExternos().add(mapearEgresoExterno(rs));
+            default -> throw new IllegalStateException("Origen de registro de buró desconocido: " + rs.getInt("origen"));
+        }
+    }
+
+    private IngresosInterno mapearIngresoInterno(ResultSet rs) throws SQLException {
+        IngresosInterno ingreso = new IngresosInterno(rs.getLong("id"));
+        ingreso.setCedulaCliente(rs.getString("cedula_cliente"));
+        ingreso.setNombres(rs.getString("nombres"));
+        ingreso.setInstitucionBancaria(rs.getString("institucion_bancaria"));
+        ingreso.setProducto(rs.getString("producto"));
+        ingreso.setSaldoPromedioMes(rs.getBigDecimal("saldo_promedio_mes"));
+        ingreso.setNumeroCuenta(rs.getString("numero_cuenta"));
+        ingreso.setFechaActualizacion(toLocalDate(rs.getDate("fecha_actualizacion")));
+        ingreso.setFechaRegistro(toLocalDate(rs.getDate("fecha_registro")));
+        ingreso.setVersion(rs.getObject("version", Long.class));
+        return ingreso;
+    }
+
+    private EgresosInterno mapearEgresoInterno(ResultSet rs) throws SQLException {
+        EgresosInterno egreso = new EgresosInterno(rs.getLong("id"));
+        egreso.setCedulaCliente(rs.getString("cedula_cliente"));
+        egreso.setNombres(rs.getString("nombres"));
+        egreso.setInstitucionBancaria(rs.getString("institucion_bancaria"));
+        egreso.setProducto(ProductoInternoEnum.valueOf(rs.getString("producto")));
+        egreso.setSaldoPendiente(rs.getBigDecimal("saldo_pendiente"));
+        egreso.setMesesPendientes(rs.getObject("meses_pendientes", Integer.class));
+        egreso.setCuotaPago(rs.getBigDecimal("cuota_pago"));
+        egreso.setMora(MoraEnum.valueOf(rs.getString("mora")));
+        egreso.setMoraUltimosTresMeses(MoraTresMesesEnum.valueOf(rs.getString("mora_ultimos_3_meses")));
+        egreso.setFechaActualizacion(toLocalDate(rs.getDate("fecha_actualizacion")));
+        egreso.setFechaRegistro(toLocalDate(rs.getDate("fecha_registro")));
+        egreso.setVersion(rs.getObject("version", Long.class));
+        return egreso;
+    }
+
+    private IngresosExterno mapearIngresoExterno(ResultSet rs) throws SQLException {
+        IngresosExterno ingreso = new IngresosExterno(rs.getLong("id"));
+        ingreso.setCedulaCliente(rs.getString("cedula_cliente"));
+        ingreso.setNombres(rs.getString("nombres"));
+        ingreso.setInstitucionBancaria(rs.getString("institucion_bancaria"));
+        ingreso.setProducto(rs.getString("producto"));
+        ingreso.setSaldoPromedioMes(rs.getBigDecimal("saldo_promedio_mes"));
+        ingreso.setNumeroCuenta(rs.getString("numero_cuenta"));
+        ingreso.setFechaActualizacion(toLocalDate(rs.getDate("fecha_actualizacion")));
+        ingreso.setFechaRegistro(toLocalDate(rs.getDate("fecha_registro")));
+        ingreso.setVersion(rs.getObject("version", Long.class));
+        return ingreso;
+    }
+
+    private EgresosExterno mapearEgresoExterno(ResultSet rs) throws SQLException {
+        EgresosExterno egreso = new EgresosExterno(rs.getLong("id"));
+        egreso.setCedulaCliente(rs.getString("cedula_cliente"));
+        egreso.setNombres(rs.getString("nombres"));
+        egreso.setInstitucionBancaria(rs.getString("institucion_bancaria"));
+        egreso.setProducto(ProductoExternoEnum.valueOf(rs.getString("producto")));
+        egreso.setSaldoPendiente(rs.getBigDecimal("saldo_pendiente"));
+        egreso.setMesesPendientes(rs.getObject("meses_pendientes", Integer.class));
+        egreso.setCuotaPago(rs.getBigDecimal("cuota_pago"));
+        egreso.setMora(MoraEnum.valueOf(rs.getString("mora")));
+        egreso.setMoraUltimosTresMeses(MoraTresMesesEnum.valueOf(rs.getString("mora_ultimos_3_meses")));
+        egreso.setFechaActualizacion(toLocalDate(rs.getDate("fecha_actualizacion")));
+        egreso.setFechaRegistro(toLocalDate(rs.getDate("fecha_registro")));
+        egreso.setVersion(rs.getObject("version", Long.class));
+        return egreso;
+    }
+
+    private static LocalDate toLocalDate(Date fecha) {
+        return fecha != null ? fecha.toLocalDate() : null;
+    }
+}
@@ -2,6 +2,8 @@ package com.riesgocrediticio.buro.repository;
 
 import com.riesgocrediticio.buro.model.EgresosInterno;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +17,10 @@ public interface EgresosInternoRepository extends JpaRepository<EgresosInterno,
     Optional<EgresosInterno> findTopByCedulaClienteOrderByFechaRegistroDesc(String cedulaCliente);
 
     boolean existsByCedulaCliente(String cedulaCliente);
+
+    // Cédulas del lote que ya tienen registros, sin cargar las entidades. El join contra unnest busca cada
+    // cédula solo en su partición hash (V13); con IN cada partición recorrería la lista completa
+    @Query(value = "SELECT DISTINCT r.cedula_cliente FROM unnest(CAST(:cedulas AS varchar[])) AS c (cedula) " +
+            "JOIN buro_interno.egresos r ON r.cedula_cliente = c.cedula", nativeQuery = true)
+    List<String> findCedulasExistentes(@Param("cedulas") String[] cedulas);
 }
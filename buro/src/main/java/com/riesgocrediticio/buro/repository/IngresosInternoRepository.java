@@ -2,6 +2,8 @@ package com.riesgocrediticio.buro.repository;
 
 import com.riesgocrediticio.buro.model.IngresosInterno;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +17,55 @@ public interface IngresosInternoRepository extends JpaRepository<IngresosInterno
     Optional<IngresosInterno> findTopByCedulaClienteOrderByFechaRegistroDesc(String cedulaCliente);
 
     boolean existsByCedulaCliente(String cedulaCliente);
+
+    // Cédulas del lote que ya tienen registros, sin cargar las entidades. El join contra unnest busca cada
+    // cédula solo en su partición hash (V13); con IN cada partición recorrería la lista completa
+    @Query(value = "SELECT DISTINCT r.cedula_cliente FROM unnest(CAST(:cedulas AS varchar[])) AS c (cedula) " +
+            "JOIN buro_interno.ingresos r ON r.cedula_cliente = c.cedula", nativeQuery = true)
+    List<String> findCedulasExistentes(@Param("cedulas") String[] cedulas);
+
+    // Siguientes cédulas del buró interno (ingresos o egresos) en orden, para recorrerlo por lotes, con el número
+    // de partición hash en que están (V13: el sufijo _pNN de la partición, igual en ingresos y egresos).
+    // Cada subconsulta toma sus primeras :limite cédulas por índice, que contienen a las primeras de la unión
+    @Query(value = "SELECT DISTINCT ON (c.cedula_cliente) c.cedula_cliente AS \"cedulaCliente\", " +
+            "CAST(right(p.relname, 2) AS integer) AS \"particion\" FROM (" +
+            "(SELECT DISTINCT cedula_cliente, tableoid FROM buro_interno.ingresos WHERE cedula_cliente > :desde ORDER BY cedula_cliente LIMIT :limite) " +
+            "UNION ALL " +
+            "(SELECT DISTINCT cedula_cliente, tableoid FROM buro_interno.egresos WHERE cedula_cliente > :desde ORDER BY cedula_cliente LIMIT :limite)" +
+            ") c JOIN pg_catalog.pg_class p ON p.oid = c.tableoid " +
+            "ORDER BY c.cedula_cliente LIMIT :limite", nativeQuery = true)
+    List<CedulaParticion> findCedulasInternasDespuesDe(@Param("desde") String desde, @Param("limite") int limite);
+
+    // Cédulas del buró interno pendientes después de :desde (total del progreso de la sincronización al externo)
+    @Query(value = "SELECT COUNT(*) FROM (" +
+            "SELECT cedula_cliente FROM buro_interno.ingresos WHERE cedula_cliente > :desde " +
+            "UNION " +
+            "SELECT cedula_cliente FROM buro_interno.egresos WHERE cedula_cliente > :desde" +
+            ") c", nativeQuery = true)
+    long countCedulasInternasDespuesDe(@Param("desde") String desde);
+
+    @Query("SELECT COUNT(DISTINCT i.cedulaCliente) FROM IngresosInterno i")
+    long countCedulasDistintas();
+
+    // Cédulas distintas según las estadísticas de ANALYZE: una cédula está en una sola partición hash (V13), así que
+    // el total es la suma de las estimaciones de cada partición (n_distinct negativo es fracción de las filas).
+    // Devuelve null si alguna partición con filas todavía no tiene estadísticas
+    @Query(value = "SELECT CASE WHEN bool_and(c.reltuples = 0 OR s.n_distinct IS NOT NULL) THEN " +
+            "CAST(round(sum(CASE WHEN c.reltuples <= 0 OR s.n_distinct IS NULL THEN 0 " +
+            "WHEN s.n_distinct >= 0 THEN s.n_distinct ELSE -s.n_distinct * c.reltuples END)) AS bigint) END " +
+            "FROM pg_catalog.pg_inherits h JOIN pg_catalog.pg_class c ON c.oid = h.inhrelid " +
+            "LEFT JOIN pg_catalog.pg_stats s ON s.schemaname = 'buro_interno' AND s.tablename = c.relname " +
+            "AND s.attname = 'cedula_cliente' " +
+            "WHERE h.inhparent = CAST('buro_interno.ingresos' AS regclass)", nativeQuery = true)
+    Long estimarCedulasDistintas();
+
+    /**
+     * Cédula del buró interno y número de la partición hash (0 a 15) que tiene sus registros.
+     */
+    interface CedulaParticion {
+
+        String getCedulaCliente();
+
+        int getParticion();
+    }
 }
@@ -0,0 +1,67 @@
+package com.riesgocrediticio.buro.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Particiones mensuales de buro_externo.ingresos y egresos (V12), con las funciones de la migración:
+ * crear los meses que faltan y separar los vencidos. Las dos operaciones son solo de catálogo (no recorren
+ * filas, salvo las que hubieran caído en la partición por defecto) y se serializan entre nodos en la base.
+ */
+@Repository
+public class ParticionesExternoRepository {
+
+    private static final String SQL_CREAR = """
+            SELECT count(*) FILTER (WHERE buro_externo.crear_particion_mes(t.tabla, m.mes::date))
+            FROM (VALUES ('ingresos'), ('egresos')) AS t (tabla),
+                 generate_series(CAST(? AS date), CAST(? AS date), interval '1 month') AS m (mes)
+            """;
+
+    // Filas de las particiones mensuales que archivarParticiones separaría; la de defecto no se archiva
+    private static final String SQL_CEDULAS_A_ARCHIVAR = """
+            SELECT cedula_cliente FROM buro_externo.ingresos
+            WHERE fecha_registro < date_trunc('month', CAST(? AS date))
+              AND tableoid <> 'buro_externo.ingresos_default'::regclass
+            UNION
+            SELECT cedula_cliente FROM buro_externo.egresos
+            WHERE fecha_registro < date_trunc('month', CAST(? AS date))
+              AND tableoid <> 'buro_externo.egresos_default'::regclass
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ParticionesExternoRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Crea las particiones de ingresos y egresos de cada mes entre {@code desde} y {@code hasta} (primeros
+     * días de mes, inclusive) que todavía no existan. Devuelve cuántas creó.
+     */
+    public int crearParticiones(LocalDate desde, LocalDate hasta) {
+        Integer creadas = jdbcTemplate.queryForObject(SQL_CREAR, Integer.class, desde, hasta);
+        return creadas == null ? 0 : creadas;
+    }
+
+    /**
+     * Cédulas con registros en las particiones que {@link #archivarParticiones(LocalDate)} separaría con el
+     * mismo {@code antes}.
+     */
+    public Set<String> buscarCedulasAArchivar(LocalDate antes) {
+        return new HashSet<>(jdbcTemplate.queryForList(SQL_CEDULAS_A_ARCHIVAR, String.class, antes, antes));
+    }
+
+    /**
+     * Separa las particiones de los meses anteriores a {@code antes} y las mueve al esquema buro_archivo.
+     * Devuelve cuántas movió.
+     */
+    public int archivarParticiones(LocalDate antes) {
+        Integer archivadas = jdbcTemplate.queryForObject(
+                "SELECT buro_externo.archivar_particiones(CAST(? AS date))", Integer.class, antes);
+        return archivadas == null ? 0 : archivadas;
+    }
+}
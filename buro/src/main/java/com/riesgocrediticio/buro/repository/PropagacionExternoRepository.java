@@ -0,0 +1,205 @@
+package com.riesgocrediticio.buro.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Copia del buró interno al externo con INSERT ... SELECT ... ON CONFLICT DO NOTHING, resuelta dentro
+ * de la base: los registros no pasan por la aplicación. Cada sentencia cubre un grupo de cédulas de una misma
+ * partición del interno (V13) y lee directamente esa partición; devuelve en una sola fila cuántos registros
+ * tenía el interno, cuántos se insertaron y qué cédulas cambiaron.
+ * <p>
+ * Un registro se omite si el externo ya tiene uno con la misma huella de contenido (ver V10): misma cédula,
+ * institución, producto, montos, estado de mora y fecha_registro, que la copia conserva. Un egreso del interno
+ * que pasa a mora tiene otra huella y se copia como registro nuevo. El índice único hace la copia segura
+ * aunque dos corridas se solapen.
+ * <p>
+ * La copia incremental parte de la bandeja buro_control.cambios_interno (V11) en lugar de un grupo de cédulas:
+ * toma los cambios más antiguos con FOR UPDATE SKIP LOCKED (varios nodos pueden propagar a la vez sin
+ * repartirse los mismos), copia los registros a los que apuntan y borra esos cambios, todo en una sentencia.
+ * Cada cambio trae la cédula del registro, así la base lo busca solo en su partición.
+ */
+@Repository
+public class PropagacionExternoRepository {
+
+    private static final String SQL_INGRESOS = """
+            WITH nuevos AS (
+                INSERT INTO buro_externo.ingresos (cedula_cliente, nombres, institucion_bancaria, producto,
+                    saldo_promedio_mes, numero_cuenta, fecha_actualizacion, fecha_registro, version)
+                SELECT i.cedula_cliente, i.nombres, i.institucion_bancaria, i.producto,
+                    i.saldo_promedio_mes, i.numero_cuenta, i.fecha_actualizacion, i.fecha_registro, 1
+                FROM buro_interno.%1$s i
+                WHERE i.cedula_cliente = ANY (?)
+                ORDER BY i.id
+                ON CONFLICT (huella, fecha_registro) DO NOTHING
+                RETURNING cedula_cliente
+            )
+            SELECT (SELECT count(*) FROM buro_interno.%1$s WHERE cedula_cliente = ANY (?)) AS filas_origen,
+                count(*) AS insertadas,
+                array_agg(DISTINCT n.cedula_cliente) AS cedulas
+            FROM nuevos n
+            """;
+
+    private static final String SQL_EGRESOS = """
+            WITH nuevos AS (
+                INSERT INTO buro_externo.egresos (cedula_cliente, nombres, institucion_bancaria, producto,
+                    saldo_pendiente, meses_pendientes, cuota_pago, mora, mora_ultimos_3_meses,
+                    fecha_actualizacion, fecha_registro, version)
+                SELECT i.cedula_cliente, i.nombres, i.institucion_bancaria, i.producto,
+                    i.saldo_pendiente, i.meses_pendientes, i.cuota_pago, i.mora, i.mora_ultimos_3_meses,
+                    i.fecha_actualizacion, i.fecha_registro, 1
+                FROM buro_interno.%1$s i
+                WHERE i.cedula_cliente = ANY (?)
+                ORDER BY i.id
+                ON CONFLICT (huella, fecha_registro) DO NOTHING
+                RETURNING cedula_cliente
+            )
+            SELECT (SELECT count(*) FROM buro_interno.%1$s WHERE cedula_cliente = ANY (?)) AS filas_origen,
+                count(*) AS insertadas,
+                array_agg(DISTINCT n.cedula_cliente) AS cedulas
+            FROM nuevos n
+            """;
+
+    private static final String SQL_CAMBIOS = """
+            WITH lote AS (
+                SELECT id, tabla, registro_id, cedula_cliente
+                FROM buro_control.cambios_interno
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), ingresos AS (
+                INSERT INTO buro_externo.ingresos (cedula_cliente, nombres, institucion_bancaria, producto,
+                    saldo_promedio_mes, numero_cuenta, fecha_actualizacion, fecha_registro, version)
+                SELECT i.cedula_cliente, i.nombres, i.institucion_bancaria, i.producto,
+                    i.saldo_promedio_mes, i.numero_cuenta, i.fecha_actualizacion, i.fecha_registro, 1
+                FROM lote l
+                JOIN buro_interno.ingresos i ON i.id = l.registro_id AND i.cedula_cliente = l.cedula_cliente
+                WHERE l.tabla = 'INGRESOS'
+                ORDER BY i.id
+                ON CONFLICT (huella, fecha_registro) DO NOTHING
+                RETURNING cedula_cliente
+            ), egresos AS (
+                INSERT INTO buro_externo.egresos (cedula_cliente, nombres, institucion_bancaria, producto,
+                    saldo_pendiente, meses_pendientes, cuota_pago, mora, mora_ultimos_3_meses,
+                    fecha_actualizacion, fecha_registro, version)
+                SELECT i.cedula_cliente, i.nombres, i.institucion_bancaria, i.producto,
+                    i.saldo_pendiente, i.meses_pendientes, i.cuota_pago, i.mora, i.mora_ultimos_3_meses,
+                    i.fecha_actualizacion, i.fecha_registro, 1
+                FROM lote l
+                JOIN buro_interno.egresos i ON i.id = l.registro_id AND i.cedula_cliente = l.cedula_cliente
+                WHERE l.tabla = 'EGRESOS'
+                ORDER BY i.id
+                ON CONFLICT (huella, fecha_registro) DO NOTHING
+                RETURNING cedula_cliente
+            ), consumidos AS (
+                DELETE FROM buro_control.cambios_interno c
+                USING lote l
+                WHERE c.id = l.id
+                RETURNING c.id
+            )
+            SELECT (SELECT count(*) FROM consumidos) AS filas_origen,
+                (SELECT count(*) FROM ingresos) + (SELECT count(*) FROM egresos) AS insertadas,
+                ARRAY(SELECT cedula_cliente FROM ingresos UNION SELECT cedula_cliente FROM egresos) AS cedulas
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PropagacionExternoRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public ResultadoPropagacion propagarIngresos(int particion, List<String> cedulas) {
+        return propagar(SQL_INGRESOS.formatted(particionInterna("ingresos", particion)), cedulas);
+    }
+
+    public ResultadoPropagacion propagarEgresos(int particion, List<String> cedulas) {
+        return propagar(SQL_EGRESOS.formatted(particionInterna("egresos", particion)), cedulas);
+    }
+
+    // Nombre de la partición hash del buró interno (V13): ingresos_p00 .. ingresos_p15
+    private static String particionInterna(String tabla, int particion) {
+        return String.format("%s_p%02d", tabla, particion);
+    }
+
+    /**
+     * Aplica hasta {@code limite} cambios de la bandeja. En el resultado, las filas de origen son los cambios
+     * consumidos; si es menor que el límite, la bandeja quedó vacía (o el resto lo tiene otro nodo).
+     */
+    public ResultadoPropagacion propagarCambios(int limite) {
+        return jdbcTemplate.query(SQL_CAMBIOS, fila -> {
+            fila.next();
+            return new ResultadoPropagacion(fila.getLong("filas_origen"), fila.getLong("insertadas"),
+                    cedulas(fila.getArray("cedulas")));
+        }, limite);
+    }
+
+    public long contarCambiosPendientes() {
+        Long pendientes = jdbcTemplate.queryForObject("SELECT count(*) FROM buro_control.cambios_interno", Long.class);
+        return pendientes == null ? 0 : pendientes;
+    }
+
+    private ResultadoPropagacion propagar(String sql, List<String> cedulas) {
+        if (cedulas.isEmpty()) {
+            return new ResultadoPropagacion(0, 0, List.of());
+        }
+        return jdbcTemplate.execute(sql, (PreparedStatement sentencia) -> {
+            Array arreglo = sentencia.getConnection().createArrayOf("varchar", cedulas.toArray());
+            try {
+                sentencia.setArray(1, arreglo);
+                sentencia.setArray(2, arreglo);
+                try (ResultSet fila = sentencia.executeQuery()) {
+                    fila.next();
+                    return new ResultadoPropagacion(fila.getLong("filas_origen"), fila.getLong("insertadas"),
+                            cedulas(fila.getArray("cedulas")));
+                }
+            } finally {
+                arreglo.free();
+            }
+        });
+    }
+
+    private static List<String> cedulas(Array arreglo) throws SQLException {
+        // array_agg de cero filas es null
+        return arreglo == null ? List.of() : Arrays.asList((String[]) arreglo.getArray());
+    }
+
+    /**
+     * Filas del interno para las cédulas, filas insertadas en el externo y cédulas con algún registro nuevo.
+     */
+    public static final class ResultadoPropagacion {
+
+        private final long filasOrigen;
+        private final long insertadas;
+        private final List<String> cedulasModificadas;
+
+        public ResultadoPropagacion(long filasOrigen, long insertadas, List<String> cedulasModificadas) {
+            this.filasOrigen = filasOrigen;
+            this.insertadas = insertadas;
+            this.cedulasModificadas = cedulasModificadas;
+        }
+
+        public long getFilasOrigen() {
+            return filasOrigen;
+        }
+
+        public long getInsertadas() {
+            return insertadas;
+        }
+
+        // Filas del interno que no se copiaron por ya existir en el externo con la misma huella
+        public long getOmitidas() {
+            return filasOrigen - insertadas;
+        }
+
+        public List<String> getCedulasModificadas() {
+            return cedulasModificadas;
+        }
+    }
+}
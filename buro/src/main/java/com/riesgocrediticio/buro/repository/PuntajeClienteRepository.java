@@ -0,0 +1,9 @@
+package com.riesgocrediticio.buro.repository;
+
+import com.riesgocrediticio.buro.model.PuntajeCliente;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PuntajeClienteRepository extends JpaRepository<PuntajeCliente, String>, PuntajeClienteRepositoryCustom {
+}
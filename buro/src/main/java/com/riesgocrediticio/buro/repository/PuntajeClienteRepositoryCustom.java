@@ -0,0 +1,15 @@
+package com.riesgocrediticio.buro.repository;
+
+import com.riesgocrediticio.buro.model.PuntajeCliente;
+
+import java.util.Collection;
+
+public interface PuntajeClienteRepositoryCustom {
+
+    /**
+     * Inserta o reemplaza los puntajes en lotes JDBC (INSERT ... ON CONFLICT DO UPDATE).
+     */
+    void guardarEnLote(Collection<PuntajeCliente> puntajes);
+
+    void eliminarPorCedulas(Collection<String> cedulas);
+}
@@ -0,0 +1,65 @@
+package com.riesgocrediticio.buro.repository;
+
+import com.riesgocrediticio.buro.model.PuntajeCliente;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+
+public class PuntajeClienteRepositoryCustomImpl implements PuntajeClienteRepositoryCustom {
+
+    private static final String SQL_UPSERT =
+            "INSERT INTO buro_consolidado.puntajes (cedula_cliente, nombres, origen, calificacion_riesgo, capacidad_pago, version_reglas, " +
+            "total_ingresos, total_cuotas, saldo_pendiente, max_meses_pendientes, tiene_mora, mora_ultimos_tres_meses, fecha_calculo) " +
+            "VALUES (:cedula, :nombres, :origen, :calificacion, :capacidad, :version, :ingresos, :cuotas, :saldo, :meses, :mora, :moraTres, :fecha) " +
+            "ON CONFLICT (cedula_cliente) DO UPDATE SET nombres = EXCLUDED.nombres, origen = EXCLUDED.origen, " +
+            "calificacion_riesgo = EXCLUDED.calificacion_riesgo, capacidad_pago = EXCLUDED.capacidad_pago, " +
+            "version_reglas = EXCLUDED.version_reglas, " +
+            "total_ingresos = EXCLUDED.total_ingresos, total_cuotas = EXCLUDED.total_cuotas, " +
+            "saldo_pendiente = EXCLUDED.saldo_pendiente, max_meses_pendientes = EXCLUDED.max_meses_pendientes, " +
+            "tiene_mora = EXCLUDED.tiene_mora, mora_ultimos_tres_meses = EXCLUDED.mora_ultimos_tres_meses, " +
+            "fecha_calculo = EXCLUDED.fecha_calculo";
+
+    private static final String SQL_ELIMINAR =
+            "DELETE FROM buro_consolidado.puntajes WHERE cedula_cliente = ANY(:cedulas)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public PuntajeClienteRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void guardarEnLote(Collection<PuntajeCliente> puntajes) {
+        if (puntajes.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] lote = puntajes.stream()
+                .map(p -> new MapSqlParameterSource()
+                        .addValue("cedula", p.getCedulaCliente())
+                        .addValue("nombres", p.getNombres())
+                        .addValue("origen", p.getOrigen().name())
+                        .addValue("calificacion", p.getCalificacionRiesgo())
+                        .addValue("capacidad", p.getCapacidadPago())
+                        .addValue("version", p.getVersionReglas())
+                        .addValue("ingresos", p.getTotalIngresos())
+                        .addValue("cuotas", p.getTotalCuotas())
+                        .addValue("saldo", p.getSaldoPendiente())
+                        .addValue("meses", p.getMaxMesesPendientes())
+                        .addValue("mora", p.getTieneMora())
+                        .addValue("moraTres", p.getMoraUltimosTresMeses())
+                        .addValue("fecha", Timestamp.valueOf(p.getFechaCalculo())))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(SQL_UPSERT, lote);
+    }
+
+    @Override
+    public void eliminarPorCedulas(Collection<String> cedulas) {
+        if (cedulas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(SQL_ELIMINAR, new MapSqlParameterSource("cedulas", cedulas.toArray(String[]::new)));
+    }
+}
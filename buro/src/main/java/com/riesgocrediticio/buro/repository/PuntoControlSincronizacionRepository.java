@@ -0,0 +1,44 @@
+package com.riesgocrediticio.buro.repository;
+
+import com.riesgocrediticio.buro.model.PuntoControlSincronizacion;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface PuntoControlSincronizacionRepository extends JpaRepository<PuntoControlSincronizacion, String> {
+
+    // Crea el punto de control como terminado si no existe; dos instancias que arrancan a la vez no chocan
+    @Modifying
+    @Query(value = "INSERT INTO buro_control.puntos_control (proceso, estado, creados, existentes, fecha_inicio, fecha_actualizacion) " +
+            "VALUES (:proceso, 'COMPLETADA', 0, 0, now(), now()) ON CONFLICT (proceso) DO NOTHING", nativeQuery = true)
+    void crearSiNoExiste(@Param("proceso") String proceso);
+
+    // SELECT ... FOR UPDATE: una sola transacción a la vez avanza el punto de control del proceso
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM PuntoControlSincronizacion p WHERE p.proceso = :proceso")
+    Optional<PuntoControlSincronizacion> bloquear(@Param("proceso") String proceso);
+
+    // Reclama una ejecución programada; solo el nodo que actualiza la fila (1) la ejecuta
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE buro_control.puntos_control SET ultima_programada = :programada " +
+            "WHERE proceso = :proceso AND (ultima_programada IS NULL OR ultima_programada < :programada)", nativeQuery = true)
+    int reclamarProgramada(@Param("proceso") String proceso, @Param("programada") LocalDateTime programada);
+
+    // Devuelve la reclamación si el trabajo no se pudo encolar, para que otro nodo (o la próxima revisión) la tome
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE buro_control.puntos_control SET ultima_programada = CAST(:anterior AS timestamp) " +
+            "WHERE proceso = :proceso AND ultima_programada = :programada", nativeQuery = true)
+    int liberarProgramada(@Param("proceso") String proceso, @Param("programada") LocalDateTime programada,
+                          @Param("anterior") LocalDateTime anterior);
+}
@@ -0,0 +1,35 @@
+package com.riesgocrediticio.buro.repository;
+
+import com.riesgocrediticio.buro.model.EgresosExterno;
+import com.riesgocrediticio.buro.model.EgresosInterno;
+import com.riesgocrediticio.buro.model.IngresosExterno;
+import com.riesgocrediticio.buro.model.IngresosInterno;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registros de buró interno y externo de una cédula, obtenidos en una sola consulta.
+ */
+@Getter
+public class RegistrosBuroCliente {
+
+    private final String cedula;
+    private final List<IngresosInterno> ingresosInternos = new ArrayList<>();
+    private final List<EgresosInterno> egresosInternos = new ArrayList<>();
+    private final List<IngresosExterno> ingresosExternos = new ArrayList<>();
+    private final List<EgresosExterno> egresosExternos = new ArrayList<>();
+
+    public RegistrosBuroCliente(String cedula) {
+        this.cedula = cedula;
+    }
+
+    public boolean tieneInterno() {
+        return !ingresosInternos.isEmpty() || !egresosInternos.isEmpty();
+    }
+
+    public boolean tieneExterno() {
+        return !ingresosExternos.isEmpty() || !egresosExternos.isEmpty();
+    }
+}
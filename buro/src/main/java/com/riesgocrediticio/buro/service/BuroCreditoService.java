@@ -1,12 +1,17 @@
 package com.riesgocrediticio.buro.service;
 
-import com.riesgocrediticio.buro.client.ClienteBuroClient;
-import com.riesgocrediticio.buro.dto.ClienteDto;
+import com.riesgocrediticio.buro.client.LectorPersonasCore;
+import com.riesgocrediticio.buro.config.CargaMasivaProperties;
+import com.riesgocrediticio.buro.config.ConsultaBuroProperties;
+import com.riesgocrediticio.buro.config.SincronizacionProperties;
+import com.riesgocrediticio.buro.dto.PersonaCoreDto;
 import com.riesgocrediticio.buro.dto.response.ConsultaBuroCreditoResponse;
+import com.riesgocrediticio.buro.enums.EstadoSincronizacionEnum;
+import com.riesgocrediticio.buro.enums.ModoConteoEnum;
 import com.riesgocrediticio.buro.enums.MoraEnum;
 import com.riesgocrediticio.buro.enums.MoraTresMesesEnum;
-import com.riesgocrediticio.buro.enums.ProductoExternoEnum;
 import com.riesgocrediticio.buro.enums.ProductoInternoEnum;
+import com.riesgocrediticio.buro.event.RegistrosBuroModificadosEvent;
 import com.riesgocrediticio.buro.exception.ClienteNoEncontradoException;
 import com.riesgocrediticio.buro.mapper.EgresosExternoMapper;
 import com.riesgocrediticio.buro.mapper.EgresosInternoMapper;
@@ -16,54 +21,107 @@ import com.riesgocrediticio.buro.model.EgresosExterno;
 import com.riesgocrediticio.buro.model.EgresosInterno;
 import com.riesgocrediticio.buro.model.IngresosExterno;
 import com.riesgocrediticio.buro.model.IngresosInterno;
-import com.riesgocrediticio.buro.repository.EgresosExternoRepository;
+import com.riesgocrediticio.buro.model.PuntoControlSincronizacion;
+import com.riesgocrediticio.buro.repository.CargaMasivaRepository;
+import com.riesgocrediticio.buro.repository.ConsultaBuroRepository;
 import com.riesgocrediticio.buro.repository.EgresosInternoRepository;
-import com.riesgocrediticio.buro.repository.IngresosExternoRepository;
 import com.riesgocrediticio.buro.repository.IngresosInternoRepository;
+import com.riesgocrediticio.buro.repository.IngresosInternoRepository.CedulaParticion;
+import com.riesgocrediticio.buro.repository.PropagacionExternoRepository;
+import com.riesgocrediticio.buro.repository.PropagacionExternoRepository.ResultadoPropagacion;
+import com.riesgocrediticio.buro.repository.PuntoControlSincronizacionRepository;
+import com.riesgocrediticio.buro.repository.RegistrosBuroCliente;
+import com.riesgocrediticio.buro.service.EjecutorParticiones.ResultadoLote;
+import com.riesgocrediticio.buro.service.calificacion.AgregadosRiesgo;
+import com.riesgocrediticio.buro.service.calificacion.CalificadorRiesgo;
+import com.riesgocrediticio.buro.service.calificacion.ResultadoCalificacion;
+import com.riesgocrediticio.buro.service.trabajo.ProgresoTrabajo;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-//import java.time.LocalDate;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class BuroCreditoService {
 
-    private final ClienteBuroClient clienteBuroClient;
+    // Cédulas por consulta al verificar cuáles ya existen
+    private static final int TAMANO_LOTE_EXISTENCIA = 1000;
+
+    // Procesos en buro_control.puntos_control
+    private static final String PROCESO_CORE = "SINCRONIZACION_CORE";
+    private static final String PROCESO_INTERNO_EXTERNO = "SINCRONIZACION_INTERNO_EXTERNO";
+
+    private final LectorPersonasCore lectorPersonasCore;
     private final IngresosInternoRepository ingresosInternoRepository;
     private final EgresosInternoRepository egresosInternoRepository;
     private final IngresosInternoMapper ingresosInternoMapper;
     private final EgresosInternoMapper egresosInternoMapper;
-    private final IngresosExternoRepository ingresosExternoRepository;
-    private final EgresosExternoRepository egresosExternoRepository;
     private final IngresosExternoMapper ingresosExternoMapper;
     private final EgresosExternoMapper egresosExternoMapper;
+    private final ConsultaBuroRepository consultaBuroRepository;
+    private final ConsultaBuroProperties consultaBuroProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CalificadorRiesgo calificadorRiesgo;
+    private final CargaMasivaRepository cargaMasivaRepository;
+    private final CargaMasivaProperties cargaMasivaProperties;
+    private final PuntoControlSincronizacionRepository puntoControlRepository;
+    private final SincronizacionProperties sincronizacionProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final EjecutorParticiones ejecutorParticiones;
+    private final PropagacionExternoRepository propagacionExternoRepository;
+    private volatile ConteoClientes conteoClientes;
 
     public BuroCreditoService(
-            ClienteBuroClient clienteBuroClient,
+            LectorPersonasCore lectorPersonasCore,
             IngresosInternoRepository ingresosInternoRepository,
             EgresosInternoRepository egresosInternoRepository,
             IngresosInternoMapper ingresosInternoMapper,
             EgresosInternoMapper egresosInternoMapper,
-            IngresosExternoRepository ingresosExternoRepository,
-            EgresosExternoRepository egresosExternoRepository,
             IngresosExternoMapper ingresosExternoMapper,
-            EgresosExternoMapper egresosExternoMapper
+            EgresosExternoMapper egresosExternoMapper,
+            ConsultaBuroRepository consultaBuroRepository,
+            ConsultaBuroProperties consultaBuroProperties,
+            ApplicationEventPublisher eventPublisher,
+            CalificadorRiesgo calificadorRiesgo,
+            CargaMasivaRepository cargaMasivaRepository,
+            CargaMasivaProperties cargaMasivaProperties,
+            PuntoControlSincronizacionRepository puntoControlRepository,
+            SincronizacionProperties sincronizacionProperties,
+            PlatformTransactionManager transactionManager,
+            EjecutorParticiones ejecutorParticiones,
+            PropagacionExternoRepository propagacionExternoRepository
     ) {
-        this.clienteBuroClient = clienteBuroClient;
+        this.lectorPersonasCore = lectorPersonasCore;
         this.ingresosInternoRepository = ingresosInternoRepository;
         this.egresosInternoRepository = egresosInternoRepository;
         this.ingresosInternoMapper = ingresosInternoMapper;
         this.egresosInternoMapper = egresosInternoMapper;
-        this.ingresosExternoRepository = ingresosExternoRepository;
-        this.egresosExternoRepository = egresosExternoRepository;
         this.ingresosExternoMapper = ingresosExternoMapper;
         this.egresosExternoMapper = egresosExternoMapper;
+        this.consultaBuroRepository = consultaBuroRepository;
+        this.consultaBuroProperties = consultaBuroProperties;
+        this.eventPublisher = eventPublisher;
+        this.calificadorRiesgo = calificadorRiesgo;
+        this.cargaMasivaRepository = cargaMasivaRepository;
+        this.cargaMasivaProperties = cargaMasivaProperties;
+        this.puntoControlRepository = puntoControlRepository;
+        this.sincronizacionProperties = sincronizacionProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ejecutorParticiones = ejecutorParticiones;
+        this.propagacionExternoRepository = propagacionExternoRepository;
     }
 
     @Transactional(readOnly = true)
@@ -71,69 +129,25 @@ public class BuroCreditoService {
         try {
             log.debug("Iniciando consulta de buró para cédula: {}", cedula);
 
-            // Buscar en buró interno
-            List<IngresosInterno> ingresosInternos = ingresosInternoRepository.findAllByCedulaCliente(cedula);
-            List<EgresosInterno> egresosInternos = egresosInternoRepository.findAllByCedulaCliente(cedula);
-
-            // Buscar en buró externo SOLO BANCO BANQUITO
-            String BANCO_BANQUITO = "BANCO BANQUITO";
-            List<IngresosExterno> ingresosExternos = ingresosExternoRepository.findAllByCedulaCliente(cedula)
-                .stream()
-                .filter(ie -> BANCO_BANQUITO.equalsIgnoreCase(ie.getInstitucionBancaria()))
-                .toList();
-
-            List<EgresosExterno> egresosExternos = egresosExternoRepository.findAllByCedulaCliente(cedula)
-                .stream()
-                .filter(ee -> BANCO_BANQUITO.equalsIgnoreCase(ee.getInstitucionBancaria()))
-                .toList();
+            // Buscar en buró interno y externo (solo instituciones configuradas) en una sola consulta
+            RegistrosBuroCliente registros = consultaBuroRepository.buscarPorCedula(
+                cedula, consultaBuroProperties.getInstitucionesNormalizadas());
 
-            boolean hayInterno = !ingresosInternos.isEmpty() || !egresosInternos.isEmpty();
-            boolean hayExternoBanquito = !ingresosExternos.isEmpty() || !egresosExternos.isEmpty();
+            ConsultaBuroCreditoResponse response = construirRespuesta(registros);
 
             // Si no hay en ninguno, lanzar excepción
-            if (!hayInterno && !hayExternoBanquito) {
-                log.warn("No se encontró información en el buro interno ni externo (BANCO BANQUITO) para cedula={}", cedula);
+            if (response == null) {
+                log.warn("No se encontró información en el buro interno ni externo ({}) para cedula={}",
+                    consultaBuroProperties.getInstituciones(), cedula);
                 throw new ClienteNoEncontradoException("El cliente no está registrado en el buro interno ni externo.");
             }
 
-            if (hayInterno) {
-                String nombre = ingresosInternos.stream().findFirst().map(IngresosInterno::getNombres)
-                    .orElse(egresosInternos.stream().findFirst().map(EgresosInterno::getNombres).orElse(null));
-
-                String calificacionRiesgo = calcularCalificacionRiesgo(ingresosInternos, egresosInternos);
-                BigDecimal capacidadPago = calcularCapacidadPago(ingresosInternos, egresosInternos);
-
+            if (!response.getIngresosInternos().isEmpty() || !response.getEgresosInternos().isEmpty()) {
                 log.info("Consulta exitosa de buró interno para cédula={}", cedula);
-                return ConsultaBuroCreditoResponse.builder()
-                    .nombreCliente(nombre)
-                    .cedulaCliente(cedula)
-                    .ingresosInternos(ingresosInternoMapper.toDtoList(ingresosInternos))
-                    .egresosInternos(egresosInternoMapper.toDtoList(egresosInternos))
-                    .ingresosExternos(Collections.emptyList())
-                    .egresosExternos(Collections.emptyList())
-                    .calificacionRiesgo(calificacionRiesgo)
-                    .capacidadPago(capacidadPago)
-                    .build();
+            } else {
+                log.info("Consulta exitosa de buró externo ({}) para cédula={}", consultaBuroProperties.getInstituciones(), cedula);
             }
-
-            // Si no hay en el interno, pero sí en el externo de BANCO BANQUITO
-            String nombre = ingresosExternos.stream().findFirst().map(IngresosExterno::getNombres)
-                .orElse(egresosExternos.stream().findFirst().map(EgresosExterno::getNombres).orElse(null));
-            
-            String calificacionRiesgo = calcularCalificacionRiesgo(ingresosExternos, egresosExternos);
-            BigDecimal capacidadPago = calcularCapacidadPago(ingresosExternos, egresosExternos);
-
-            log.info("Consulta exitosa de buró externo (BANCO BANQUITO) para cédula={}", cedula);
-            return ConsultaBuroCreditoResponse.builder()
-                .nombreCliente(nombre)
-                .cedulaCliente(cedula)
-                .ingresosInternos(Collections.emptyList())
-                .egresosInternos(Collections.emptyList())
-                .ingresosExternos(ingresosExternoMapper.toDtoList(ingresosExternos))
-                .egresosExternos(egresosExternoMapper.toDtoList(egresosExternos))
-                .calificacionRiesgo(calificacionRiesgo)
-                .capacidadPago(capacidadPago)
-                .build();
+            return response;
 
         } catch (ClienteNoEncontradoException ex) {
             log.warn("Cliente no encontrado: {}", ex.getMessage());
@@ -144,64 +158,335 @@ public class BuroCreditoService {
         }
     }
 
-    @Transactional
-    public String sincronizarClientesDesdeCore() {
-        log.info("Iniciando sincronización masiva de clientes PERSONA desde el core...");
-        
-        // // Solo si hoy es domingo se ejecuta la sincronización
-        // if (!esUltimoDiaDeLaSemana()) {
-        //     log.info("Hoy no es fin de semana. No se realizará la carga de datos del buró interno.");
-        //     return "Sincronización no realizada. Solo se realiza los fines de semana.";
-        // }
-
-        int creados = 0;
-        int yaExistentes = 0;
-        Random random = new Random();
-
+    /**
+     * Consulta varias cédulas con una sola lectura a la base y califica cada cliente en paralelo.
+     * Las cédulas sin información no aparecen en el mapa resultante.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, ConsultaBuroCreditoResponse> consultarPorCedulas(Collection<String> cedulas) {
         try {
-            List<ClienteDto> personas = clienteBuroClient.listarPorTipoEntidad("PERSONA");
+            log.debug("Iniciando consulta de buró en lote para {} cédulas", cedulas.size());
 
-            for (ClienteDto cliente : personas) {
-                String cedula = cliente.getNumeroIdentificacion();
-                String nombre = cliente.getNombre();
+            Map<String, RegistrosBuroCliente> registrosPorCedula = consultaBuroRepository.buscarPorCedulas(
+                cedulas, consultaBuroProperties.getInstitucionesNormalizadas());
 
-                boolean existeIngreso = !ingresosInternoRepository.findAllByCedulaCliente(cedula).isEmpty();
-                boolean existeEgreso = !egresosInternoRepository.findAllByCedulaCliente(cedula).isEmpty();
+            Map<String, ConsultaBuroCreditoResponse> respuestas = registrosPorCedula.values()
+                .parallelStream()
+                .map(this::construirRespuesta)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toConcurrentMap(ConsultaBuroCreditoResponse::getCedulaCliente, r -> r));
 
-                // *** SOLO CREA ingresos Y egresos SI EL CLIENTE ES NUEVO ***
-                if (!existeIngreso && !existeEgreso) {
-                    // Crear ingresos
-                    List<IngresosInterno> ingresos = mockIngresosInternos(cedula, nombre, random);
-                    ingresosInternoRepository.saveAll(ingresos);
+            log.info("Consulta de buró en lote: {} cédulas solicitadas, {} encontradas", cedulas.size(), respuestas.size());
+            return respuestas;
 
-                    // Sumar total de ingresos
-                    BigDecimal totalIngresos = ingresos.stream()
-                            .map(IngresosInterno::getSaldoPromedioMes)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        } catch (Exception ex) {
+            log.error("Error inesperado al consultar buró en lote: {}", ex.getMessage(), ex);
+            throw ex;
+        }
+    }
 
-                    // Crear egresos (UNA SOLA VEZ)
-                    List<EgresosInterno> egresos = mockEgresosInternos(cedula, nombre, random, totalIngresos);
-                    egresosInternoRepository.saveAll(egresos);
+    /**
+     * Arma la respuesta de consulta a partir de los registros de la cédula. Prioriza el buró interno;
+     * si no hay registros internos usa el externo de las instituciones configuradas.
+     * Retorna null si no hay información en ninguno.
+     */
+    private ConsultaBuroCreditoResponse construirRespuesta(RegistrosBuroCliente registros) {
+        List<IngresosInterno> ingresosInternos = registros.getIngresosInternos();
+        List<EgresosInterno> egresosInternos = registros.getEgresosInternos();
+        List<IngresosExterno> ingresosExternos = registros.getIngresosExternos();
+        List<EgresosExterno> egresosExternos = registros.getEgresosExternos();
+
+        if (!registros.tieneInterno() && !registros.tieneExterno()) {
+            return null;
+        }
 
-                    creados++;
-                } else {
-                    yaExistentes++;
-                }
+        if (registros.tieneInterno()) {
+            String nombre = ingresosInternos.stream().findFirst().map(IngresosInterno::getNombres)
+                .orElse(egresosInternos.stream().findFirst().map(EgresosInterno::getNombres).orElse(null));
+
+            AgregadosRiesgo agregados = calificadorRiesgo.calcularAgregadosInterno(ingresosInternos, egresosInternos);
+            ResultadoCalificacion calificacion = calificadorRiesgo.calificar(agregados);
+
+            return ConsultaBuroCreditoResponse.builder()
+                .nombreCliente(nombre)
+                .cedulaCliente(registros.getCedula())
+                .ingresosInternos(ingresosInternoMapper.toDtoList(ingresosInternos))
+                .egresosInternos(egresosInternoMapper.toDtoList(egresosInternos))
+                .ingresosExternos(Collections.emptyList())
+                .egresosExternos(Collections.emptyList())
+                .calificacionRiesgo(calificacion.getCalificacionRiesgo())
+                .capacidadPago(calificacion.getCapacidadPago())
+                .versionReglas(calificacion.getVersionReglas())
+                .build();
+        }
+
+        // Si no hay en el interno, pero sí en el externo de las instituciones configuradas
+        String nombre = ingresosExternos.stream().findFirst().map(IngresosExterno::getNombres)
+            .orElse(egresosExternos.stream().findFirst().map(EgresosExterno::getNombres).orElse(null));
+
+        AgregadosRiesgo agregados = calificadorRiesgo.calcularAgregadosExterno(ingresosExternos, egresosExternos);
+        ResultadoCalificacion calificacion = calificadorRiesgo.calificar(agregados);
+
+        return ConsultaBuroCreditoResponse.builder()
+            .nombreCliente(nombre)
+            .cedulaCliente(registros.getCedula())
+            .ingresosInternos(Collections.emptyList())
+            .egresosInternos(Collections.emptyList())
+            .ingresosExternos(ingresosExternoMapper.toDtoList(ingresosExternos))
+            .egresosExternos(egresosExternoMapper.toDtoList(egresosExternos))
+            .calificacionRiesgo(calificacion.getCalificacionRiesgo())
+            .capacidadPago(calificacion.getCapacidadPago())
+            .versionReglas(calificacion.getVersionReglas())
+            .build();
+    }
+
+    /**
+     * Sincroniza por lotes de páginas del core; cada lote se confirma con su punto de control.
+     * Si una corrida anterior quedó EN_CURSO, continúa desde la página siguiente a la última confirmada.
+     * Las páginas se piden por posición: si el core cambia entre corridas, las cédulas que se repitan
+     * se descartan por la verificación de existencia. El progreso cuenta personas leídas del core;
+     * el total no se conoce sin recorrerlo.
+     * <p>
+     * Una corrida nueva es incremental: pide solo los clientes creados desde la marca de agua (inclusive,
+     * los del mismo día se descartan por existencia). Es completa si se pide, si aún no hay marca de agua
+     * o si la última corrida completa es más antigua que buro.sincronizacion.reconciliacion-completa.
+     */
+    public String sincronizarClientesDesdeCore(boolean completa, ProgresoTrabajo progreso) {
+        log.info("Iniciando sincronización masiva de clientes PERSONA desde el core...");
+
+        SplittableRandom random = new SplittableRandom();
+
+        try {
+            PuntoControlSincronizacion inicio = transactionTemplate.execute(estado ->
+                iniciarOReanudar(PROCESO_CORE, nuevo -> elegirModoCore(nuevo, completa)));
+            log.info("Sincronización con el core {}", inicio.getCreadoDesde() == null
+                ? "completa" : "incremental desde " + inicio.getCreadoDesde());
+            PuntoControlSincronizacion avance = inicio;
+            boolean terminado = false;
+            while (!terminado) {
+                LoteCore lote = leerLoteCore(avance, progreso);
+                avance = transactionTemplate.execute(estado -> confirmarLoteCore(lote, random));
+                terminado = lote.ultima();
             }
+            PuntoControlSincronizacion puntoControl = transactionTemplate.execute(estado -> {
+                PuntoControlSincronizacion completado = completar(PROCESO_CORE);
+                if (completado.getCreadoDesde() == null) {
+                    completado.setFechaUltimaCompleta(completado.getFechaActualizacion());
+                }
+                return completado;
+            });
+            progreso.registrarResultado(puntoControl.getCreados(), puntoControl.getExistentes());
+
             String mensaje = String.format(
-                "Sincronización completada. Se crearon %d clientes nuevos en el buró interno. %d clientes ya estaban registrados.",
-                creados, yaExistentes
+                "Sincronización completada (%s). Se crearon %d registros nuevos en el buró interno. %d ya existían y fueron ignorados.",
+                puntoControl.getCreadoDesde() == null ? "corrida completa" : "clientes creados desde " + puntoControl.getCreadoDesde(),
+                puntoControl.getCreados(), puntoControl.getExistentes()
             );
             log.info(mensaje);
             return mensaje;
 
         } catch (Exception ex) {
-            log.error("Error durante la sincronización masiva del buró interno: {}", ex.getMessage(), ex);
+            log.error("Error durante la sincronización masiva del buró interno; la próxima corrida continúa desde el último lote confirmado: {}",
+                ex.getMessage(), ex);
             throw ex;
         }
     }
 
-    private List<IngresosInterno> mockIngresosInternos(String cedula, String nombre, Random random) {
+    /**
+     * Páginas leídas del core para un lote, con lo que el punto de control debe guardar al confirmarlo.
+     */
+    private record LoteCore(Integer paginaAnterior, int ultimaPagina, List<PersonaCoreDto> personas,
+                            String ultimaCedula, LocalDate marcaAgua, boolean ultima) {
+    }
+
+    /**
+     * Lee buro.sincronizacion.paginas-por-lote páginas del core por partición a partir del avance confirmado,
+     * fuera de toda transacción: un core lento no deja conexiones ni el bloqueo del punto de control tomados.
+     * Entre réplicas corre un solo lector (bloqueo de PostgreSQL del trabajo), así que nadie más mueve el
+     * punto de control mientras tanto.
+     */
+    private LoteCore leerLoteCore(PuntoControlSincronizacion avance, ProgresoTrabajo progreso) {
+        int primeraPagina = avance.getUltimaPagina() == null ? 0 : avance.getUltimaPagina() + 1;
+        int pagina = primeraPagina;
+        LocalDate marcaAgua = avance.getMarcaAgua();
+        int paginasPorLote = sincronizacionProperties.getPaginasPorLote() * ejecutorParticiones.getHilos();
+
+        String ultimaCedula = avance.getUltimaCedula();
+
+        List<PersonaCoreDto> personasLote = new ArrayList<>();
+        boolean ultimaPagina;
+
+        do {
+            LectorPersonasCore.Pagina leida = lectorPersonasCore.leerPagina(pagina, avance.getCreadoDesde(), ultimaCedula);
+            List<PersonaCoreDto> personas = leida.personas();
+            for (PersonaCoreDto cliente : personas) {
+                if (cliente.getFechaCreacion() != null && (marcaAgua == null || cliente.getFechaCreacion().isAfter(marcaAgua))) {
+                    marcaAgua = cliente.getFechaCreacion();
+                }
+            }
+            personasLote.addAll(personas);
+            progreso.avanzar(personas.size());
+            ultimaPagina = leida.ultima();
+            ultimaCedula = leida.ultimaCedula(ultimaCedula);
+            pagina++;
+        } while (!ultimaPagina && pagina - primeraPagina < paginasPorLote);
+
+        return new LoteCore(avance.getUltimaPagina(), pagina - 1, personasLote, ultimaCedula, marcaAgua, ultimaPagina);
+    }
+
+    /**
+     * Reparte las personas del lote entre las particiones, así cada transacción conserva el tamaño (y la carga
+     * con COPY) de la corrida secuencial, y avanza el punto de control en la transacción en curso después de
+     * que todas las particiones se confirmaron. Si algo falla antes, el lote completo se repite al reanudar y
+     * las cédulas ya creadas se descartan por existencia. La última cédula leída también queda en el punto de
+     * control, para reconocer entre lotes un core que repite la misma página.
+     */
+    private PuntoControlSincronizacion confirmarLoteCore(LoteCore lote, SplittableRandom random) {
+        PuntoControlSincronizacion puntoControl = puntoControlRepository.bloquear(PROCESO_CORE).orElseThrow();
+        if (!Objects.equals(puntoControl.getUltimaPagina(), lote.paginaAnterior())) {
+            throw new IllegalStateException("El punto de control de " + PROCESO_CORE + " avanzó a la página "
+                + puntoControl.getUltimaPagina() + " mientras se leía el lote que sigue a la página " + lote.paginaAnterior());
+        }
+
+        ResultadoLote resultado = ejecutorParticiones.ejecutar(
+            PROCESO_CORE, lote.personas(), PersonaCoreDto::getNumeroIdentificacion, random, this::crearClientesInternos);
+
+        puntoControl.setUltimaPagina(lote.ultimaPagina());
+        puntoControl.setUltimaCedula(lote.ultimaCedula());
+        puntoControl.setMarcaAgua(lote.marcaAgua());
+        puntoControl.setCreados(puntoControl.getCreados() + resultado.getCreados());
+        puntoControl.setExistentes(puntoControl.getExistentes() + resultado.getExistentes());
+        puntoControl.setFechaActualizacion(LocalDateTime.now());
+        log.debug("Lote del core confirmado hasta la página {}: {} registros nuevos", lote.ultimaPagina(), resultado.getCreados());
+        return puntoControl;
+    }
+
+    /**
+     * Crea los ingresos y egresos mock de las personas de una partición que aún no están en el buró interno.
+     * Corre en la transacción de la partición. Como en las demás cargas, el resultado cuenta registros: los que
+     * la base insertó y los que omitió por huella repetida (las personas ya registradas no generan registros).
+     */
+    private ResultadoLote crearClientesInternos(List<PersonaCoreDto> personas, RandomGenerator random) {
+        // Cédulas de la partición ya registradas en el buró interno (incluye lotes y corridas ya confirmados)
+        Set<String> cedulasRegistradas = buscarCedulasRegistradasInterno(personas.stream()
+            .map(PersonaCoreDto::getNumeroIdentificacion)
+            .distinct()
+            .toList());
+
+        Set<String> cedulasCreadas = new HashSet<>();
+        List<IngresosInterno> ingresosNuevos = new ArrayList<>();
+        List<EgresosInterno> egresosNuevos = new ArrayList<>();
+        int yaExistentes = 0;
+
+        for (PersonaCoreDto cliente : personas) {
+            String cedula = cliente.getNumeroIdentificacion();
+            String nombre = cliente.getNombre();
+
+            // *** SOLO CREA ingresos Y egresos SI EL CLIENTE ES NUEVO ***
+            // cedulasCreadas cubre las cédulas que el core repite dentro del lote (caen en la misma partición)
+            if (!cedulasCreadas.contains(cedula) && cedulasRegistradas.add(cedula)) {
+                // Crear ingresos
+                List<IngresosInterno> ingresos = mockIngresosInternos(cedula, nombre, random);
+                ingresosNuevos.addAll(ingresos);
+
+                // Sumar total de ingresos
+                BigDecimal totalIngresos = ingresos.stream()
+                        .map(IngresosInterno::getSaldoPromedioMes)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+                // Crear egresos (UNA SOLA VEZ)
+                List<EgresosInterno> egresos = mockEgresosInternos(cedula, nombre, random, totalIngresos);
+                egresosNuevos.addAll(egresos);
+
+                cedulasCreadas.add(cedula);
+            } else {
+                yaExistentes++;
+            }
+        }
+
+        int filas = ingresosNuevos.size() + egresosNuevos.size();
+        int insertadas = guardarRegistrosInternos(ingresosNuevos, egresosNuevos);
+        eventPublisher.publishEvent(new RegistrosBuroModificadosEvent(cedulasCreadas));
+        log.debug("Partición del core: {} clientes nuevos, {} ya registrados; {} registros insertados, {} omitidos por huella",
+            cedulasCreadas.size(), yaExistentes, insertadas, filas - insertadas);
+        return new ResultadoLote(insertadas, filas - insertadas);
+    }
+
+    /**
+     * Define el filtro de una corrida nueva con el core: completa (sin filtro) o desde la marca de agua.
+     */
+    private void elegirModoCore(PuntoControlSincronizacion puntoControl, boolean completa) {
+        LocalDateTime limiteReconciliacion = LocalDateTime.now().minus(sincronizacionProperties.getReconciliacionCompleta());
+        boolean reconciliar = completa
+            || puntoControl.getMarcaAgua() == null
+            || puntoControl.getFechaUltimaCompleta() == null
+            || puntoControl.getFechaUltimaCompleta().isBefore(limiteReconciliacion);
+        puntoControl.setCreadoDesde(reconciliar ? null : puntoControl.getMarcaAgua());
+    }
+
+    /**
+     * Devuelve el punto de control del proceso. Si la corrida anterior terminó (o es la primera),
+     * lo reinicia para una corrida nueva y aplica alIniciar; si quedó EN_CURSO, lo conserva para reanudarla.
+     */
+    private PuntoControlSincronizacion iniciarOReanudar(String proceso, Consumer<PuntoControlSincronizacion> alIniciar) {
+        puntoControlRepository.crearSiNoExiste(proceso);
+        PuntoControlSincronizacion puntoControl = puntoControlRepository.bloquear(proceso).orElseThrow();
+        if (puntoControl.getEstado() == EstadoSincronizacionEnum.EN_CURSO) {
+            log.info("Reanudando {} desde el punto de control: página {}, cédula {}",
+                proceso, puntoControl.getUltimaPagina(), puntoControl.getUltimaCedula());
+            return puntoControl;
+        }
+        LocalDateTime ahora = LocalDateTime.now();
+        puntoControl.setEstado(EstadoSincronizacionEnum.EN_CURSO);
+        puntoControl.setUltimaPagina(null);
+        puntoControl.setUltimaCedula(null);
+        puntoControl.setCreados(0L);
+        puntoControl.setExistentes(0L);
+        puntoControl.setFechaInicio(ahora);
+        puntoControl.setFechaActualizacion(ahora);
+        alIniciar.accept(puntoControl);
+        return puntoControlRepository.save(puntoControl);
+    }
+
+    private PuntoControlSincronizacion completar(String proceso) {
+        PuntoControlSincronizacion puntoControl = puntoControlRepository.bloquear(proceso).orElseThrow();
+        puntoControl.setEstado(EstadoSincronizacionEnum.COMPLETADA);
+        puntoControl.setFechaActualizacion(LocalDateTime.now());
+        return puntoControl;
+    }
+
+    /**
+     * Cédulas que ya tienen ingresos o egresos en el buró interno, consultadas en lotes de
+     * {@value #TAMANO_LOTE_EXISTENCIA} con una consulta por tabla y por lote.
+     */
+    private Set<String> buscarCedulasRegistradasInterno(List<String> cedulas) {
+        Set<String> registradas = new HashSet<>();
+        for (int desde = 0; desde < cedulas.size(); desde += TAMANO_LOTE_EXISTENCIA) {
+            String[] lote = cedulas.subList(desde, Math.min(desde + TAMANO_LOTE_EXISTENCIA, cedulas.size())).toArray(String[]::new);
+            registradas.addAll(ingresosInternoRepository.findCedulasExistentes(lote));
+            registradas.addAll(egresosInternoRepository.findCedulasExistentes(lote));
+        }
+        log.debug("{} de {} cédulas del core ya están en el buró interno", registradas.size(), cedulas.size());
+        return registradas;
+    }
+
+    /**
+     * Guarda los registros nuevos con un INSERT por tabla o, desde buro.carga-masiva.umbral-filas filas, con COPY.
+     * Devuelve los registros insertados, sin los omitidos por huella repetida.
+     */
+    private int guardarRegistrosInternos(List<IngresosInterno> ingresos, List<EgresosInterno> egresos) {
+        int filas = ingresos.size() + egresos.size();
+        if (filas >= cargaMasivaProperties.getUmbralFilas()) {
+            int insertadas = cargaMasivaRepository.copiarIngresosInternos(ingresos)
+                + cargaMasivaRepository.copiarEgresosInternos(egresos);
+            log.debug("{} de {} registros cargados con COPY en el buró interno", insertadas, filas);
+            return insertadas;
+        }
+        return cargaMasivaRepository.insertarIngresosInternos(ingresos)
+            + cargaMasivaRepository.insertarEgresosInternos(egresos);
+    }
+
+    private List<IngresosInterno> mockIngresosInternos(String cedula, String nombre, RandomGenerator random) {
         List<IngresosInterno> ingresos = new ArrayList<>();
         IngresosInterno ingreso = new IngresosInterno();
         ingreso.setCedulaCliente(cedula);
@@ -217,7 +502,7 @@ public class BuroCreditoService {
         return ingresos;
     }
 
-    private List<EgresosInterno> mockEgresosInternos(String cedula, String nombre, Random random, BigDecimal totalIngresos) {
+    private List<EgresosInterno> mockEgresosInternos(String cedula, String nombre, RandomGenerator random, BigDecimal totalIngresos) {
         List<EgresosInterno> egresos = new ArrayList<>();
         BigDecimal sumaCuotas = BigDecimal.ZERO;
 
@@ -302,8 +587,16 @@ public class BuroCreditoService {
     @Transactional(readOnly = true)
     public int contarPersonasEnCore() {
         try {
-            List<ClienteDto> personas = clienteBuroClient.listarPorTipoEntidad("PERSONA");
-            int total = personas.size();
+            int total = 0;
+            String ultimaCedula = null;
+            for (int pagina = 0; ; pagina++) {
+                LectorPersonasCore.Pagina leida = lectorPersonasCore.leerPagina(pagina, null, ultimaCedula);
+                total += leida.personas().size();
+                if (leida.ultima()) {
+                    break;
+                }
+                ultimaCedula = leida.ultimaCedula(ultimaCedula);
+            }
             log.info("Total de clientes PERSONA en el core: {}", total);
             return total;
         } catch (Exception ex) {
@@ -312,383 +605,126 @@ public class BuroCreditoService {
         }
     }
 
-    @Transactional(readOnly = true)
     public int contarClientesEnBuroInterno() {
+        return contarClientesEnBuroInterno(consultaBuroProperties.getConteoClientes().getModo());
+    }
+
+    /**
+     * Cédulas distintas con ingresos en el buró interno. EXACTO cuenta en la base (reutilizando el último conteo
+     * durante buro.consulta.conteo-clientes.vigencia); ESTIMADO lee las estadísticas de las particiones, sin
+     * recorrer filas, y cuenta en la base si alguna partición aún no tiene estadísticas.
+     */
+    public int contarClientesEnBuroInterno(ModoConteoEnum modo) {
         try {
-            log.info("Contando clientes en el buro interno...");
-            long totalClientes = ingresosInternoRepository.findAll()
-                .stream()
-                .map(i -> i.getCedulaCliente())
-                .distinct()
-                .count();
-            log.info("Total de clientes en el buro interno: {}", totalClientes);
-            return (int) totalClientes; // Convertir a entero, si es necesario.
+            if (modo == ModoConteoEnum.ESTIMADO) {
+                Long estimado = ingresosInternoRepository.estimarCedulasDistintas();
+                if (estimado != null) {
+                    log.debug("Clientes en el buro interno (estimado): {}", estimado);
+                    return Math.toIntExact(estimado);
+                }
+                log.debug("Particiones del buro interno sin estadísticas; se cuenta en la base");
+            }
+
+            ConteoClientes vigente = conteoClientes;
+            long ahora = System.nanoTime();
+            if (vigente != null && ahora - vigente.instante() < consultaBuroProperties.getConteoClientes().getVigencia().toNanos()) {
+                return vigente.total();
+            }
+            int totalClientes = Math.toIntExact(ingresosInternoRepository.countCedulasDistintas());
+            conteoClientes = new ConteoClientes(totalClientes, ahora);
+            log.debug("Clientes en el buro interno: {}", totalClientes);
+            return totalClientes;
         } catch (Exception ex) {
             log.error("Error al contar clientes en el buro interno: {}", ex.getMessage(), ex);
             throw ex;
         }
     }
 
+    // Último conteo exacto y el System.nanoTime() en que se hizo
+    private record ConteoClientes(int total, long instante) {
+    }
+
     // METODOS PARA EL BURO EXTERNO
-    @Transactional
-    public String sincronizarClientesDesdeInternoAExterno() {
+
+    /**
+     * Copia el buró interno al externo por lotes de cédulas en orden; cada lote se confirma con la
+     * última cédula procesada y una corrida interrumpida continúa desde ella. El progreso cuenta
+     * cédulas sobre las pendientes al iniciar (o reanudar) la corrida.
+     */
+    public String sincronizarClientesDesdeInternoAExterno(ProgresoTrabajo progreso) {
         log.info("Iniciando sincronización del buró interno al externo...");
-        
-        // // Solo si hoy es el último día del mes se ejecuta la sincronización
-        // if (!esUltimoDiaDelMes()) {
-        //     log.info("Hoy no es el último día del mes. No se realizará la carga de datos del buró externo.");
-        //     return "Sincronización no realizada. Solo se realiza el último día del mes.";
-        // }
-
-        int creados = 0;
-        int yaExistentes = 0;
 
-        List<IngresosInterno> todosIngresos = ingresosInternoRepository.findAll();
-        List<EgresosInterno> todosEgresos = egresosInternoRepository.findAll();
-
-        Set<String> cedulasSincronizadas = new HashSet<>();
-
-        // Procesa todos los clientes internos
-        for (IngresosInterno ingreso : todosIngresos) {
-            String cedula = ingreso.getCedulaCliente();
-            String nombre = ingreso.getNombres();
-
-            boolean existeIngresoExterno = !ingresosExternoRepository.findAllByCedulaCliente(cedula).isEmpty();
-            boolean existeEgresoExterno = !egresosExternoRepository.findAllByCedulaCliente(cedula).isEmpty();
-
-            // Solo crea si no existe
-            if (!existeIngresoExterno) {
-                IngresosExterno ingresoExt = new IngresosExterno();
-                ingresoExt.setCedulaCliente(cedula);
-                ingresoExt.setNombres(nombre);
-                ingresoExt.setInstitucionBancaria(ingreso.getInstitucionBancaria());
-                ingresoExt.setProducto(ingreso.getProducto());
-                ingresoExt.setSaldoPromedioMes(ingreso.getSaldoPromedioMes());
-                ingresoExt.setNumeroCuenta(ingreso.getNumeroCuenta());
-                ingresoExt.setFechaActualizacion(ingreso.getFechaActualizacion());
-                ingresoExt.setFechaRegistro(ingreso.getFechaRegistro());
-                ingresoExt.setVersion(1L);
-                ingresosExternoRepository.save(ingresoExt);
-                creados++;
-            }
-            cedulasSincronizadas.add(cedula);
+        PuntoControlSincronizacion inicio = transactionTemplate.execute(estado -> iniciarOReanudar(PROCESO_INTERNO_EXTERNO, nuevo -> { }));
+        progreso.definirTotal(ingresosInternoRepository.countCedulasInternasDespuesDe(
+            inicio.getUltimaCedula() == null ? "" : inicio.getUltimaCedula()));
+        boolean terminado = false;
+        while (!terminado) {
+            terminado = Boolean.TRUE.equals(transactionTemplate.execute(estado -> procesarLoteInternoAExterno(progreso)));
         }
+        PuntoControlSincronizacion puntoControl = transactionTemplate.execute(estado -> completar(PROCESO_INTERNO_EXTERNO));
+        progreso.registrarResultado(puntoControl.getCreados(), puntoControl.getExistentes());
 
-        for (EgresosInterno egreso : todosEgresos) {
-        String cedula = egreso.getCedulaCliente();
-        String nombre = egreso.getNombres();
-
-        // Busca si ya existe exactamente este egreso externo para evitar duplicados exactos
-        boolean existeEseEgreso = egresosExternoRepository
-            .findAllByCedulaCliente(cedula)
-            .stream()
-            .anyMatch(e -> 
-                Objects.equals(e.getProducto(), egreso.getProducto().name()) &&
-                Objects.equals(e.getSaldoPendiente(), egreso.getSaldoPendiente()) &&
-                Objects.equals(e.getMesesPendientes(), egreso.getMesesPendientes()) &&
-                Objects.equals(e.getCuotaPago(), egreso.getCuotaPago())
-            );
-
-        if (!existeEseEgreso) {
-            EgresosExterno egresoExt = new EgresosExterno();
-            egresoExt.setCedulaCliente(cedula);
-            egresoExt.setNombres(nombre);
-            egresoExt.setInstitucionBancaria(egreso.getInstitucionBancaria());
-            egresoExt.setProducto(
-                ProductoExternoEnum.valueOf(egreso.getProducto().name())
-            );
-            egresoExt.setSaldoPendiente(egreso.getSaldoPendiente());
-            egresoExt.setMesesPendientes(egreso.getMesesPendientes());
-            egresoExt.setCuotaPago(egreso.getCuotaPago());
-            egresoExt.setMora(egreso.getMora());
-            egresoExt.setMoraUltimosTresMeses(egreso.getMoraUltimosTresMeses());
-            egresoExt.setFechaActualizacion(egreso.getFechaActualizacion());
-            egresoExt.setFechaRegistro(egreso.getFechaRegistro());
-            egresoExt.setVersion(1L);
-            egresosExternoRepository.save(egresoExt);
-        }
-        cedulasSincronizadas.add(cedula);
-    }
         String mensaje = String.format(
             "Sincronización buró externo completada. Se crearon %d registros nuevos. %d ya existían y fueron ignorados.",
-            creados,
-            yaExistentes
+            puntoControl.getCreados(),
+            puntoControl.getExistentes()
         );
         log.info(mensaje);
         return mensaje;
     }
 
-    @Transactional
-    public int generarClientesExternosMock(int cantidad) {
-        log.info("Generando {} clientes externos inventados...", cantidad);
-        int creados = 0;
-        Random random = new Random();
-
-        // Arrays de nombres y apellidos realistas
-        String[] nombres = {"Juan", "Elena", "Sofía", "Carlos", "María", "Sam", "José", "Ana", "Lucía", "Pedro", "Daniela", "Andrea", "David", "Cristina", "Mónica"};
-        String[] apellidos = {"Ramírez", "Smith", "Ponce", "García", "Vera", "Torres", "Morales", "Mendoza", "Gómez", "López", "Martínez", "Díaz", "Castillo", "Jiménez", "Rojas"};
-
-        // Cedulas ya existentes
-        Set<String> cedulasOcupadas = new HashSet<>();
-        cedulasOcupadas.addAll(ingresosInternoRepository.findAll().stream().map(IngresosInterno::getCedulaCliente).toList());
-        cedulasOcupadas.addAll(ingresosExternoRepository.findAll().stream().map(IngresosExterno::getCedulaCliente).toList());
-
-        String[] bancosFicticios = {
-            "BANCO FICTICIO 1",
-            "BANCO FICTICIO 2",
-            "BANCO FICTICIO 3",
-            "BANCO FICTICIO 4",
-            "BANCO FICTICIO 5"
-        };
-
-        while (creados < cantidad) {
-            String cedulaRandom = String.valueOf(1000000000L + Math.abs(random.nextLong() % 8999999999L)); // 10 dígitos
-            if (cedulasOcupadas.contains(cedulaRandom)) continue;
-
-            // Genera un nombre realista
-            String nombre = nombres[random.nextInt(nombres.length)] + " " + apellidos[random.nextInt(apellidos.length)];
-
-            // Cada cliente puede tener cuentas/egresos en 2 o 3 bancos ficticios diferentes
-            List<String> bancosCliente = new ArrayList<>(Arrays.asList(bancosFicticios));
-            Collections.shuffle(bancosCliente, random);
-            int bancosMax = 2 + random.nextInt(2); // 2 o 3 bancos
-
-            for (int b = 0; b < bancosMax; b++) {
-                String banco = bancosCliente.get(b);
-
-                // --- INGRESOS (solo una cuenta por banco) ---
-                IngresosExterno ingreso = new IngresosExterno();
-                ingreso.setCedulaCliente(cedulaRandom);
-                ingreso.setNombres(nombre);
-                ingreso.setInstitucionBancaria(banco);
-                ingreso.setProducto("CUENTA DE AHORRO");
-                ingreso.setSaldoPromedioMes(BigDecimal.valueOf(200 + random.nextInt(2800)));
-                ingreso.setNumeroCuenta("200" + (random.nextInt(9000000) + 1000000));
-                ingreso.setFechaActualizacion(java.time.LocalDate.now());
-                ingreso.setFechaRegistro(java.time.LocalDate.now().minusDays(random.nextInt(14)));
-                ingreso.setVersion(1L);
-                ingresosExternoRepository.save(ingreso);
-
-                BigDecimal totalIngresos = ingreso.getSaldoPromedioMes();
-
-                // --- EGRESOS ---
-                List<EgresosExterno> egresos = new ArrayList<>();
-                int tipoProducto = random.nextInt(3);
-                BigDecimal sumaCuotas = BigDecimal.ZERO;
-
-                // Tarjeta de crédito (solo una por banco)
-                if (tipoProducto == 0 || tipoProducto == 2) {
-                    EgresosExterno tarjeta = new EgresosExterno();
-                    tarjeta.setCedulaCliente(cedulaRandom);
-                    tarjeta.setNombres(nombre);
-                    tarjeta.setInstitucionBancaria(banco);
-                    tarjeta.setProducto(ProductoExternoEnum.TARJETA_DE_CREDITO);
-
-                    BigDecimal saldoTarjeta = BigDecimal.valueOf(300 + random.nextInt(3700));
-                    int mesesTarjeta = random.nextBoolean() ? 0 : (1 + random.nextInt(36));
-                    tarjeta.setSaldoPendiente(mesesTarjeta > 0 ? saldoTarjeta : BigDecimal.ZERO);
-                    tarjeta.setMesesPendientes(mesesTarjeta);
-
-                    BigDecimal cuotaTarjeta = BigDecimal.ZERO;
-                    if (mesesTarjeta > 0 && saldoTarjeta.compareTo(BigDecimal.ZERO) > 0) {
-                        BigDecimal cuotaMin = saldoTarjeta.multiply(new BigDecimal("0.03"));
-                        BigDecimal cuotaMax = saldoTarjeta.multiply(new BigDecimal("0.10"));
-                        cuotaTarjeta = cuotaMin.add(
-                            new BigDecimal(Math.random()).multiply(cuotaMax.subtract(cuotaMin))
-                        ).setScale(2, RoundingMode.HALF_UP);
-                    }
-
-                    if (sumaCuotas.add(cuotaTarjeta).compareTo(totalIngresos) <= 0) {
-                        tarjeta.setCuotaPago(cuotaTarjeta);
-                        sumaCuotas = sumaCuotas.add(cuotaTarjeta);
-                    } else {
-                        tarjeta.setCuotaPago(BigDecimal.ZERO);
-                    }
-
-                    tarjeta.setMora(mesesTarjeta == 0 ? MoraEnum.NO : MoraEnum.SI);
-                    tarjeta.setMoraUltimosTresMeses(random.nextBoolean() ? MoraTresMesesEnum.SI : MoraTresMesesEnum.NO);
-                    tarjeta.setFechaActualizacion(java.time.LocalDate.now());
-                    tarjeta.setFechaRegistro(java.time.LocalDate.now().minusDays(random.nextInt(14)));
-                    tarjeta.setVersion(1L);
-                    egresos.add(tarjeta);
-                }
-
-                // Préstamo (solo uno por banco)
-                if (tipoProducto == 1 || tipoProducto == 2) {
-                    EgresosExterno prestamo = new EgresosExterno();
-                    prestamo.setCedulaCliente(cedulaRandom);
-                    prestamo.setNombres(nombre);
-                    prestamo.setInstitucionBancaria(banco);
-                    prestamo.setProducto(ProductoExternoEnum.PRESTAMO);
-
-                    int mesesPrestamo = random.nextBoolean() ? 0 : (12 + random.nextInt(36));
-                    BigDecimal saldoPrestamo = mesesPrestamo > 0
-                            ? BigDecimal.valueOf(2000 + random.nextInt(6000))
-                            : BigDecimal.ZERO;
-
-                    prestamo.setMesesPendientes(mesesPrestamo);
-                    prestamo.setSaldoPendiente(saldoPrestamo);
-
-                    BigDecimal cuotaPrestamo = BigDecimal.ZERO;
-                    if (mesesPrestamo > 0 && saldoPrestamo.compareTo(BigDecimal.ZERO) > 0) {
-                        BigDecimal cuotaTeorica = saldoPrestamo.divide(BigDecimal.valueOf(mesesPrestamo), 2, RoundingMode.HALF_UP);
-                        BigDecimal cuotaMin = cuotaTeorica.multiply(new BigDecimal("0.7"));
-                        BigDecimal cuotaMax = cuotaTeorica;
-                        cuotaPrestamo = cuotaMin.add(
-                            new BigDecimal(Math.random()).multiply(cuotaMax.subtract(cuotaMin))
-                        ).setScale(2, RoundingMode.HALF_UP);
-                    }
-
-                    if (sumaCuotas.add(cuotaPrestamo).compareTo(totalIngresos) <= 0) {
-                        prestamo.setCuotaPago(cuotaPrestamo);
-                        sumaCuotas = sumaCuotas.add(cuotaPrestamo);
-                    } else {
-                        prestamo.setCuotaPago(BigDecimal.ZERO);
-                    }
-
-                    prestamo.setMora(mesesPrestamo == 0 ? MoraEnum.NO : MoraEnum.SI);
-                    prestamo.setMoraUltimosTresMeses(random.nextBoolean() ? MoraTresMesesEnum.SI : MoraTresMesesEnum.NO);
-                    prestamo.setFechaActualizacion(java.time.LocalDate.now());
-                    prestamo.setFechaRegistro(java.time.LocalDate.now().minusDays(random.nextInt(14)));
-                    prestamo.setVersion(1L);
-                    egresos.add(prestamo);
-                }
-                egresosExternoRepository.saveAll(egresos);
-            }
-
-            cedulasOcupadas.add(cedulaRandom);
-            creados++;
+    /**
+     * Toma las siguientes buro.sincronizacion.cedulas-por-lote cédulas por partición del buró interno y las
+     * reparte entre las particiones según la partición hash de la tabla en que están (V13), así cada hilo lee
+     * solo sus particiones; el punto de control avanza cuando todas se confirmaron. Devuelve true cuando no
+     * quedan cédulas.
+     */
+    private boolean procesarLoteInternoAExterno(ProgresoTrabajo progreso) {
+        PuntoControlSincronizacion puntoControl = puntoControlRepository.bloquear(PROCESO_INTERNO_EXTERNO).orElseThrow();
+        String desde = puntoControl.getUltimaCedula() == null ? "" : puntoControl.getUltimaCedula();
+        int tamanoLote = sincronizacionProperties.getCedulasPorLote() * ejecutorParticiones.getHilos();
+
+        List<CedulaParticion> cedulas = ingresosInternoRepository.findCedulasInternasDespuesDe(desde, tamanoLote);
+        if (cedulas.isEmpty()) {
+            return true;
         }
-        log.info("Clientes externos inventados creados: {}", creados);
-        return creados;
-    }
 
-    private String calcularCalificacionRiesgo(
-        List<? extends Object> ingresos,
-        List<? extends Object> egresos) {
-
-        BigDecimal totalIngresos = ingresos.stream()
-                .map(i -> {
-                    if (i instanceof IngresosInterno ii) return ii.getSaldoPromedioMes();
-                    if (i instanceof IngresosExterno ie) return ie.getSaldoPromedioMes();
-                    return BigDecimal.ZERO;
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal saldoPendiente = egresos.stream()
-                .map(e -> {
-                    if (e instanceof EgresosInterno ei) return ei.getSaldoPendiente();
-                    if (e instanceof EgresosExterno ee) return ee.getSaldoPendiente();
-                    return BigDecimal.ZERO;
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalCuotas = egresos.stream()
-                .map(e -> {
-                    if (e instanceof EgresosInterno ei) return ei.getCuotaPago();
-                    if (e instanceof EgresosExterno ee) return ee.getCuotaPago();
-                    return BigDecimal.ZERO;
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        int mesesPendientes = egresos.stream()
-                .map(e -> {
-                    if (e instanceof EgresosInterno ei) return Optional.ofNullable(ei.getMesesPendientes()).orElse(0);
-                    if (e instanceof EgresosExterno ee) return Optional.ofNullable(ee.getMesesPendientes()).orElse(0);
-                    return 0;
-                })
-                .max(Integer::compareTo)
-                .orElse(0);
-
-        boolean tieneMora = egresos.stream().anyMatch(e ->
-            (e instanceof EgresosInterno ei && ei.getMora() != null && ei.getMora().toString().equalsIgnoreCase("SI")) ||
-            (e instanceof EgresosExterno ee && ee.getMora() != null && ee.getMora().toString().equalsIgnoreCase("SI"))
-        );
-        boolean moraUltimosTresMeses = egresos.stream().anyMatch(e ->
-            (e instanceof EgresosInterno ei && ei.getMoraUltimosTresMeses() != null && ei.getMoraUltimosTresMeses().toString().equalsIgnoreCase("SI")) ||
-            (e instanceof EgresosExterno ee && ee.getMoraUltimosTresMeses() != null && ee.getMoraUltimosTresMeses().toString().equalsIgnoreCase("SI"))
-        );
-
-        // ----- REGLA ESPECIAL para clientes sin deudas, ni cuotas, ni mora -----
-        if (!tieneMora && saldoPendiente.compareTo(BigDecimal.ZERO) == 0 &&
-            totalCuotas.compareTo(BigDecimal.ZERO) == 0 && mesesPendientes == 0) {
+        ResultadoLote resultado = ejecutorParticiones.ejecutarPorParticion(
+            PROCESO_INTERNO_EXTERNO, cedulas, CedulaParticion::getParticion, this::copiarClientesAExterno);
+
+        String ultimaCedula = cedulas.get(cedulas.size() - 1).getCedulaCliente();
+        progreso.avanzar(cedulas.size());
+        puntoControl.setUltimaCedula(ultimaCedula);
+        puntoControl.setCreados(puntoControl.getCreados() + resultado.getCreados());
+        puntoControl.setExistentes(puntoControl.getExistentes() + resultado.getExistentes());
+        puntoControl.setFechaActualizacion(LocalDateTime.now());
+        log.debug("Lote interno → externo confirmado hasta la cédula {}: {} registros nuevos",
+            ultimaCedula, resultado.getCreados());
+        return cedulas.size() < tamanoLote;
+    }
 
-            if (totalIngresos.compareTo(new BigDecimal("2000")) > 0) return "A+";
-            if (totalIngresos.compareTo(new BigDecimal("1000")) >= 0) return "A-";
-            if (totalIngresos.compareTo(new BigDecimal("400")) >= 0) return "B";
-            if (totalIngresos.compareTo(BigDecimal.ZERO) > 0) return "C";
-            return "C-";
+    /**
+     * Copia al externo los ingresos y egresos de las cédulas de un trabajador que aún no están allí, con dos
+     * INSERT ... SELECT en la base por cada partición del interno que le tocó (ver {@link PropagacionExternoRepository}).
+     * Corre en la transacción del trabajador.
+     */
+    private ResultadoLote copiarClientesAExterno(List<CedulaParticion> cedulas) {
+        Map<Integer, List<String>> cedulasPorParticion = cedulas.stream().collect(Collectors.groupingBy(
+            CedulaParticion::getParticion, TreeMap::new, Collectors.mapping(CedulaParticion::getCedulaCliente, Collectors.toList())));
+
+        Set<String> cedulasModificadas = new HashSet<>();
+        ResultadoLote resultado = ResultadoLote.VACIO;
+        for (Map.Entry<Integer, List<String>> particion : cedulasPorParticion.entrySet()) {
+            ResultadoPropagacion ingresos = propagacionExternoRepository.propagarIngresos(particion.getKey(), particion.getValue());
+            ResultadoPropagacion egresos = propagacionExternoRepository.propagarEgresos(particion.getKey(), particion.getValue());
+            cedulasModificadas.addAll(ingresos.getCedulasModificadas());
+            cedulasModificadas.addAll(egresos.getCedulasModificadas());
+            resultado = resultado.sumar(new ResultadoLote(ingresos.getInsertadas() + egresos.getInsertadas(),
+                ingresos.getOmitidas() + egresos.getOmitidas()));
         }
-
-        if (!tieneMora && saldoPendiente.compareTo(BigDecimal.ZERO) == 0) {
-            if (totalIngresos.compareTo(new BigDecimal("2000")) > 0) return "A+";
-            if (totalIngresos.compareTo(new BigDecimal("1000")) >= 0) return "A-";
-            if (totalIngresos.compareTo(new BigDecimal("400")) >= 0) return "B";
-            if (totalIngresos.compareTo(BigDecimal.ZERO) > 0) return "C";
-            return "C-";
+        if (!cedulasModificadas.isEmpty()) {
+            eventPublisher.publishEvent(new RegistrosBuroModificadosEvent(cedulasModificadas));
         }
-        if (!tieneMora && saldoPendiente.compareTo(BigDecimal.ZERO) > 0 &&
-                saldoPendiente.compareTo(totalIngresos.multiply(new BigDecimal("0.25"))) < 0)
-            return "B+";
-        if (!tieneMora && saldoPendiente.compareTo(totalIngresos.multiply(new BigDecimal("0.25"))) >= 0 &&
-                saldoPendiente.compareTo(totalIngresos.multiply(new BigDecimal("0.5"))) < 0)
-            return "B-";
-        if (!tieneMora && saldoPendiente.compareTo(totalIngresos.multiply(new BigDecimal("0.5"))) >= 0 &&
-                saldoPendiente.compareTo(totalIngresos) < 0)
-            return "C+";
-        if (!tieneMora && saldoPendiente.compareTo(totalIngresos) >= 0)
-            return "C-";
-        if (tieneMora && mesesPendientes > 0 && totalCuotas.compareTo(totalIngresos) <= 0)
-            return "D+";
-        if (tieneMora && mesesPendientes > 0 && totalCuotas.compareTo(totalIngresos) > 0)
-            return "D-";
-        if (moraUltimosTresMeses && saldoPendiente.compareTo(totalIngresos) > 0)
-            return "E+";
-        if (moraUltimosTresMeses && saldoPendiente.compareTo(totalIngresos.multiply(new BigDecimal("2"))) > 0 && mesesPendientes > 24)
-            return "E-";
-
-        return "C-";
-    }
-
-    private BigDecimal calcularCapacidadPago(
-        List<? extends Object> ingresos,
-        List<? extends Object> egresos) {
-
-    BigDecimal totalIngresos = ingresos.stream()
-            .map(i -> {
-                if (i instanceof IngresosInterno ii) return ii.getSaldoPromedioMes();
-                if (i instanceof IngresosExterno ie) return ie.getSaldoPromedioMes();
-                return BigDecimal.ZERO;
-            })
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-    BigDecimal totalCuotas = egresos.stream()
-            .map(e -> {
-                if (e instanceof EgresosInterno ei) return ei.getCuotaPago();
-                if (e instanceof EgresosExterno ee) return ee.getCuotaPago();
-                return BigDecimal.ZERO;
-            })
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-    BigDecimal diferencia = totalIngresos.subtract(totalCuotas);
-    if (diferencia.compareTo(BigDecimal.ZERO) < 0) {
-        diferencia = BigDecimal.ZERO;
+        return resultado;
     }
-
-        return diferencia.multiply(new BigDecimal("0.3")).setScale(2, BigDecimal.ROUND_HALF_UP);
-    }
-
-    // // Lógica para verificar si es el último día de la semana (domingo)
-    // private boolean esUltimoDiaDeLaSemana() {
-    //     LocalDate today = LocalDate.now();
-    //     //return today.getDayOfWeek().toString().equals("SUNDAY");
-    //     return today.getDayOfWeek().toString().equals("WEDNESDAY");
-    // }
-
-    // // Lógica para verificar si hoy es el último día del mes
-    // private boolean esUltimoDiaDelMes() {
-    //     LocalDate today = LocalDate.now();
-    //     //return today.getDayOfMonth() == today.lengthOfMonth();
-    //     return today.getDayOfMonth() == 6;
-    // }
 }
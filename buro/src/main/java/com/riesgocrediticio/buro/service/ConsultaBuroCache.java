@@ -0,0 +1,109 @@
+package com.riesgocrediticio.buro.service;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.riesgocrediticio.buro.config.ConsultaBuroProperties;
+import com.riesgocrediticio.buro.dto.response.ConsultaBuroCreditoResponse;
+import com.riesgocrediticio.buro.event.ReglasCalificacionActualizadasEvent;
+import com.riesgocrediticio.buro.event.RegistrosBuroModificadosEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Caché de lectura de {@link ConsultaBuroCreditoResponse} por cédula.
+ * Las entradas se refrescan en segundo plano mientras se sigue sirviendo el valor anterior
+ * y se invalidan cuando una sincronización escribe registros para la cédula: en este nodo al confirmar,
+ * y en las demás réplicas con el aviso de {@link InvalidacionConsultasCluster}. Invalidar descarta también
+ * el refresco en curso de la cédula, que podría traer el valor anterior.
+ */
+@Slf4j
+@Component
+public class ConsultaBuroCache {
+
+    private static final String NOMBRE_CACHE = "consultaBuro";
+
+    private final ExecutorService refrescoExecutor;
+    private final LoadingCache<String, ConsultaBuroCreditoResponse> cache;
+
+    public ConsultaBuroCache(
+            BuroCreditoService buroCreditoService,
+            ConsultaBuroProperties consultaBuroProperties,
+            MeterRegistry meterRegistry
+    ) {
+        ConsultaBuroProperties.Cache config = consultaBuroProperties.getCache();
+        this.refrescoExecutor = Executors.newFixedThreadPool(
+                config.getHilosRefresco(), new CustomizableThreadFactory("consulta-buro-refresco-"));
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximoEntradas())
+                .expireAfterWrite(config.getExpiracion())
+                .refreshAfterWrite(config.getRefresco())
+                .executor(refrescoExecutor)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public ConsultaBuroCreditoResponse load(String cedula) {
+                        return buroCreditoService.consultarPorCedula(cedula);
+                    }
+
+                    // Carga en lote de las cédulas ausentes; las no encontradas quedan fuera del resultado
+                    @Override
+                    public Map<String, ConsultaBuroCreditoResponse> loadAll(Set<? extends String> cedulas) {
+                        return buroCreditoService.consultarPorCedulas(new ArrayList<>(cedulas));
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NOMBRE_CACHE);
+    }
+
+    public ConsultaBuroCreditoResponse consultar(String cedula) {
+        return cache.get(cedula);
+    }
+
+    /**
+     * Respuestas de las cédulas encontradas; las no registradas no aparecen en el mapa.
+     */
+    public Map<String, ConsultaBuroCreditoResponse> consultarLote(Collection<String> cedulas) {
+        return cache.getAll(cedulas);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegistrosBuroModificados(RegistrosBuroModificadosEvent event) {
+        invalidar(event.getCedulas());
+    }
+
+    public void invalidar(Collection<String> cedulas) {
+        cache.invalidateAll(cedulas);
+        log.debug("Caché de consultas invalidada para {} cédulas", cedulas.size());
+    }
+
+    public void invalidarTodas() {
+        cache.invalidateAll();
+        log.debug("Caché de consultas vaciada");
+    }
+
+    @EventListener
+    public void onReglasCalificacionActualizadas(ReglasCalificacionActualizadasEvent event) {
+        // Las respuestas en caché se calcularon con la tabla anterior
+        cache.invalidateAll();
+        log.info("Caché de consultas invalidada por cambio de tabla de calificación ({} → {})",
+            event.getVersionAnterior(), event.getVersionNueva());
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        refrescoExecutor.shutdownNow();
+    }
+}
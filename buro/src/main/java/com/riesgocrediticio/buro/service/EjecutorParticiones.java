@@ -0,0 +1,194 @@
+package com.riesgocrediticio.buro.service;
+
+import com.riesgocrediticio.buro.config.SincronizacionProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Reparte un lote de la sincronización entre buro.sincronizacion.hilos trabajadores según el hash de la cédula.
+ * Cada trabajador procesa su partición en su propia transacción y con su propio generador aleatorio,
+ * derivado con {@link SplittableRandom#split()} del generador de la corrida.
+ * <p>
+ * Las cédulas se agrupan en {@value #CUBETAS} cubetas fijas y cada partición toma las suyas con un
+ * pg_advisory_xact_lock por cubeta, en orden ascendente. Dos corridas que se solapen (otra instancia, o una
+ * reanudación) procesan la misma cubeta una después de la otra, y la segunda ve confirmados los registros
+ * de la primera en su verificación de existencia. Como las cubetas no dependen del número de hilos, la
+ * exclusión se mantiene aunque las instancias tengan configuraciones distintas.
+ * <p>
+ * Los trabajos que leen el buró interno pueden repartir por la partición hash de la base (V13) en lugar del
+ * hash de la cédula: cada partición de la tabla es una cubeta y un trabajador lee solo las suyas.
+ * <p>
+ * Con un solo hilo el lote se procesa en el hilo y la transacción de quien llama.
+ */
+@Slf4j
+@Component
+public class EjecutorParticiones {
+
+    static final int CUBETAS = 64;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int hilos;
+    private final ExecutorService particionesExecutor;
+
+    public EjecutorParticiones(
+            PlatformTransactionManager transactionManager,
+            JdbcTemplate jdbcTemplate,
+            SincronizacionProperties sincronizacionProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hilos = Math.max(1, Math.min(sincronizacionProperties.getHilos(), CUBETAS));
+        this.particionesExecutor = hilos > 1
+                ? Executors.newFixedThreadPool(hilos, new CustomizableThreadFactory("sincronizacion-particion-"))
+                : null;
+    }
+
+    public int getHilos() {
+        return hilos;
+    }
+
+    public <T> ResultadoLote ejecutar(String proceso, List<T> elementos, Function<T, String> cedula,
+                                      Function<List<T>, ResultadoLote> trabajo) {
+        return ejecutar(proceso, elementos, cedula, new SplittableRandom(), (particion, random) -> trabajo.apply(particion));
+    }
+
+    /**
+     * Procesa los elementos por particiones y devuelve la suma de los resultados. Si una partición falla se
+     * espera a las demás y se relanza el primer error; las particiones ya confirmadas quedan confirmadas.
+     */
+    public <T> ResultadoLote ejecutar(String proceso, List<T> elementos, Function<T, String> cedula,
+                                      SplittableRandom random,
+                                      BiFunction<List<T>, RandomGenerator, ResultadoLote> trabajo) {
+        return repartir(proceso, elementos, elemento -> cubeta(cedula.apply(elemento)), random, trabajo);
+    }
+
+    /**
+     * Igual que {@link #ejecutar}, pero cada elemento trae su cubeta: el número de partición de la tabla
+     * (menor que {@value #CUBETAS}). Todos los elementos de una partición van al mismo trabajador.
+     */
+    public <T> ResultadoLote ejecutarPorParticion(String proceso, List<T> elementos, ToIntFunction<T> particion,
+                                                  Function<List<T>, ResultadoLote> trabajo) {
+        return repartir(proceso, elementos, particion, new SplittableRandom(), (contenido, random) -> trabajo.apply(contenido));
+    }
+
+    private <T> ResultadoLote repartir(String proceso, List<T> elementos, ToIntFunction<T> cubeta,
+                                       SplittableRandom random,
+                                       BiFunction<List<T>, RandomGenerator, ResultadoLote> trabajo) {
+        if (elementos.isEmpty()) {
+            return ResultadoLote.VACIO;
+        }
+        List<List<T>> particiones = new ArrayList<>(hilos);
+        for (int i = 0; i < hilos; i++) {
+            particiones.add(new ArrayList<>());
+        }
+        for (T elemento : elementos) {
+            particiones.get(cubeta.applyAsInt(elemento) % hilos).add(elemento);
+        }
+
+        if (hilos == 1) {
+            return transactionTemplate.execute(estado -> {
+                bloquearCubetas(proceso, 0);
+                return trabajo.apply(particiones.get(0), random.split());
+            });
+        }
+
+        List<Future<ResultadoLote>> futuros = new ArrayList<>(hilos);
+        for (int i = 0; i < hilos; i++) {
+            int particion = i;
+            List<T> contenido = particiones.get(i);
+            // split() en este hilo: SplittableRandom no es seguro entre hilos
+            RandomGenerator generador = random.split();
+            if (contenido.isEmpty()) {
+                continue;
+            }
+            futuros.add(particionesExecutor.submit(() -> transactionTemplate.execute(estado -> {
+                bloquearCubetas(proceso, particion);
+                return trabajo.apply(contenido, generador);
+            })));
+        }
+
+        ResultadoLote total = ResultadoLote.VACIO;
+        RuntimeException primerError = null;
+        for (Future<ResultadoLote> futuro : futuros) {
+            try {
+                total = total.sumar(futuro.get());
+            } catch (ExecutionException ex) {
+                if (primerError == null) {
+                    primerError = ex.getCause() instanceof RuntimeException causa
+                            ? causa
+                            : new IllegalStateException("Falló una partición de " + proceso, ex.getCause());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Sincronización " + proceso + " interrumpida", ex);
+            }
+        }
+        if (primerError != null) {
+            throw primerError;
+        }
+        return total;
+    }
+
+    static int cubeta(String cedula) {
+        return Math.floorMod(cedula.hashCode(), CUBETAS);
+    }
+
+    private void bloquearCubetas(String proceso, int particion) {
+        int clase = proceso.hashCode();
+        for (int cubeta = particion; cubeta < CUBETAS; cubeta += hilos) {
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?, ?)", clase, cubeta);
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        if (particionesExecutor != null) {
+            particionesExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Registros creados y ya existentes de una partición o de un lote completo.
+     */
+    public static final class ResultadoLote {
+
+        public static final ResultadoLote VACIO = new ResultadoLote(0, 0);
+
+        private final long creados;
+        private final long existentes;
+
+        public ResultadoLote(long creados, long existentes) {
+            this.creados = creados;
+            this.existentes = existentes;
+        }
+
+        public long getCreados() {
+            return creados;
+        }
+
+        public long getExistentes() {
+            return existentes;
+        }
+
+        public ResultadoLote sumar(ResultadoLote otro) {
+            return new ResultadoLote(creados + otro.creados, existentes + otro.existentes);
+        }
+    }
+}
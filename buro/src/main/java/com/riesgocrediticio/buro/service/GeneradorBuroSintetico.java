@@ -0,0 +1,446 @@
+package com.riesgocrediticio.buro.service;
+
+import com.riesgocrediticio.buro.config.GeneradorSinteticoProperties;
+import com.riesgocrediticio.buro.config.GeneradorSinteticoProperties.BandaIngreso;
+import com.riesgocrediticio.buro.enums.MoraEnum;
+import com.riesgocrediticio.buro.enums.MoraTresMesesEnum;
+import com.riesgocrediticio.buro.enums.ProductoExternoEnum;
+import com.riesgocrediticio.buro.enums.ProductoInternoEnum;
+import com.riesgocrediticio.buro.event.RegistrosBuroModificadosEvent;
+import com.riesgocrediticio.buro.model.EgresosExterno;
+import com.riesgocrediticio.buro.model.EgresosInterno;
+import com.riesgocrediticio.buro.model.IngresosExterno;
+import com.riesgocrediticio.buro.model.IngresosInterno;
+import com.riesgocrediticio.buro.repository.CargaMasivaRepository;
+import com.riesgocrediticio.buro.repository.ConsultaBuroRepository;
+import com.riesgocrediticio.buro.repository.ParticionesExternoRepository;
+import com.riesgocrediticio.buro.service.EjecutorParticiones.ResultadoLote;
+import com.riesgocrediticio.buro.service.trabajo.ProgresoTrabajo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Genera clientes sintéticos con registros en el buró interno y en el externo para armar datos de volumen de
+ * producción (decenas de millones de filas) en pruebas de carga. Los clientes se reparten en lotes de
+ * buro.generador-sintetico.clientes-por-lote que se generan y cargan en paralelo, cada uno en su transacción
+ * y con COPY ({@link CargaMasivaRepository}); las distribuciones (bancos por cliente, productos, mora, bandas de
+ * ingreso) salen de {@link GeneradorSinteticoProperties}.
+ * <p>
+ * La corrida es reproducible: el cliente i recibe la cédula primeraCedula + i y cada lote usa un
+ * {@link SplittableRandom} derivado de la semilla en orden de lote, así que los registros no dependen del número
+ * de hilos. Los montos se calculan en centavos sobre long. Repetir la corrida el mismo día no duplica nada: la
+ * carga omite por huella los registros que ya existen. Los registros internos llegan al externo por la
+ * bandeja de cambios, como los de la sincronización con el core.
+ * <p>
+ * Cada lote publica {@link RegistrosBuroModificadosEvent} con sus cédulas: invalida la caché de consultas y, según
+ * buro.generador-sintetico.recalcular-puntajes, recalcula su foto de calificación antes de confirmar el lote o la
+ * borra para que se calcule en línea.
+ */
+@Slf4j
+@Service
+public class GeneradorBuroSintetico {
+
+    private static final String[] NOMBRES = {"Juan", "Elena", "Sofía", "Carlos", "María", "José", "Ana", "Lucía",
+            "Pedro", "Daniela", "Andrea", "David", "Cristina", "Mónica", "Luis", "Gabriela", "Jorge", "Valeria",
+            "Miguel", "Paola", "Fernando", "Carolina", "Diego", "Verónica"};
+    private static final String[] APELLIDOS = {"Ramírez", "Ponce", "García", "Vera", "Torres", "Morales", "Mendoza",
+            "Gómez", "López", "Martínez", "Díaz", "Castillo", "Jiménez", "Rojas", "Zambrano", "Cedeño", "Macías",
+            "Andrade", "Salazar", "Villacís", "Guerrero", "Herrera", "Espinoza", "Paredes"};
+
+    private static final String PRODUCTO_AHORRO = "CUENTA DE AHORRO";
+    private static final long CEDULA_MINIMA = 1_000_000_000L;
+    private static final long CEDULA_MAXIMA = 9_999_999_999L;
+    // cuota_pago es numeric(6,2)
+    private static final long CUOTA_MAXIMA = 999_999L;
+
+    private final CargaMasivaRepository cargaMasivaRepository;
+    private final ConsultaBuroRepository consultaBuroRepository;
+    private final ParticionesExternoRepository particionesExternoRepository;
+    private final GeneradorSinteticoProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public GeneradorBuroSintetico(
+            CargaMasivaRepository cargaMasivaRepository,
+            ConsultaBuroRepository consultaBuroRepository,
+            ParticionesExternoRepository particionesExternoRepository,
+            GeneradorSinteticoProperties properties,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.cargaMasivaRepository = cargaMasivaRepository;
+        this.consultaBuroRepository = consultaBuroRepository;
+        this.particionesExternoRepository = particionesExternoRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    public long getSemillaPorDefecto() {
+        return properties.getSemilla();
+    }
+
+    /**
+     * Verifica la cantidad pedida y la configuración antes de encolar el trabajo.
+     */
+    public void validar(int clientes) {
+        validarDistribuciones(clientes);
+        long primera = properties.getPrimeraCedula();
+        if (primera < CEDULA_MINIMA || primera + clientes - 1 > CEDULA_MAXIMA) {
+            throw new IllegalArgumentException("Las cédulas " + primera + " a " + (primera + clientes - 1) +
+                    " no tienen 10 dígitos; revise buro.generador-sintetico.primera-cedula");
+        }
+    }
+
+    /**
+     * Como {@link #validar(int)}, para {@link #generarExternos}: las cédulas no salen de primeraCedula.
+     */
+    public void validarExternos(int clientes) {
+        validarDistribuciones(clientes);
+        if (properties.getBancosPorClienteMinimo() < 1) {
+            // Sin registros internos, un cliente sin bancos externos no quedaría en ningún buró
+            throw new IllegalArgumentException("Los clientes solo externos necesitan al menos un banco; revise " +
+                    "buro.generador-sintetico.bancos-por-cliente-minimo");
+        }
+    }
+
+    private void validarDistribuciones(int clientes) {
+        if (clientes < 1) {
+            throw new IllegalArgumentException("La cantidad de clientes debe ser mayor que cero");
+        }
+        int bancos = properties.getBancosExternos().size();
+        if (properties.getBancosPorClienteMinimo() < 0 || properties.getBancosPorClienteMinimo() > properties.getBancosPorClienteMaximo()
+                || properties.getBancosPorClienteMaximo() > bancos) {
+            throw new IllegalArgumentException("Bancos por cliente fuera de rango: entre " + properties.getBancosPorClienteMinimo() +
+                    " y " + properties.getBancosPorClienteMaximo() + " de " + bancos + " bancos externos");
+        }
+        if (properties.getBandasIngreso().isEmpty() || properties.getBandasIngreso().stream()
+                .anyMatch(b -> b.getMinimo() < 0 || b.getMaximo() <= b.getMinimo() || b.getPeso() < 1)) {
+            throw new IllegalArgumentException("Bandas de ingreso no válidas: " + properties.getBandasIngreso());
+        }
+    }
+
+    /**
+     * Genera y carga los clientes y devuelve las filas insertadas y las omitidas por existir ya. Si un lote falla
+     * no se inician los pendientes y se relanza el error; los lotes ya confirmados quedan confirmados.
+     */
+    public ResultadoLote generar(int clientes, long semilla, ProgresoTrabajo progreso) {
+        validar(clientes);
+        long primera = properties.getPrimeraCedula();
+        return cargar(clientes, new SplittableRandom(semilla), semilla, properties.getProporcionInterno(),
+                i -> primera + i, progreso);
+    }
+
+    /**
+     * Genera clientes que solo tienen registros en el buró externo, con cédulas al azar que no están en ninguno de
+     * los dos burós. Las cédulas libres dependen de las ya registradas, así que la semilla reproduce la corrida
+     * solo sobre la misma base.
+     */
+    public ResultadoLote generarExternos(int clientes, long semilla, ProgresoTrabajo progreso) {
+        validarExternos(clientes);
+        SplittableRandom raiz = new SplittableRandom(semilla);
+        long[] cedulas = cedulasLibres(clientes, raiz.split());
+        return cargar(clientes, raiz, semilla, 0, i -> cedulas[(int) i], progreso);
+    }
+
+    /**
+     * Carga los clientes 0 .. clientes - 1 en lotes paralelos; cedulaDe da la cédula de cada índice.
+     */
+    private ResultadoLote cargar(int clientes, SplittableRandom raiz, long semilla, double proporcionInterno,
+                                 LongUnaryOperator cedulaDe, ProgresoTrabajo progreso) {
+        LocalDate hoy = LocalDate.now();
+        // Las fechas de registro caen en meses con partición propia y no en la partición por defecto
+        int creadas = particionesExternoRepository.crearParticiones(
+                hoy.minusDays(properties.getDiasRegistro()).withDayOfMonth(1), hoy.withDayOfMonth(1));
+        if (creadas > 0) {
+            log.info("Generador sintético: {} particiones del buró externo creadas", creadas);
+        }
+
+        int clientesPorLote = Math.max(1, properties.getClientesPorLote());
+        int hilos = Math.max(1, properties.getHilos());
+        int lotes = (int) ((clientes + (long) clientesPorLote - 1) / clientesPorLote);
+        log.info("Generando {} clientes sintéticos en {} lotes con {} hilos (semilla {})", clientes, lotes, hilos, semilla);
+        progreso.definirTotal(clientes);
+
+        ExecutorService generadorExecutor = Executors.newFixedThreadPool(hilos, new CustomizableThreadFactory("generador-sintetico-"));
+        List<Future<ResultadoLote>> futuros = new ArrayList<>(lotes);
+        try {
+            for (int lote = 0; lote < lotes; lote++) {
+                long desde = (long) lote * clientesPorLote;
+                int cantidad = (int) Math.min(clientesPorLote, clientes - desde);
+                // split() en este hilo y en orden de lote: cada lote recibe siempre el mismo generador
+                SplittableRandom random = raiz.split();
+                futuros.add(generadorExecutor.submit(() -> {
+                    ResultadoLote resultado = transactionTemplate.execute(
+                            estado -> cargarLote(desde, cantidad, proporcionInterno, cedulaDe, random, hoy));
+                    progreso.avanzar(cantidad);
+                    return resultado;
+                }));
+            }
+
+            ResultadoLote total = ResultadoLote.VACIO;
+            for (Future<ResultadoLote> futuro : futuros) {
+                total = total.sumar(futuro.get());
+            }
+            progreso.registrarResultado(total.getCreados(), total.getExistentes());
+            log.info("Clientes sintéticos generados: {}; registros nuevos {}, ya existentes {}",
+                    clientes, total.getCreados(), total.getExistentes());
+            return total;
+        } catch (ExecutionException ex) {
+            futuros.forEach(futuro -> futuro.cancel(false));
+            throw ex.getCause() instanceof RuntimeException causa
+                    ? causa
+                    : new IllegalStateException("Falló un lote del generador sintético", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Generador sintético interrumpido", ex);
+        } finally {
+            generadorExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Cédulas de 10 dígitos al azar, distintas entre sí y de las que ya tienen ingresos en algún buró.
+     */
+    private long[] cedulasLibres(int cantidad, SplittableRandom random) {
+        CedulasOcupadas ocupadas = new CedulasOcupadas();
+        // El recorrido lee por partes solo dentro de una transacción
+        transactionTemplate.executeWithoutResult(estado -> consultaBuroRepository.recorrerCedulasRegistradas(ocupadas::agregar));
+        log.debug("Cédulas ya registradas en los burós: {}", ocupadas.tamano());
+        long[] cedulas = new long[cantidad];
+        for (int i = 0; i < cantidad; ) {
+            long cedula = random.nextLong(CEDULA_MINIMA, CEDULA_MAXIMA + 1);
+            if (ocupadas.agregar(cedula)) {
+                cedulas[i++] = cedula;
+            }
+        }
+        return cedulas;
+    }
+
+    /**
+     * Genera los clientes {@code desde} .. {@code desde + cantidad - 1} y los carga en la transacción del lote.
+     */
+    private ResultadoLote cargarLote(long desde, int cantidad, double proporcionInterno, LongUnaryOperator cedulaDe,
+                                     SplittableRandom random, LocalDate hoy) {
+        Lote lote = new Lote(cantidad);
+        int[] bancos = new int[properties.getBancosExternos().size()];
+        int pesoBandas = properties.getBandasIngreso().stream().mapToInt(BandaIngreso::getPeso).sum();
+
+        for (int i = 0; i < cantidad; i++) {
+            String cedula = String.valueOf(cedulaDe.applyAsLong(desde + i));
+            String nombre = NOMBRES[random.nextInt(NOMBRES.length)] + " " + APELLIDOS[random.nextInt(APELLIDOS.length)] +
+                    " " + APELLIDOS[random.nextInt(APELLIDOS.length)];
+            long ingresoMensual = ingresoMensual(random, pesoBandas);
+            // Las cuotas de todos los bancos no superan el ingreso mensual del cliente
+            long capacidad = ingresoMensual;
+
+            if (random.nextDouble() < proporcionInterno) {
+                capacidad = agregarInterno(lote, cedula, nombre, ingresoMensual, capacidad, random, hoy);
+            }
+
+            // Elección sin repetir: Fisher-Yates parcial sobre los índices de los bancos
+            for (int b = 0; b < bancos.length; b++) {
+                bancos[b] = b;
+            }
+            int bancosCliente = properties.getBancosPorClienteMinimo() +
+                    random.nextInt(properties.getBancosPorClienteMaximo() - properties.getBancosPorClienteMinimo() + 1);
+            for (int b = 0; b < bancosCliente; b++) {
+                int elegido = b + random.nextInt(bancos.length - b);
+                int banco = bancos[elegido];
+                bancos[elegido] = bancos[b];
+                bancos[b] = banco;
+                capacidad = agregarExterno(lote, cedula, nombre, properties.getBancosExternos().get(banco),
+                        ingresoMensual, capacidad, random, hoy);
+            }
+            lote.cedulas.add(cedula);
+        }
+
+        long insertadas = cargaMasivaRepository.copiarIngresosInternos(lote.ingresosInternos)
+                + cargaMasivaRepository.copiarEgresosInternos(lote.egresosInternos)
+                + cargaMasivaRepository.copiarIngresosExternos(lote.ingresosExternos)
+                + cargaMasivaRepository.copiarEgresosExternos(lote.egresosExternos);
+        eventPublisher.publishEvent(new RegistrosBuroModificadosEvent(lote.cedulas, properties.isRecalcularPuntajes()));
+        return new ResultadoLote(insertadas, lote.filas() - insertadas);
+    }
+
+    private long agregarInterno(Lote lote, String cedula, String nombre, long ingresoMensual, long capacidad,
+                                SplittableRandom random, LocalDate hoy) {
+        Fechas fechas = fechas(random, hoy);
+        IngresosInterno ingreso = new IngresosInterno();
+        ingreso.setCedulaCliente(cedula);
+        ingreso.setNombres(nombre);
+        ingreso.setInstitucionBancaria(properties.getInstitucionInterna());
+        ingreso.setProducto(PRODUCTO_AHORRO);
+        ingreso.setSaldoPromedioMes(dolares(saldoCuenta(ingresoMensual, random)));
+        ingreso.setNumeroCuenta(numeroCuenta(random));
+        ingreso.setFechaActualizacion(fechas.actualizacion());
+        ingreso.setFechaRegistro(fechas.registro());
+        ingreso.setVersion(1L);
+        lote.ingresosInternos.add(ingreso);
+
+        for (Deuda deuda : deudas(ingresoMensual, capacidad, random, hoy)) {
+            EgresosInterno egreso = new EgresosInterno();
+            egreso.setCedulaCliente(cedula);
+            egreso.setNombres(nombre);
+            egreso.setInstitucionBancaria(properties.getInstitucionInterna());
+            egreso.setProducto(deuda.tarjeta() ? ProductoInternoEnum.TARJETA_DE_CREDITO : ProductoInternoEnum.PRESTAMO);
+            egreso.setSaldoPendiente(dolares(deuda.saldo()));
+            egreso.setMesesPendientes(deuda.meses());
+            egreso.setCuotaPago(dolares(deuda.cuota()));
+            egreso.setMora(deuda.mora() ? MoraEnum.SI : MoraEnum.NO);
+            egreso.setMoraUltimosTresMeses(deuda.moraTresMeses() ? MoraTresMesesEnum.SI : MoraTresMesesEnum.NO);
+            egreso.setFechaActualizacion(deuda.fechas().actualizacion());
+            egreso.setFechaRegistro(deuda.fechas().registro());
+            egreso.setVersion(1L);
+            lote.egresosInternos.add(egreso);
+            capacidad -= deuda.cuota();
+        }
+        return capacidad;
+    }
+
+    private long agregarExterno(Lote lote, String cedula, String nombre, String banco, long ingresoMensual, long capacidad,
+                                SplittableRandom random, LocalDate hoy) {
+        Fechas fechas = fechas(random, hoy);
+        IngresosExterno ingreso = new IngresosExterno();
+        ingreso.setCedulaCliente(cedula);
+        ingreso.setNombres(nombre);
+        ingreso.setInstitucionBancaria(banco);
+        ingreso.setProducto(PRODUCTO_AHORRO);
+        ingreso.setSaldoPromedioMes(dolares(saldoCuenta(ingresoMensual, random)));
+        ingreso.setNumeroCuenta(numeroCuenta(random));
+        ingreso.setFechaActualizacion(fechas.actualizacion());
+        ingreso.setFechaRegistro(fechas.registro());
+        ingreso.setVersion(1L);
+        lote.ingresosExternos.add(ingreso);
+
+        for (Deuda deuda : deudas(ingresoMensual, capacidad, random, hoy)) {
+            EgresosExterno egreso = new EgresosExterno();
+            egreso.setCedulaCliente(cedula);
+            egreso.setNombres(nombre);
+            egreso.setInstitucionBancaria(banco);
+            egreso.setProducto(deuda.tarjeta() ? ProductoExternoEnum.TARJETA_DE_CREDITO : ProductoExternoEnum.PRESTAMO);
+            egreso.setSaldoPendiente(dolares(deuda.saldo()));
+            egreso.setMesesPendientes(deuda.meses());
+            egreso.setCuotaPago(dolares(deuda.cuota()));
+            egreso.setMora(deuda.mora() ? MoraEnum.SI : MoraEnum.NO);
+            egreso.setMoraUltimosTresMeses(deuda.moraTresMeses() ? MoraTresMesesEnum.SI : MoraTresMesesEnum.NO);
+            egreso.setFechaActualizacion(deuda.fechas().actualizacion());
+            egreso.setFechaRegistro(deuda.fechas().registro());
+            egreso.setVersion(1L);
+            lote.egresosExternos.add(egreso);
+            capacidad -= deuda.cuota();
+        }
+        return capacidad;
+    }
+
+    /**
+     * Tarjeta y préstamo de un banco según las probabilidades configuradas. Una deuda vigente tiene saldo,
+     * plazo y cuota (limitada por la capacidad de pago que queda); una cancelada queda en cero.
+     */
+    private List<Deuda> deudas(long ingresoMensual, long capacidad, SplittableRandom random, LocalDate hoy) {
+        List<Deuda> deudas = new ArrayList<>(2);
+        if (random.nextDouble() < properties.getProbabilidadTarjeta()) {
+            // Cupo usado entre 20% y 150% del ingreso, a pagar en 1 a 36 meses con cuotas del 3% al 10% del saldo
+            boolean vigente = random.nextInt(10) < 7;
+            long saldo = vigente ? ingresoMensual * random.nextInt(20, 151) / 100 : 0;
+            long cuota = saldo * random.nextInt(3, 11) / 100;
+            Deuda tarjeta = deuda(true, saldo, vigente ? random.nextInt(1, 37) : 0, cuota, capacidad, random, hoy);
+            deudas.add(tarjeta);
+            capacidad -= tarjeta.cuota();
+        }
+        if (random.nextDouble() < properties.getProbabilidadPrestamo()) {
+            // Monto entre 1 y 12 ingresos a 12-72 meses; la cuota incluye hasta un 15% de interés
+            boolean vigente = random.nextInt(20) < 17;
+            int meses = vigente ? random.nextInt(12, 73) : 0;
+            long saldo = vigente ? ingresoMensual * random.nextInt(100, 1201) / 100 : 0;
+            long cuota = vigente ? saldo / meses * random.nextInt(100, 116) / 100 : 0;
+            deudas.add(deuda(false, saldo, meses, cuota, capacidad, random, hoy));
+        }
+        return deudas;
+    }
+
+    private Deuda deuda(boolean tarjeta, long saldo, int meses, long cuota, long capacidad, SplittableRandom random, LocalDate hoy) {
+        boolean vigente = meses > 0;
+        boolean mora = vigente && random.nextDouble() < properties.getTasaMora();
+        boolean moraTresMeses = mora || random.nextDouble() < properties.getTasaMoraTresMeses();
+        long cuotaPagada = vigente ? Math.max(0, Math.min(cuota, Math.min(capacidad, CUOTA_MAXIMA))) : 0;
+        return new Deuda(tarjeta, saldo, meses, cuotaPagada, mora, moraTresMeses, fechas(random, hoy));
+    }
+
+    private long ingresoMensual(SplittableRandom random, int pesoBandas) {
+        int elegido = random.nextInt(pesoBandas);
+        for (BandaIngreso banda : properties.getBandasIngreso()) {
+            elegido -= banda.getPeso();
+            if (elegido < 0) {
+                return random.nextLong(banda.getMinimo() * 100, banda.getMaximo() * 100);
+            }
+        }
+        throw new IllegalStateException("Bandas de ingreso sin peso");
+    }
+
+    // Saldo promedio de la cuenta: entre 30% y 100% del ingreso mensual
+    private static long saldoCuenta(long ingresoMensual, SplittableRandom random) {
+        return ingresoMensual * random.nextInt(30, 101) / 100;
+    }
+
+    private static String numeroCuenta(SplittableRandom random) {
+        return String.valueOf(random.nextLong(CEDULA_MINIMA, CEDULA_MAXIMA + 1));
+    }
+
+    // Registro dentro de la ventana configurada y actualización entre el registro y hoy
+    private Fechas fechas(SplittableRandom random, LocalDate hoy) {
+        int antiguedad = random.nextInt(properties.getDiasRegistro() + 1);
+        return new Fechas(hoy.minusDays(antiguedad), hoy.minusDays(random.nextInt(antiguedad + 1)));
+    }
+
+    private static BigDecimal dolares(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    private record Fechas(LocalDate registro, LocalDate actualizacion) {
+    }
+
+    // Montos en centavos
+    private record Deuda(boolean tarjeta, long saldo, int meses, long cuota, boolean mora, boolean moraTresMeses,
+                         Fechas fechas) {
+    }
+
+    /**
+     * Registros generados de un lote, listos para COPY.
+     */
+    private static final class Lote {
+
+        private final List<IngresosInterno> ingresosInternos = new ArrayList<>();
+        private final List<EgresosInterno> egresosInternos = new ArrayList<>();
+        private final List<IngresosExterno> ingresosExternos;
+        private final List<EgresosExterno> egresosExternos;
+        private final Set<String> cedulas;
+
+        Lote(int clientes) {
+            ingresosExternos = new ArrayList<>(clientes * 2);
+            egresosExternos = new ArrayList<>(clientes * 2);
+            cedulas = new HashSet<>(clientes * 2);
+        }
+
+        long filas() {
+            return ingresosInternos.size() + egresosInternos.size() + ingresosExternos.size() + egresosExternos.size();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.riesgocrediticio.buro.service;
+
+import com.riesgocrediticio.buro.config.ConsultaBuroProperties;
+import com.riesgocrediticio.buro.event.RegistrosBuroModificadosEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invalida la caché de consultas de todas las réplicas, no solo la del nodo que escribió. Cada
+ * {@link RegistrosBuroModificadosEvent} se avisa con NOTIFY en la misma transacción que escribió los registros,
+ * así PostgreSQL lo entrega a los demás nodos solo si se confirma y después de confirmarse. Cada nodo escucha
+ * el canal en una conexión propia (una del pool, tomada mientras vive la aplicación) y quita de su caché las
+ * cédulas que llegan.
+ * <p>
+ * Un aviso lleva las cédulas separadas por coma, repartidas en varios si no entran en el límite de NOTIFY.
+ * Desde buro.consulta.cache.maximo-entradas cédulas se avisa {@value #TODAS}, que vacía la caché entera. Si la
+ * conexión de escucha se corta, los avisos de mientras se pierden: al volver a escuchar el nodo vacía su caché.
+ */
+@Slf4j
+@Component
+public class InvalidacionConsultasCluster {
+
+    private static final String CANAL = "buro_consulta_invalidada";
+    private static final String TODAS = "*";
+    // La carga de NOTIFY tiene que ser menor a 8000 bytes; las cédulas son ASCII
+    private static final int MAXIMO_CARGA = 7_900;
+    private static final int ESPERA_AVISOS_MS = 10_000;
+    private static final long REINTENTO_MS = 5_000;
+
+    private final ConsultaBuroCache consultaBuroCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final long maximoCedulasPorAviso;
+    private final ExecutorService escuchaExecutor;
+
+    public InvalidacionConsultasCluster(
+            ConsultaBuroCache consultaBuroCache,
+            JdbcTemplate jdbcTemplate,
+            DataSource dataSource,
+            ConsultaBuroProperties consultaBuroProperties
+    ) {
+        this.consultaBuroCache = consultaBuroCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.maximoCedulasPorAviso = consultaBuroProperties.getCache().getMaximoEntradas();
+        this.escuchaExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("invalidacion-consultas-"));
+    }
+
+    // Antes del commit para que el NOTIFY vaya en la transacción que escribió los registros
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onRegistrosBuroModificados(RegistrosBuroModificadosEvent event) {
+        Collection<String> cedulas = event.getCedulas();
+        if (cedulas.isEmpty()) {
+            return;
+        }
+        if (cedulas.size() >= maximoCedulasPorAviso) {
+            avisar(TODAS);
+            return;
+        }
+        StringBuilder carga = new StringBuilder();
+        for (String cedula : cedulas) {
+            if (carga.length() + cedula.length() + 1 > MAXIMO_CARGA) {
+                avisar(carga.toString());
+                carga.setLength(0);
+            }
+            if (!carga.isEmpty()) {
+                carga.append(',');
+            }
+            carga.append(cedula);
+        }
+        avisar(carga.toString());
+    }
+
+    private void avisar(String carga) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", (RowCallbackHandler) rs -> { }, CANAL, carga);
+    }
+
+    // Arranca cuando la aplicación está lista, como los demás hilos de fondo
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        escuchaExecutor.execute(this::escuchar);
+        log.info("Invalidación de la caché de consultas entre réplicas activa (canal {})", CANAL);
+    }
+
+    private void escuchar() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try (Connection conexion = dataSource.getConnection()) {
+                conexion.setAutoCommit(true);
+                try (Statement sentencia = conexion.createStatement()) {
+                    sentencia.execute("LISTEN " + CANAL);
+                }
+                // Los avisos enviados mientras no se escuchaba (arranque o reconexión) no van a llegar
+                consultaBuroCache.invalidarTodas();
+                recibir(conexion);
+            } catch (SQLException ex) {
+                log.warn("Se perdió la escucha de invalidaciones de la caché de consultas; se reintenta en {} ms: {}",
+                        REINTENTO_MS, ex.getMessage());
+                try {
+                    TimeUnit.MILLISECONDS.sleep(REINTENTO_MS);
+                } catch (InterruptedException interrumpido) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void recibir(Connection conexion) throws SQLException {
+        PGConnection postgres = conexion.unwrap(PGConnection.class);
+        while (!Thread.currentThread().isInterrupted()) {
+            PGNotification[] avisos = postgres.getNotifications(ESPERA_AVISOS_MS);
+            if (avisos == null || avisos.length == 0) {
+                // Sin avisos no se lee del socket: se comprueba que la sesión siga viva
+                if (!conexion.isValid(5)) {
+                    throw new SQLException("La conexión de escucha dejó de responder");
+                }
+                continue;
+            }
+            for (PGNotification aviso : avisos) {
+                if (TODAS.equals(aviso.getParameter())) {
+                    consultaBuroCache.invalidarTodas();
+                } else {
+                    consultaBuroCache.invalidar(Arrays.asList(aviso.getParameter().split(",")));
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        escuchaExecutor.shutdownNow();
+    }
+}
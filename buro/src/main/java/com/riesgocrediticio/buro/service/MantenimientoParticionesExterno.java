@@ -0,0 +1,86 @@
+package com.riesgocrediticio.buro.service;
+
+import com.riesgocrediticio.buro.config.ParticionesExternoProperties;
+import com.riesgocrediticio.buro.event.RegistrosBuroModificadosEvent;
+import com.riesgocrediticio.buro.repository.ParticionesExternoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Mantiene las particiones mensuales del buró externo (V12): al arrancar y cada día según
+ * buro.particiones-externo.cron crea las del mes actual y los siguientes, y archiva los meses que quedan fuera de
+ * buro.particiones-externo.meses-retencion (24 por defecto, 0 no archiva). Lo pueden correr todas las réplicas:
+ * la base serializa las operaciones y las que ya están hechas no repiten nada.
+ * <p>
+ * Los meses archivados dejan de entrar en la consulta y en el puntaje, así que en la misma transacción se
+ * publica {@link RegistrosBuroModificadosEvent} con sus cédulas: se recalculan los puntajes y se invalida la
+ * caché de consultas.
+ */
+@Slf4j
+@Component
+public class MantenimientoParticionesExterno {
+
+    private final ParticionesExternoRepository particionesExternoRepository;
+    private final ParticionesExternoProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public MantenimientoParticionesExterno(
+            ParticionesExternoRepository particionesExternoRepository,
+            ParticionesExternoProperties properties,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.particionesExternoRepository = particionesExternoRepository;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void alIniciar() {
+        mantener();
+    }
+
+    @Scheduled(cron = "${buro.particiones-externo.cron:0 30 1 * * *}", zone = "${buro.programacion.zona:}")
+    public void mantener() {
+        try {
+            LocalDate mesActual = LocalDate.now().withDayOfMonth(1);
+            int creadas = particionesExternoRepository.crearParticiones(
+                    mesActual, mesActual.plusMonths(properties.getMesesAnticipados()));
+            if (creadas > 0) {
+                log.info("Particiones del buró externo: {} creadas hasta {}",
+                        creadas, mesActual.plusMonths(properties.getMesesAnticipados()));
+            }
+
+            if (properties.getMesesRetencion() > 0) {
+                LocalDate limite = mesActual.minusMonths(properties.getMesesRetencion() - 1L);
+                archivar(limite);
+            }
+        } catch (RuntimeException ex) {
+            // Se reintenta en la siguiente revisión; mientras, las filas sin partición caen en la de defecto
+            log.error("Error al mantener las particiones del buró externo: {}", ex.getMessage(), ex);
+        }
+    }
+
+    private void archivar(LocalDate limite) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> cedulas = particionesExternoRepository.buscarCedulasAArchivar(limite);
+            int archivadas = particionesExternoRepository.archivarParticiones(limite);
+            if (archivadas > 0) {
+                log.info("Particiones del buró externo: {} anteriores a {} movidas a buro_archivo ({} cédulas a recalcular)",
+                        archivadas, limite, cedulas.size());
+                eventPublisher.publishEvent(new RegistrosBuroModificadosEvent(cedulas));
+            }
+        });
+    }
+}
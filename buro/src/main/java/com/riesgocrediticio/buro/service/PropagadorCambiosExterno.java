@@ -0,0 +1,111 @@
+package com.riesgocrediticio.buro.service;
+
+import com.riesgocrediticio.buro.config.PropagacionExternoProperties;
+import com.riesgocrediticio.buro.event.RegistrosBuroModificadosEvent;
+import com.riesgocrediticio.buro.repository.PropagacionExternoRepository;
+import com.riesgocrediticio.buro.repository.PropagacionExternoRepository.ResultadoPropagacion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantiene el buró externo al día con el interno a partir de la bandeja buro_control.cambios_interno (V11),
+ * sin recorrer las tablas. En un hilo propio vacía la bandeja por lotes de buro.propagacion-externo.tamano-lote:
+ * cada lote copia sus registros al externo, borra sus cambios y recalcula los puntajes de las cédulas
+ * afectadas en una sola transacción. Cuando la bandeja queda vacía espera el intervalo y vuelve a revisar.
+ * <p>
+ * Si un lote falla se revierte completo y sus cambios se reintentan en la siguiente revisión; la copia es
+ * idempotente por la huella. Varias réplicas pueden propagar a la vez: cada lote toma sus cambios con
+ * SKIP LOCKED. Métricas: buro.propagacion.pendientes y buro.propagacion.aplicados.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "buro.propagacion-externo", name = "habilitada", havingValue = "true", matchIfMissing = true)
+public class PropagadorCambiosExterno {
+
+    private final PropagacionExternoRepository propagacionExternoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final PropagacionExternoProperties properties;
+    private final ScheduledExecutorService propagacionExecutor;
+    private final Counter aplicados;
+
+    public PropagadorCambiosExterno(
+            PropagacionExternoRepository propagacionExternoRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            PropagacionExternoProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.propagacionExternoRepository = propagacionExternoRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.propagacionExecutor = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("propagacion-externo-"));
+        this.aplicados = Counter.builder("buro.propagacion.aplicados")
+                .description("Cambios del buró interno aplicados al externo")
+                .register(meterRegistry);
+        Gauge.builder("buro.propagacion.pendientes", propagacionExternoRepository,
+                        PropagacionExternoRepository::contarCambiosPendientes)
+                .description("Cambios del buró interno pendientes de aplicar al externo")
+                .register(meterRegistry);
+    }
+
+    // Arranca cuando la aplicación está lista (Flyway ya creó la bandeja)
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        long intervaloMs = properties.getIntervalo().toMillis();
+        propagacionExecutor.scheduleWithFixedDelay(this::vaciarBandeja, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+        log.info("Propagación interno → externo activa: lotes de {} cada {}", properties.getTamanoLote(), properties.getIntervalo());
+    }
+
+    void vaciarBandeja() {
+        try {
+            long total = 0;
+            long insertados = 0;
+            ResultadoPropagacion lote;
+            do {
+                lote = transactionTemplate.execute(estado -> aplicarLote());
+                aplicados.increment(lote.getFilasOrigen());
+                total += lote.getFilasOrigen();
+                insertados += lote.getInsertadas();
+            } while (lote.getFilasOrigen() >= properties.getTamanoLote());
+            if (total > 0) {
+                log.info("Propagación interno → externo: {} cambios aplicados, {} registros nuevos en el externo",
+                        total, insertados);
+            }
+        } catch (RuntimeException ex) {
+            // Los cambios del lote fallido siguen en la bandeja; se reintentan en la próxima revisión
+            log.error("Error al propagar cambios al buró externo: {}", ex.getMessage(), ex);
+        }
+    }
+
+    private ResultadoPropagacion aplicarLote() {
+        ResultadoPropagacion resultado = propagacionExternoRepository.propagarCambios(properties.getTamanoLote());
+        if (!resultado.getCedulasModificadas().isEmpty()) {
+            eventPublisher.publishEvent(new RegistrosBuroModificadosEvent(new HashSet<>(resultado.getCedulasModificadas())));
+        }
+        return resultado;
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        propagacionExecutor.shutdownNow();
+    }
+}
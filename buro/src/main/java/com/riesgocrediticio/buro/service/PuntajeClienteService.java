@@ -0,0 +1,198 @@
+package com.riesgocrediticio.buro.service;
+
+import com.riesgocrediticio.buro.config.ConsultaBuroProperties;
+import com.riesgocrediticio.buro.dto.response.ResumenBuroCreditoResponse;
+import com.riesgocrediticio.buro.enums.OrigenBuroEnum;
+import com.riesgocrediticio.buro.event.RegistrosBuroModificadosEvent;
+import com.riesgocrediticio.buro.exception.ClienteNoEncontradoException;
+import com.riesgocrediticio.buro.model.EgresosExterno;
+import com.riesgocrediticio.buro.model.EgresosInterno;
+import com.riesgocrediticio.buro.model.IngresosExterno;
+import com.riesgocrediticio.buro.model.IngresosInterno;
+import com.riesgocrediticio.buro.model.PuntajeCliente;
+import com.riesgocrediticio.buro.repository.ConsultaBuroRepository;
+import com.riesgocrediticio.buro.repository.PuntajeClienteRepository;
+import com.riesgocrediticio.buro.repository.RegistrosBuroCliente;
+import com.riesgocrediticio.buro.service.calificacion.AgregadosRiesgo;
+import com.riesgocrediticio.buro.service.calificacion.CalificadorRiesgo;
+import com.riesgocrediticio.buro.service.calificacion.ResultadoCalificacion;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mantiene la foto de calificación por cédula (buro_consolidado.puntajes) y responde la consulta resumida.
+ */
+@Slf4j
+@Service
+public class PuntajeClienteService {
+
+    // Cédulas que se recalculan por cada lectura a la base
+    private static final int TAMANO_LOTE = 1000;
+
+    private final PuntajeClienteRepository puntajeClienteRepository;
+    private final ConsultaBuroRepository consultaBuroRepository;
+    private final ConsultaBuroProperties consultaBuroProperties;
+    private final CalificadorRiesgo calificadorRiesgo;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public PuntajeClienteService(
+            PuntajeClienteRepository puntajeClienteRepository,
+            ConsultaBuroRepository consultaBuroRepository,
+            ConsultaBuroProperties consultaBuroProperties,
+            CalificadorRiesgo calificadorRiesgo
+    ) {
+        this.puntajeClienteRepository = puntajeClienteRepository;
+        this.consultaBuroRepository = consultaBuroRepository;
+        this.consultaBuroProperties = consultaBuroProperties;
+        this.calificadorRiesgo = calificadorRiesgo;
+    }
+
+    /**
+     * Recalcula los puntajes dentro de la misma transacción de la sincronización,
+     * para que los registros y su calificación se confirmen juntos.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onRegistrosBuroModificados(RegistrosBuroModificadosEvent event) {
+        if (event.getCedulas().isEmpty()) {
+            return;
+        }
+        if (!event.isRecalcularPuntajes()) {
+            // Sin foto la cédula se califica en línea; así no queda un puntaje anterior a los registros nuevos
+            puntajeClienteRepository.eliminarPorCedulas(event.getCedulas());
+            return;
+        }
+        // Los registros pendientes en el contexto de persistencia deben estar en la base antes de releerlos
+        entityManager.flush();
+        recalcularPuntajes(event.getCedulas());
+    }
+
+    @Transactional
+    public void recalcularPuntajes(Set<String> cedulas) {
+        List<String> pendientes = new ArrayList<>(cedulas);
+        List<String> instituciones = consultaBuroProperties.getInstitucionesNormalizadas();
+        LocalDateTime fechaCalculo = LocalDateTime.now();
+        int actualizados = 0;
+        int eliminados = 0;
+
+        for (int desde = 0; desde < pendientes.size(); desde += TAMANO_LOTE) {
+            List<String> lote = pendientes.subList(desde, Math.min(desde + TAMANO_LOTE, pendientes.size()));
+            Map<String, RegistrosBuroCliente> registrosPorCedula = consultaBuroRepository.buscarPorCedulas(lote, instituciones);
+
+            List<PuntajeCliente> puntajes = new ArrayList<>(registrosPorCedula.size());
+            List<String> sinInformacion = new ArrayList<>();
+            for (String cedula : lote) {
+                RegistrosBuroCliente registros = registrosPorCedula.get(cedula);
+                PuntajeCliente puntaje = registros != null ? calcularPuntaje(registros, fechaCalculo) : null;
+                if (puntaje != null) {
+                    puntajes.add(puntaje);
+                } else {
+                    sinInformacion.add(cedula);
+                }
+            }
+
+            puntajeClienteRepository.guardarEnLote(puntajes);
+            puntajeClienteRepository.eliminarPorCedulas(sinInformacion);
+            actualizados += puntajes.size();
+            eliminados += sinInformacion.size();
+        }
+
+        log.info("Puntajes recalculados: {} actualizados, {} eliminados", actualizados, eliminados);
+    }
+
+    /**
+     * Consulta resumida: calificación y agregados sin las listas de detalle.
+     * Se resuelve con la foto por clave primaria; si la cédula no tiene foto o se calculó con otra versión
+     * de la tabla de calificación, se calcula en línea.
+     */
+    @Transactional(readOnly = true)
+    public ResumenBuroCreditoResponse consultarResumenPorCedula(String cedula) {
+        PuntajeCliente puntaje = puntajeClienteRepository.findById(cedula).orElse(null);
+
+        if (puntaje != null && !calificadorRiesgo.versionVigente().equals(puntaje.getVersionReglas())) {
+            log.debug("Puntaje de cédula={} calculado con la versión {} de la tabla, se recalcula en línea",
+                cedula, puntaje.getVersionReglas());
+            puntaje = null;
+        }
+
+        if (puntaje == null) {
+            log.debug("Cédula={} sin puntaje vigente, se calcula en línea", cedula);
+            RegistrosBuroCliente registros = consultaBuroRepository.buscarPorCedula(
+                cedula, consultaBuroProperties.getInstitucionesNormalizadas());
+            puntaje = calcularPuntaje(registros, LocalDateTime.now());
+        }
+
+        if (puntaje == null) {
+            log.warn("No se encontró información en el buro interno ni externo ({}) para cedula={}",
+                consultaBuroProperties.getInstituciones(), cedula);
+            throw new ClienteNoEncontradoException("El cliente no está registrado en el buro interno ni externo.");
+        }
+
+        return ResumenBuroCreditoResponse.builder()
+            .nombreCliente(puntaje.getNombres())
+            .cedulaCliente(puntaje.getCedulaCliente())
+            .origen(puntaje.getOrigen().getValor())
+            .calificacionRiesgo(puntaje.getCalificacionRiesgo())
+            .capacidadPago(puntaje.getCapacidadPago())
+            .versionReglas(puntaje.getVersionReglas())
+            .totalIngresos(puntaje.getTotalIngresos())
+            .totalCuotas(puntaje.getTotalCuotas())
+            .saldoPendiente(puntaje.getSaldoPendiente())
+            .maxMesesPendientes(puntaje.getMaxMesesPendientes())
+            .tieneMora(puntaje.getTieneMora())
+            .moraUltimosTresMeses(puntaje.getMoraUltimosTresMeses())
+            .fechaCalculo(puntaje.getFechaCalculo())
+            .build();
+    }
+
+    /**
+     * Misma prioridad que la consulta completa: buró interno y, si no hay, externo. Retorna null sin información.
+     */
+    private PuntajeCliente calcularPuntaje(RegistrosBuroCliente registros, LocalDateTime fechaCalculo) {
+        OrigenBuroEnum origen;
+        String nombre;
+        AgregadosRiesgo agregados;
+
+        if (registros.tieneInterno()) {
+            origen = OrigenBuroEnum.INTERNO;
+            nombre = registros.getIngresosInternos().stream().findFirst().map(IngresosInterno::getNombres)
+                .orElse(registros.getEgresosInternos().stream().findFirst().map(EgresosInterno::getNombres).orElse(null));
+            agregados = calificadorRiesgo.calcularAgregadosInterno(registros.getIngresosInternos(), registros.getEgresosInternos());
+        } else if (registros.tieneExterno()) {
+            origen = OrigenBuroEnum.EXTERNO;
+            nombre = registros.getIngresosExternos().stream().findFirst().map(IngresosExterno::getNombres)
+                .orElse(registros.getEgresosExternos().stream().findFirst().map(EgresosExterno::getNombres).orElse(null));
+            agregados = calificadorRiesgo.calcularAgregadosExterno(registros.getIngresosExternos(), registros.getEgresosExternos());
+        } else {
+            return null;
+        }
+
+        PuntajeCliente puntaje = new PuntajeCliente(registros.getCedula());
+        puntaje.setNombres(nombre);
+        puntaje.setOrigen(origen);
+        ResultadoCalificacion calificacion = calificadorRiesgo.calificar(agregados);
+        puntaje.setCalificacionRiesgo(calificacion.getCalificacionRiesgo());
+        puntaje.setCapacidadPago(calificacion.getCapacidadPago());
+        puntaje.setVersionReglas(calificacion.getVersionReglas());
+        puntaje.setTotalIngresos(agregados.getTotalIngresos());
+        puntaje.setTotalCuotas(agregados.getTotalCuotas());
+        puntaje.setSaldoPendiente(agregados.getSaldoPendiente());
+        puntaje.setMaxMesesPendientes(agregados.getMaxMesesPendientes());
+        puntaje.setTieneMora(agregados.isTieneMora());
+        puntaje.setMoraUltimosTresMeses(agregados.isMoraUltimosTresMeses());
+        puntaje.setFechaCalculo(fechaCalculo);
+        return puntaje;
+    }
+}
@@ -0,0 +1,69 @@
+package com.riesgocrediticio.buro.service.calificacion;
+
+import java.math.BigDecimal;
+
+/**
+ * Totales de ingresos y egresos de un cliente sobre los que se calculan la calificación y la capacidad de pago.
+ * Los montos se guardan en centavos.
+ */
+public class AgregadosRiesgo {
+
+    private final long totalIngresosCentavos;
+    private final long totalCuotasCentavos;
+    private final long saldoPendienteCentavos;
+    private final int maxMesesPendientes;
+    private final boolean tieneMora;
+    private final boolean moraUltimosTresMeses;
+
+    public AgregadosRiesgo(
+            long totalIngresosCentavos,
+            long totalCuotasCentavos,
+            long saldoPendienteCentavos,
+            int maxMesesPendientes,
+            boolean tieneMora,
+            boolean moraUltimosTresMeses
+    ) {
+        this.totalIngresosCentavos = totalIngresosCentavos;
+        this.totalCuotasCentavos = totalCuotasCentavos;
+        this.saldoPendienteCentavos = saldoPendienteCentavos;
+        this.maxMesesPendientes = maxMesesPendientes;
+        this.tieneMora = tieneMora;
+        this.moraUltimosTresMeses = moraUltimosTresMeses;
+    }
+
+    public long getTotalIngresosCentavos() {
+        return totalIngresosCentavos;
+    }
+
+    public long getTotalCuotasCentavos() {
+        return totalCuotasCentavos;
+    }
+
+    public long getSaldoPendienteCentavos() {
+        return saldoPendienteCentavos;
+    }
+
+    public BigDecimal getTotalIngresos() {
+        return BigDecimal.valueOf(totalIngresosCentavos, 2);
+    }
+
+    public BigDecimal getTotalCuotas() {
+        return BigDecimal.valueOf(totalCuotasCentavos, 2);
+    }
+
+    public BigDecimal getSaldoPendiente() {
+        return BigDecimal.valueOf(saldoPendienteCentavos, 2);
+    }
+
+    public int getMaxMesesPendientes() {
+        return maxMesesPendientes;
+    }
+
+    public boolean isTieneMora() {
+        return tieneMora;
+    }
+
+    public boolean isMoraUltimosTresMeses() {
+        return moraUltimosTresMeses;
+    }
+}
@@ -0,0 +1,109 @@
+package com.riesgocrediticio.buro.service.calificacion;
+
+import com.riesgocrediticio.buro.enums.MoraEnum;
+import com.riesgocrediticio.buro.enums.MoraTresMesesEnum;
+import com.riesgocrediticio.buro.model.EgresosExterno;
+import com.riesgocrediticio.buro.model.EgresosInterno;
+import com.riesgocrediticio.buro.model.IngresosExterno;
+import com.riesgocrediticio.buro.model.IngresosInterno;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Reglas de calificación de riesgo y capacidad de pago sobre los registros de buró de un cliente.
+ * <p>
+ * Recorre cada lista una sola vez y acumula en centavos (long). Las columnas de montos son numeric(12,2)
+ * y numeric(6,2), por lo que la conversión a centavos es exacta. Los límites y ratios de cada calificación
+ * vienen de la tabla configurada (ver {@link ReglasCalificacion}).
+ * <p>
+ * Por cliente solo se asignan los objetos que se devuelven: {@link AgregadosRiesgo} (48 bytes, que C2 elimina
+ * cuando va directo a {@link #calificar}) y {@link ResultadoCalificacion} con su capacidad de pago (64 bytes).
+ * Son parte del resultado y no justifican objetos reutilizables; CalificacionBenchmark con -prof gc lo mide en
+ * gc.alloc.rate.norm.
+ */
+@Component
+public class CalificadorRiesgo {
+
+    private final ReglasCalificacionVigentes reglasVigentes;
+
+    public CalificadorRiesgo(ReglasCalificacionVigentes reglasVigentes) {
+        this.reglasVigentes = reglasVigentes;
+    }
+
+    public AgregadosRiesgo calcularAgregadosInterno(List<IngresosInterno> ingresos, List<EgresosInterno> egresos) {
+        long totalIngresos = 0;
+        for (int i = 0, n = ingresos.size(); i < n; i++) {
+            totalIngresos += aCentavos(ingresos.get(i).getSaldoPromedioMes());
+        }
+
+        long saldoPendiente = 0;
+        long totalCuotas = 0;
+        int mesesPendientes = 0;
+        boolean tieneMora = false;
+        boolean moraUltimosTresMeses = false;
+        for (int i = 0, n = egresos.size(); i < n; i++) {
+            EgresosInterno egreso = egresos.get(i);
+            saldoPendiente += aCentavos(egreso.getSaldoPendiente());
+            totalCuotas += aCentavos(egreso.getCuotaPago());
+            Integer meses = egreso.getMesesPendientes();
+            if (meses != null && meses > mesesPendientes) {
+                mesesPendientes = meses;
+            }
+            tieneMora |= egreso.getMora() == MoraEnum.SI;
+            moraUltimosTresMeses |= egreso.getMoraUltimosTresMeses() == MoraTresMesesEnum.SI;
+        }
+
+        return new AgregadosRiesgo(totalIngresos, totalCuotas, saldoPendiente, mesesPendientes, tieneMora, moraUltimosTresMeses);
+    }
+
+    public AgregadosRiesgo calcularAgregadosExterno(List<IngresosExterno> ingresos, List<EgresosExterno> egresos) {
+        long totalIngresos = 0;
+        for (int i = 0, n = ingresos.size(); i < n; i++) {
+            totalIngresos += aCentavos(ingresos.get(i).getSaldoPromedioMes());
+        }
+
+        long saldoPendiente = 0;
+        long totalCuotas = 0;
+        int mesesPendientes = 0;
+        boolean tieneMora = false;
+        boolean moraUltimosTresMeses = false;
+        for (int i = 0, n = egresos.size(); i < n; i++) {
+            EgresosExterno egreso = egresos.get(i);
+            saldoPendiente += aCentavos(egreso.getSaldoPendiente());
+            totalCuotas += aCentavos(egreso.getCuotaPago());
+            Integer meses = egreso.getMesesPendientes();
+            if (meses != null && meses > mesesPendientes) {
+                mesesPendientes = meses;
+            }
+            tieneMora |= egreso.getMora() == MoraEnum.SI;
+            moraUltimosTresMeses |= egreso.getMoraUltimosTresMeses() == MoraTresMesesEnum.SI;
+        }
+
+        return new AgregadosRiesgo(totalIngresos, totalCuotas, saldoPendiente, mesesPendientes, tieneMora, moraUltimosTresMeses);
+    }
+
+    /**
+     * Califica con la tabla vigente. La calificación, la capacidad de pago y la versión salen de la misma
+     * tabla aunque se recargue en medio de la consulta.
+     */
+    public ResultadoCalificacion calificar(AgregadosRiesgo agregados) {
+        ReglasCalificacion reglas = reglasVigentes.obtener();
+        return new ResultadoCalificacion(
+            reglas.calificar(agregados),
+            reglas.calcularCapacidadPago(agregados),
+            reglas.getVersion());
+    }
+
+    public String versionVigente() {
+        return reglasVigentes.obtener().getVersion();
+    }
+
+    // El BigDecimal intermedio de movePointRight no sale del método y C2 lo elimina por análisis de escape: no
+    // cuesta una asignación por registro. unscaledValue() no sirve para esto: el BigInteger que devuelve sí se
+    // asigna (244 B por cliente en lugar de 48 y menos de la mitad del rendimiento en CalificacionBenchmark).
+    private static long aCentavos(BigDecimal valor) {
+        return valor.movePointRight(2).longValueExact();
+    }
+}
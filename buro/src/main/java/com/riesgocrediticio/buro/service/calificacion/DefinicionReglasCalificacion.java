@@ -0,0 +1,65 @@
+package com.riesgocrediticio.buro.service.calificacion;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tabla de calificación tal como se escribe en el archivo de configuración (montos en dólares, ratios en decimales).
+ */
+@Data
+public class DefinicionReglasCalificacion {
+
+    private String version;
+    private Ingresos ingresos = new Ingresos();
+    private SaldoPendiente saldoPendiente = new SaldoPendiente();
+    private Mora mora = new Mora();
+    private List<MoraReciente> moraUltimosTresMeses = new ArrayList<>();
+    private String calificacionPorDefecto;
+    private BigDecimal porcentajeCapacidadPago;
+
+    // Clientes sin mora ni saldo pendiente: primera banda cuyo límite supera el total de ingresos
+    @Data
+    public static class Ingresos {
+        private List<BandaIngreso> bandas = new ArrayList<>();
+        private String calificacionRestante;
+    }
+
+    @Data
+    public static class BandaIngreso {
+        private BigDecimal desde;
+        private boolean incluyeLimite;
+        private String calificacion;
+    }
+
+    // Clientes sin mora con saldo: primera banda con saldo pendiente < ratio × ingresos
+    @Data
+    public static class SaldoPendiente {
+        private List<BandaSaldo> bandas = new ArrayList<>();
+        private String calificacionRestante;
+    }
+
+    @Data
+    public static class BandaSaldo {
+        private BigDecimal ratioMenorA;
+        private String calificacion;
+    }
+
+    // Clientes con mora y meses pendientes: cuotas frente a ratio × ingresos
+    @Data
+    public static class Mora {
+        private BigDecimal ratioCuotas;
+        private String calificacionDentro;
+        private String calificacionExcedida;
+    }
+
+    // Mora en los últimos tres meses: saldo pendiente > ratio × ingresos y, si se indica, meses pendientes > mesesMayorA
+    @Data
+    public static class MoraReciente {
+        private BigDecimal ratioSaldoMayorA;
+        private Integer mesesMayorA;
+        private String calificacion;
+    }
+}
@@ -0,0 +1,175 @@
+package com.riesgocrediticio.buro.service.calificacion;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Tabla de calificación compilada a arreglos planos. Es inmutable: una recarga crea una instancia nueva
+ * y las consultas en curso terminan con la que ya tenían.
+ * <p>
+ * Los límites de ingresos se guardan en centavos y los ratios en puntos básicos (1 = 0.0001), de modo que
+ * cada regla se evalúa con una comparación entre longs. Los límites inclusivos se convierten a estrictos
+ * restando un centavo.
+ */
+public final class ReglasCalificacion {
+
+    private static final long PUNTOS_BASICOS = 10_000L;
+    private static final int LONGITUD_CALIFICACION = 2;
+
+    private final String version;
+
+    private final long[] umbralesIngreso;
+    private final String[] calificacionesIngreso;
+    private final String calificacionIngresoRestante;
+
+    private final long[] ratiosSaldo;
+    private final String[] calificacionesSaldo;
+    private final String calificacionSaldoRestante;
+
+    private final long ratioCuotasMora;
+    private final String calificacionMoraDentro;
+    private final String calificacionMoraExcedida;
+
+    private final long[] ratiosMoraReciente;
+    private final int[] mesesMoraReciente;
+    private final String[] calificacionesMoraReciente;
+
+    private final String calificacionPorDefecto;
+    private final long porcentajeCapacidadPago;
+
+    private ReglasCalificacion(DefinicionReglasCalificacion definicion) {
+        this.version = requerirTexto(definicion.getVersion(), "version");
+
+        List<DefinicionReglasCalificacion.BandaIngreso> bandasIngreso = definicion.getIngresos().getBandas();
+        this.umbralesIngreso = new long[bandasIngreso.size()];
+        this.calificacionesIngreso = new String[bandasIngreso.size()];
+        for (int i = 0; i < bandasIngreso.size(); i++) {
+            DefinicionReglasCalificacion.BandaIngreso banda = bandasIngreso.get(i);
+            long centavos = aEntero(banda.getDesde(), 2, "ingresos.bandas[" + i + "].desde");
+            umbralesIngreso[i] = banda.isIncluyeLimite() ? centavos - 1 : centavos;
+            calificacionesIngreso[i] = requerirCalificacion(banda.getCalificacion(), "ingresos.bandas[" + i + "].calificacion");
+            if (i > 0 && umbralesIngreso[i] > umbralesIngreso[i - 1]) {
+                throw new IllegalArgumentException("Las bandas de ingresos deben ir de mayor a menor");
+            }
+        }
+        this.calificacionIngresoRestante = requerirCalificacion(
+            definicion.getIngresos().getCalificacionRestante(), "ingresos.calificacionRestante");
+
+        List<DefinicionReglasCalificacion.BandaSaldo> bandasSaldo = definicion.getSaldoPendiente().getBandas();
+        if (bandasSaldo.isEmpty()) {
+            throw new IllegalArgumentException("saldoPendiente.bandas no puede estar vacío");
+        }
+        this.ratiosSaldo = new long[bandasSaldo.size()];
+        this.calificacionesSaldo = new String[bandasSaldo.size()];
+        for (int i = 0; i < bandasSaldo.size(); i++) {
+            DefinicionReglasCalificacion.BandaSaldo banda = bandasSaldo.get(i);
+            ratiosSaldo[i] = aEntero(banda.getRatioMenorA(), 4, "saldoPendiente.bandas[" + i + "].ratioMenorA");
+            calificacionesSaldo[i] = requerirCalificacion(banda.getCalificacion(), "saldoPendiente.bandas[" + i + "].calificacion");
+            if (i > 0 && ratiosSaldo[i] <= ratiosSaldo[i - 1]) {
+                throw new IllegalArgumentException("Las bandas de saldo pendiente deben ir de menor a mayor");
+            }
+        }
+        this.calificacionSaldoRestante = requerirCalificacion(
+            definicion.getSaldoPendiente().getCalificacionRestante(), "saldoPendiente.calificacionRestante");
+
+        DefinicionReglasCalificacion.Mora mora = definicion.getMora();
+        this.ratioCuotasMora = aEntero(mora.getRatioCuotas(), 4, "mora.ratioCuotas");
+        this.calificacionMoraDentro = requerirCalificacion(mora.getCalificacionDentro(), "mora.calificacionDentro");
+        this.calificacionMoraExcedida = requerirCalificacion(mora.getCalificacionExcedida(), "mora.calificacionExcedida");
+
+        List<DefinicionReglasCalificacion.MoraReciente> moraReciente = definicion.getMoraUltimosTresMeses();
+        this.ratiosMoraReciente = new long[moraReciente.size()];
+        this.mesesMoraReciente = new int[moraReciente.size()];
+        this.calificacionesMoraReciente = new String[moraReciente.size()];
+        for (int i = 0; i < moraReciente.size(); i++) {
+            DefinicionReglasCalificacion.MoraReciente regla = moraReciente.get(i);
+            ratiosMoraReciente[i] = aEntero(regla.getRatioSaldoMayorA(), 4, "moraUltimosTresMeses[" + i + "].ratioSaldoMayorA");
+            mesesMoraReciente[i] = regla.getMesesMayorA() != null ? regla.getMesesMayorA() : Integer.MIN_VALUE;
+            calificacionesMoraReciente[i] = requerirCalificacion(regla.getCalificacion(), "moraUltimosTresMeses[" + i + "].calificacion");
+        }
+
+        this.calificacionPorDefecto = requerirCalificacion(definicion.getCalificacionPorDefecto(), "calificacionPorDefecto");
+        this.porcentajeCapacidadPago = aEntero(definicion.getPorcentajeCapacidadPago(), 4, "porcentajeCapacidadPago");
+    }
+
+    /**
+     * Valida la definición y la compila. Lanza IllegalArgumentException si la tabla no es válida.
+     */
+    public static ReglasCalificacion compilar(DefinicionReglasCalificacion definicion) {
+        return new ReglasCalificacion(definicion);
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String calificar(AgregadosRiesgo agregados) {
+        long ingresos = agregados.getTotalIngresosCentavos();
+        long saldo = agregados.getSaldoPendienteCentavos();
+        long cuotas = agregados.getTotalCuotasCentavos();
+        int meses = agregados.getMaxMesesPendientes();
+        boolean moraReciente = agregados.isMoraUltimosTresMeses();
+
+        if (!agregados.isTieneMora()) {
+            if (saldo == 0) {
+                for (int i = 0; i < umbralesIngreso.length; i++) {
+                    if (ingresos > umbralesIngreso[i]) return calificacionesIngreso[i];
+                }
+                return calificacionIngresoRestante;
+            }
+
+            // Bandas contiguas: [ratio anterior × ingresos, ratio × ingresos); la primera exige saldo > 0
+            long saldoBp = saldo * PUNTOS_BASICOS;
+            for (int i = 0; i < ratiosSaldo.length; i++) {
+                boolean desde = i == 0 ? saldo > 0 : saldoBp >= ratiosSaldo[i - 1] * ingresos;
+                if (desde && saldoBp < ratiosSaldo[i] * ingresos) return calificacionesSaldo[i];
+            }
+            if (saldoBp >= ratiosSaldo[ratiosSaldo.length - 1] * ingresos) return calificacionSaldoRestante;
+        } else if (meses > 0) {
+            return cuotas * PUNTOS_BASICOS <= ratioCuotasMora * ingresos ? calificacionMoraDentro : calificacionMoraExcedida;
+        }
+
+        if (moraReciente) {
+            long saldoBp = saldo * PUNTOS_BASICOS;
+            for (int i = 0; i < ratiosMoraReciente.length; i++) {
+                if (saldoBp > ratiosMoraReciente[i] * ingresos && meses > mesesMoraReciente[i]) {
+                    return calificacionesMoraReciente[i];
+                }
+            }
+        }
+
+        return calificacionPorDefecto;
+    }
+
+    public BigDecimal calcularCapacidadPago(AgregadosRiesgo agregados) {
+        long diferencia = Math.max(agregados.getTotalIngresosCentavos() - agregados.getTotalCuotasCentavos(), 0);
+        // Porcentaje en puntos básicos, redondeado a centavos con HALF_UP (diferencia no negativa)
+        return BigDecimal.valueOf((diferencia * porcentajeCapacidadPago + PUNTOS_BASICOS / 2) / PUNTOS_BASICOS, 2);
+    }
+
+    private static long aEntero(BigDecimal valor, int decimales, String campo) {
+        if (valor == null) {
+            throw new IllegalArgumentException(campo + " es obligatorio");
+        }
+        try {
+            return valor.movePointRight(decimales).longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException(campo + " admite como máximo " + decimales + " decimales", ex);
+        }
+    }
+
+    private static String requerirTexto(String valor, String campo) {
+        if (valor == null || valor.isBlank()) {
+            throw new IllegalArgumentException(campo + " es obligatorio");
+        }
+        return valor;
+    }
+
+    private static String requerirCalificacion(String valor, String campo) {
+        requerirTexto(valor, campo);
+        if (valor.length() > LONGITUD_CALIFICACION) {
+            throw new IllegalArgumentException(campo + " admite como máximo " + LONGITUD_CALIFICACION + " caracteres");
+        }
+        return valor;
+    }
+}
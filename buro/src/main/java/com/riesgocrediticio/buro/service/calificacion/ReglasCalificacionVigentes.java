@@ -0,0 +1,120 @@
+package com.riesgocrediticio.buro.service.calificacion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.riesgocrediticio.buro.config.CalificacionProperties;
+import com.riesgocrediticio.buro.event.ReglasCalificacionActualizadasEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mantiene la tabla de calificación activa. La recarga compila la tabla nueva fuera de la referencia y
+ * la reemplaza en una sola escritura, por lo que ninguna consulta espera ni ve una tabla a medio cargar.
+ * Si el archivo nuevo no es válido se conserva la versión anterior.
+ */
+@Slf4j
+@Component
+public class ReglasCalificacionVigentes {
+
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final CalificacionProperties calificacionProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<ReglasCalificacion> vigentes = new AtomicReference<>();
+    private volatile long ultimaModificacion;
+
+    public ReglasCalificacionVigentes(
+            ResourceLoader resourceLoader,
+            ObjectMapper objectMapper,
+            CalificacionProperties calificacionProperties,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.calificacionProperties = calificacionProperties;
+        this.eventPublisher = eventPublisher;
+
+        // Sin una tabla válida el servicio no puede calificar: falla el arranque
+        Resource recurso = recurso();
+        this.vigentes.set(cargar(recurso));
+        this.ultimaModificacion = ultimaModificacion(recurso);
+        log.info("Tabla de calificación cargada desde {} (versión {})", calificacionProperties.getReglas(), obtener().getVersion());
+    }
+
+    public ReglasCalificacion obtener() {
+        return vigentes.get();
+    }
+
+    /**
+     * Vuelve a leer el archivo configurado y activa la tabla. Lanza IllegalArgumentException si no es válida.
+     */
+    public synchronized ReglasCalificacion recargar() {
+        Resource recurso = recurso();
+        long modificacion = ultimaModificacion(recurso);
+        ReglasCalificacion nuevas = cargar(recurso);
+        ReglasCalificacion anteriores = vigentes.getAndSet(nuevas);
+        ultimaModificacion = modificacion;
+
+        if (anteriores.getVersion().equals(nuevas.getVersion())) {
+            log.warn("Tabla de calificación recargada sin cambio de versión ({})", nuevas.getVersion());
+        } else {
+            log.info("Tabla de calificación actualizada: versión {} → {}", anteriores.getVersion(), nuevas.getVersion());
+        }
+        eventPublisher.publishEvent(new ReglasCalificacionActualizadasEvent(anteriores.getVersion(), nuevas.getVersion()));
+        return nuevas;
+    }
+
+    /**
+     * Revisa periódicamente si el archivo cambió. Solo aplica a archivos en disco (file:);
+     * un recurso dentro del jar no cambia sin redesplegar.
+     */
+    @Scheduled(fixedDelayString = "${buro.calificacion.intervalo-revision:PT30S}")
+    public void revisarCambios() {
+        Resource recurso = recurso();
+        if (!recurso.isFile()) {
+            return;
+        }
+        long modificacion = ultimaModificacion(recurso);
+        if (modificacion == ultimaModificacion) {
+            return;
+        }
+        try {
+            recargar();
+        } catch (RuntimeException ex) {
+            // Se marca como revisado para no repetir el mismo error hasta que el archivo vuelva a cambiar
+            ultimaModificacion = modificacion;
+            log.error("No se pudo recargar la tabla de calificación, se mantiene la versión {}: {}",
+                obtener().getVersion(), ex.getMessage());
+        }
+    }
+
+    private Resource recurso() {
+        return resourceLoader.getResource(calificacionProperties.getReglas());
+    }
+
+    private ReglasCalificacion cargar(Resource recurso) {
+        try (InputStream entrada = recurso.getInputStream()) {
+            DefinicionReglasCalificacion definicion = objectMapper.readValue(entrada, DefinicionReglasCalificacion.class);
+            return ReglasCalificacion.compilar(definicion);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo leer la tabla de calificación " + calificacionProperties.getReglas(), ex);
+        }
+    }
+
+    private static long ultimaModificacion(Resource recurso) {
+        try {
+            return recurso.isFile() ? recurso.lastModified() : 0L;
+        } catch (IOException ex) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.riesgocrediticio.buro.service.calificacion;
+
+import java.math.BigDecimal;
+
+/**
+ * Calificación y capacidad de pago de un cliente, con la versión de la tabla con la que se calcularon.
+ */
+public class ResultadoCalificacion {
+
+    private final String calificacionRiesgo;
+    private final BigDecimal capacidadPago;
+    private final String versionReglas;
+
+    public ResultadoCalificacion(String calificacionRiesgo, BigDecimal capacidadPago, String versionReglas) {
+        this.calificacionRiesgo = calificacionRiesgo;
+        this.capacidadPago = capacidadPago;
+        this.versionReglas = versionReglas;
+    }
+
+    public String getCalificacionRiesgo() {
+        return calificacionRiesgo;
+    }
+
+    public BigDecimal getCapacidadPago() {
+        return capacidadPago;
+    }
+
+    public String getVersionReglas() {
+        return versionReglas;
+    }
+}
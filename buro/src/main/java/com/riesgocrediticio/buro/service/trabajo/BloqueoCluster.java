@@ -0,0 +1,96 @@
+package com.riesgocrediticio.buro.service.trabajo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Exclusión entre réplicas con pg_try_advisory_lock de sesión. El bloqueo vive en una conexión propia que
+ * se mantiene abierta mientras dura el trabajo; si el nodo cae, PostgreSQL lo libera al cortarse la sesión.
+ * Se usa la clave de dos enteros con una clase distinta a la de las cubetas de {@code EjecutorParticiones}.
+ */
+@Slf4j
+@Component
+class BloqueoCluster {
+
+    private static final int CLASE_TRABAJOS = "TRABAJOS_BURO".hashCode();
+
+    private final DataSource dataSource;
+
+    BloqueoCluster(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Intenta tomar el bloqueo sin esperar; vacío si otro nodo (u otro hilo) lo tiene.
+     */
+    Optional<Bloqueo> intentar(String nombre) {
+        Connection conexion = null;
+        try {
+            conexion = dataSource.getConnection();
+            conexion.setAutoCommit(true);
+            if (ejecutar(conexion, "SELECT pg_try_advisory_lock(?, ?)", nombre)) {
+                return Optional.of(new Bloqueo(nombre, conexion));
+            }
+            conexion.close();
+            return Optional.empty();
+        } catch (SQLException ex) {
+            cerrarSilencioso(conexion);
+            throw new DataAccessResourceFailureException("No se pudo tomar el bloqueo " + nombre, ex);
+        }
+    }
+
+    private static boolean ejecutar(Connection conexion, String sql, String nombre) throws SQLException {
+        try (PreparedStatement sentencia = conexion.prepareStatement(sql)) {
+            sentencia.setInt(1, CLASE_TRABAJOS);
+            sentencia.setInt(2, nombre.hashCode());
+            try (ResultSet resultado = sentencia.executeQuery()) {
+                return resultado.next() && resultado.getBoolean(1);
+            }
+        }
+    }
+
+    private static void cerrarSilencioso(Connection conexion) {
+        if (conexion != null) {
+            try {
+                conexion.close();
+            } catch (SQLException ignorada) {
+                // La conexión ya no sirve; al cerrarse la sesión el bloqueo se libera
+            }
+        }
+    }
+
+    /**
+     * Bloqueo tomado; {@link #close()} lo libera y devuelve la conexión al pool.
+     */
+    static final class Bloqueo implements AutoCloseable {
+
+        private final String nombre;
+        private final Connection conexion;
+
+        private Bloqueo(String nombre, Connection conexion) {
+            this.nombre = nombre;
+            this.conexion = conexion;
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (!ejecutar(conexion, "SELECT pg_advisory_unlock(?, ?)", nombre)) {
+                    log.warn("El bloqueo {} ya no estaba tomado al liberarlo", nombre);
+                }
+            } catch (SQLException ex) {
+                log.warn("No se pudo liberar el bloqueo {}: {}", nombre, ex.getMessage());
+            } finally {
+                cerrarSilencioso(conexion);
+            }
+        }
+    }
+}
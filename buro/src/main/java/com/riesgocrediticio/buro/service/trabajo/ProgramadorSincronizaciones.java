@@ -0,0 +1,170 @@
+package com.riesgocrediticio.buro.service.trabajo;
+
+import com.riesgocrediticio.buro.config.ProgramacionProperties;
+import com.riesgocrediticio.buro.enums.PoliticaRetrasoEnum;
+import com.riesgocrediticio.buro.enums.TipoTrabajoEnum;
+import com.riesgocrediticio.buro.exception.TrabajoNoAceptadoException;
+import com.riesgocrediticio.buro.model.PuntoControlSincronizacion;
+import com.riesgocrediticio.buro.repository.PuntoControlSincronizacionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lanza las sincronizaciones según buro.programacion.cron-core y cron-interno-externo en todas las réplicas,
+ * sin duplicar trabajo:
+ * <ul>
+ *   <li>Cada nodo revisa periódicamente la ejecución programada más reciente y espera un retraso aleatorio
+ *   dentro de la ventana antes de intentarla, para no cargar la base con todo a la misma hora.</li>
+ *   <li>Con el bloqueo de la sincronización tomado (ver {@link BloqueoCluster}), el nodo reclama la fecha
+ *   programada en buro_control.puntos_control con un UPDATE condicional; solo quien la reclama la ejecuta.</li>
+ *   <li>Si ningún nodo la tomó a tiempo (todos caídos, o pasada la tolerancia), se aplica la política de
+ *   retraso: ejecutarla una sola vez aunque se hayan perdido varias, u omitirla.</li>
+ * </ul>
+ * Las fechas programadas anteriores al arranque del nodo no se consideran hasta que alguna quede registrada.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "buro.programacion", name = "habilitada", havingValue = "true", matchIfMissing = true)
+public class ProgramadorSincronizaciones {
+
+    private static final String CRON_DESACTIVADO = "-";
+
+    private final TrabajosBuroService trabajosBuroService;
+    private final PuntoControlSincronizacionRepository puntoControlRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ProgramacionProperties properties;
+    private final ZoneId zona;
+    private final Map<TipoTrabajoEnum, CronExpression> crons = new LinkedHashMap<>();
+    private final LocalDateTime fechaArranque;
+
+    // Retraso aleatorio elegido por este nodo para cada fecha programada
+    private final Map<TipoTrabajoEnum, LocalDateTime> fechaConRetraso = new EnumMap<>(TipoTrabajoEnum.class);
+    private final Map<TipoTrabajoEnum, LocalDateTime> ejecutarDesde = new EnumMap<>(TipoTrabajoEnum.class);
+
+    public ProgramadorSincronizaciones(
+            TrabajosBuroService trabajosBuroService,
+            PuntoControlSincronizacionRepository puntoControlRepository,
+            PlatformTransactionManager transactionManager,
+            ProgramacionProperties properties) {
+        this.trabajosBuroService = trabajosBuroService;
+        this.puntoControlRepository = puntoControlRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.zona = properties.getZona() == null || properties.getZona().isBlank()
+                ? ZoneId.systemDefault()
+                : ZoneId.of(properties.getZona());
+        agregarCron(TipoTrabajoEnum.SINCRONIZACION_CORE, properties.getCronCore());
+        agregarCron(TipoTrabajoEnum.SINCRONIZACION_INTERNO_EXTERNO, properties.getCronInternoExterno());
+        this.fechaArranque = LocalDateTime.now(zona);
+        crons.forEach((tipo, cron) -> log.info("Programación {}: {} ({})", tipo.getValor(), cron, zona));
+    }
+
+    private void agregarCron(TipoTrabajoEnum tipo, String cron) {
+        if (cron != null && !cron.isBlank() && !CRON_DESACTIVADO.equals(cron.trim())) {
+            crons.put(tipo, CronExpression.parse(cron));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${buro.programacion.intervalo-revision:PT30S}",
+            initialDelayString = "${buro.programacion.intervalo-revision:PT30S}")
+    public void revisar() {
+        crons.forEach((tipo, cron) -> {
+            try {
+                revisar(tipo, cron);
+            } catch (RuntimeException ex) {
+                log.error("Error al revisar la programación de {}: {}", tipo.getValor(), ex.getMessage(), ex);
+            }
+        });
+    }
+
+    private void revisar(TipoTrabajoEnum tipo, CronExpression cron) {
+        LocalDateTime ahora = LocalDateTime.now(zona);
+        LocalDateTime ultimaProgramada = puntoControlRepository.findById(tipo.getValor())
+                .map(PuntoControlSincronizacion::getUltimaProgramada)
+                .orElse(null);
+        LocalDateTime desde = ultimaProgramada != null ? ultimaProgramada : fechaArranque;
+
+        // Fecha programada más reciente que aún no tomó ningún nodo; las perdidas en medio se cubren con ella
+        LocalDateTime pendiente = null;
+        int perdidas = 0;
+        for (LocalDateTime siguiente = siguiente(cron, desde); siguiente != null && !siguiente.isAfter(ahora);
+             siguiente = siguiente(cron, siguiente)) {
+            if (pendiente != null) {
+                perdidas++;
+            }
+            pendiente = siguiente;
+        }
+        if (pendiente == null) {
+            return;
+        }
+
+        LocalDateTime inicio = inicioConRetraso(tipo, pendiente);
+        if (ahora.isBefore(inicio)) {
+            return;
+        }
+
+        boolean atrasada = perdidas > 0 || Duration.between(inicio, ahora).compareTo(properties.getToleranciaRetraso()) > 0;
+        if (atrasada && properties.getPoliticaRetraso() == PoliticaRetrasoEnum.OMITIR) {
+            if (reclamar(tipo, pendiente)) {
+                log.warn("Sincronización {} programada para {} omitida por retraso ({} anteriores también perdidas)",
+                        tipo.getValor(), pendiente, perdidas);
+            }
+            return;
+        }
+
+        LocalDateTime programada = pendiente;
+        String nota = atrasada ? " (atrasada, cubre " + (perdidas + 1) + " ejecuciones)" : "";
+        try {
+            trabajosBuroService.iniciarProgramada(tipo, () -> reclamar(tipo, programada)).ifPresentOrElse(
+                    trabajo -> log.info("Sincronización {} programada para {} encolada como trabajo {}{}",
+                            tipo.getValor(), programada, trabajo.getId(), nota),
+                    () -> log.debug("Sincronización {} programada para {} ya tomada por otro nodo", tipo.getValor(), programada));
+        } catch (TrabajoNoAceptadoException ex) {
+            if (ex.getStatus() == HttpStatus.CONFLICT) {
+                // Hay una corrida en curso (manual o de otro nodo); se vuelve a intentar en la próxima revisión
+                log.debug("Sincronización {} programada para {} en espera: {}", tipo.getValor(), programada, ex.getMessage());
+            } else {
+                puntoControlRepository.liberarProgramada(tipo.getValor(), programada, ultimaProgramada);
+                log.warn("Sincronización {} programada para {} no encolada: {}", tipo.getValor(), programada, ex.getMessage());
+            }
+        }
+    }
+
+    private boolean reclamar(TipoTrabajoEnum tipo, LocalDateTime programada) {
+        Integer actualizadas = transactionTemplate.execute(estado -> {
+            puntoControlRepository.crearSiNoExiste(tipo.getValor());
+            return puntoControlRepository.reclamarProgramada(tipo.getValor(), programada);
+        });
+        return actualizadas != null && actualizadas == 1;
+    }
+
+    private LocalDateTime inicioConRetraso(TipoTrabajoEnum tipo, LocalDateTime programada) {
+        if (!programada.equals(fechaConRetraso.get(tipo))) {
+            long ventanaMs = properties.getVentanaAleatoria().toMillis();
+            long retrasoMs = ventanaMs > 0 ? ThreadLocalRandom.current().nextLong(ventanaMs) : 0;
+            fechaConRetraso.put(tipo, programada);
+            ejecutarDesde.put(tipo, programada.plus(Duration.ofMillis(retrasoMs)));
+        }
+        return ejecutarDesde.get(tipo);
+    }
+
+    private LocalDateTime siguiente(CronExpression cron, LocalDateTime desde) {
+        ZonedDateTime siguiente = cron.next(desde.atZone(zona));
+        return siguiente == null ? null : siguiente.toLocalDateTime();
+    }
+}
@@ -0,0 +1,44 @@
+package com.riesgocrediticio.buro.service.trabajo;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Avance de un trabajo, actualizado por el hilo que lo ejecuta y leído por el de consulta o eventos.
+ * El total queda en null cuando el origen no permite conocerlo antes de recorrerlo.
+ */
+public class ProgresoTrabajo {
+
+    private final AtomicLong procesados = new AtomicLong();
+    private volatile Long total;
+    private volatile Long creados;
+    private volatile Long existentes;
+
+    public void definirTotal(long total) {
+        this.total = total;
+    }
+
+    public void avanzar(long cantidad) {
+        procesados.addAndGet(cantidad);
+    }
+
+    public void registrarResultado(long creados, long existentes) {
+        this.creados = creados;
+        this.existentes = existentes;
+    }
+
+    public long getProcesados() {
+        return procesados.get();
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public Long getCreados() {
+        return creados;
+    }
+
+    public Long getExistentes() {
+        return existentes;
+    }
+}
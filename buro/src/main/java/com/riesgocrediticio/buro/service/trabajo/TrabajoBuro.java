@@ -0,0 +1,109 @@
+package com.riesgocrediticio.buro.service.trabajo;
+
+import com.riesgocrediticio.buro.dto.response.TrabajoBuroResponse;
+import com.riesgocrediticio.buro.enums.EstadoTrabajoEnum;
+import com.riesgocrediticio.buro.enums.TipoTrabajoEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado en memoria de un trabajo lanzado desde la API. Las transiciones las hace solo el hilo del executor.
+ */
+class TrabajoBuro {
+
+    private final String id;
+    private final TipoTrabajoEnum tipo;
+    private final ProgresoTrabajo progreso = new ProgresoTrabajo();
+    private final LocalDateTime fechaCreacion = LocalDateTime.now();
+
+    private volatile EstadoTrabajoEnum estado = EstadoTrabajoEnum.EN_COLA;
+    private volatile LocalDateTime fechaInicio;
+    private volatile LocalDateTime fechaFin;
+    private volatile long inicioNanos;
+    private volatile long finNanos;
+    private volatile String mensaje;
+    private volatile String error;
+
+    TrabajoBuro(String id, TipoTrabajoEnum tipo) {
+        this.id = id;
+        this.tipo = tipo;
+    }
+
+    void iniciar() {
+        inicioNanos = System.nanoTime();
+        fechaInicio = LocalDateTime.now();
+        estado = EstadoTrabajoEnum.EN_EJECUCION;
+    }
+
+    void completar(String mensaje) {
+        this.mensaje = mensaje;
+        terminar(EstadoTrabajoEnum.COMPLETADO);
+    }
+
+    void fallar(String error) {
+        this.error = error;
+        terminar(EstadoTrabajoEnum.FALLIDO);
+    }
+
+    private void terminar(EstadoTrabajoEnum estadoFinal) {
+        finNanos = System.nanoTime();
+        fechaFin = LocalDateTime.now();
+        estado = estadoFinal;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    TipoTrabajoEnum getTipo() {
+        return tipo;
+    }
+
+    ProgresoTrabajo getProgreso() {
+        return progreso;
+    }
+
+    EstadoTrabajoEnum getEstado() {
+        return estado;
+    }
+
+    LocalDateTime getFechaFin() {
+        return fechaFin;
+    }
+
+    TrabajoBuroResponse aRespuesta() {
+        EstadoTrabajoEnum estadoActual = estado;
+        long procesados = progreso.getProcesados();
+        Long total = progreso.getTotal();
+
+        Double filasPorSegundo = null;
+        Long segundosRestantes = null;
+        if (estadoActual != EstadoTrabajoEnum.EN_COLA) {
+            long hasta = estadoActual.esFinal() ? finNanos : System.nanoTime();
+            double segundos = (hasta - inicioNanos) / 1_000_000_000d;
+            if (segundos > 0) {
+                filasPorSegundo = Math.round(procesados / segundos * 10) / 10d;
+            }
+            if (estadoActual == EstadoTrabajoEnum.EN_EJECUCION && total != null && filasPorSegundo != null && filasPorSegundo > 0) {
+                segundosRestantes = (long) Math.ceil(Math.max(0, total - procesados) / filasPorSegundo);
+            }
+        }
+
+        return TrabajoBuroResponse.builder()
+                .id(id)
+                .tipo(tipo.getValor())
+                .estado(estadoActual.getValor())
+                .procesados(procesados)
+                .total(total)
+                .filasPorSegundo(filasPorSegundo)
+                .segundosRestantes(segundosRestantes)
+                .creados(progreso.getCreados())
+                .existentes(progreso.getExistentes())
+                .mensaje(mensaje)
+                .error(error)
+                .fechaCreacion(fechaCreacion)
+                .fechaInicio(fechaInicio)
+                .fechaFin(fechaFin)
+                .build();
+    }
+}
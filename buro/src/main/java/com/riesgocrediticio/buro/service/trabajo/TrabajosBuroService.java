@@ -0,0 +1,269 @@
+package com.riesgocrediticio.buro.service.trabajo;
+
+import com.riesgocrediticio.buro.config.TrabajosProperties;
+import com.riesgocrediticio.buro.dto.response.TrabajoBuroResponse;
+import com.riesgocrediticio.buro.enums.TipoTrabajoEnum;
+import com.riesgocrediticio.buro.exception.TrabajoNoAceptadoException;
+import com.riesgocrediticio.buro.service.BuroCreditoService;
+import com.riesgocrediticio.buro.service.EjecutorParticiones.ResultadoLote;
+import com.riesgocrediticio.buro.service.GeneradorBuroSintetico;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Ejecuta las sincronizaciones y los generadores de datos fuera del hilo de la petición, en un pool
+ * acotado propio. Cada trabajo queda consultable por id mientras dure la retención, y su progreso se
+ * publica por Server-Sent Events una vez por segundo, desde un hilo propio para que las tareas de
+ * {@code @Scheduled} (que comparten el único hilo del scheduler de Spring) no lo congelen.
+ * <p>
+ * Solo se admite un trabajo activo por tipo: las dos sincronizaciones comparten un punto de control y
+ * dos corridas simultáneas procesarían los mismos lotes. Entre réplicas, cada sincronización toma además un
+ * bloqueo de PostgreSQL desde que se encola hasta que termina; si lo tiene otro nodo se responde 409.
+ */
+@Slf4j
+@Service
+public class TrabajosBuroService {
+
+    private static final String EVENTO_PROGRESO = "progreso";
+    private static final String EVENTO_FIN = "fin";
+
+    private final BuroCreditoService buroCreditoService;
+    private final GeneradorBuroSintetico generadorBuroSintetico;
+    private final BloqueoCluster bloqueoCluster;
+    private final TrabajosProperties properties;
+    private final ThreadPoolExecutor trabajosExecutor;
+    private final ScheduledExecutorService progresoExecutor;
+    private final Map<String, TrabajoBuro> trabajos = new ConcurrentHashMap<>();
+    private final Map<String, List<SseEmitter>> suscriptores = new ConcurrentHashMap<>();
+
+    public TrabajosBuroService(BuroCreditoService buroCreditoService, GeneradorBuroSintetico generadorBuroSintetico,
+                               BloqueoCluster bloqueoCluster, TrabajosProperties properties) {
+        this.buroCreditoService = buroCreditoService;
+        this.generadorBuroSintetico = generadorBuroSintetico;
+        this.bloqueoCluster = bloqueoCluster;
+        this.properties = properties;
+        this.trabajosExecutor = new ThreadPoolExecutor(
+                properties.getHilos(), properties.getHilos(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getCapacidadCola()), new CustomizableThreadFactory("trabajo-buro-"));
+        this.progresoExecutor = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("progreso-trabajo-"));
+        progresoExecutor.scheduleWithFixedDelay(this::publicarProgreso, 1, 1, TimeUnit.SECONDS);
+    }
+
+    public TrabajoBuroResponse iniciarSincronizacionCore(boolean completa) {
+        return iniciar(TipoTrabajoEnum.SINCRONIZACION_CORE, tareaCore(completa), () -> true).orElseThrow();
+    }
+
+    public TrabajoBuroResponse iniciarSincronizacionInternoAExterno() {
+        return iniciar(TipoTrabajoEnum.SINCRONIZACION_INTERNO_EXTERNO, buroCreditoService::sincronizarClientesDesdeInternoAExterno, () -> true).orElseThrow();
+    }
+
+    /**
+     * Sin semilla se elige una al azar, que se informa en el resultado para poder repetir la corrida.
+     */
+    public TrabajoBuroResponse iniciarGeneracionExternos(int cantidad, Long semilla) {
+        long semillaCorrida = semilla != null ? semilla : ThreadLocalRandom.current().nextLong();
+        try {
+            generadorBuroSintetico.validarExternos(cantidad);
+        } catch (IllegalArgumentException ex) {
+            throw new TrabajoNoAceptadoException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+        return iniciar(TipoTrabajoEnum.GENERACION_EXTERNOS, progreso -> {
+            ResultadoLote resultado = generadorBuroSintetico.generarExternos(cantidad, semillaCorrida, progreso);
+            return "Se generaron " + cantidad + " clientes externos (semilla " + semillaCorrida + "): " +
+                    resultado.getCreados() + " registros nuevos.";
+        }, () -> true).orElseThrow();
+    }
+
+    public TrabajoBuroResponse iniciarGeneracionSintetica(int clientes, Long semilla) {
+        long semillaCorrida = semilla != null ? semilla : generadorBuroSintetico.getSemillaPorDefecto();
+        try {
+            generadorBuroSintetico.validar(clientes);
+        } catch (IllegalArgumentException ex) {
+            throw new TrabajoNoAceptadoException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+        return iniciar(TipoTrabajoEnum.GENERACION_SINTETICA, progreso -> {
+            ResultadoLote resultado = generadorBuroSintetico.generar(clientes, semillaCorrida, progreso);
+            return "Se generaron " + clientes + " clientes sintéticos (semilla " + semillaCorrida + "): " +
+                    resultado.getCreados() + " registros nuevos, " + resultado.getExistentes() + " ya existentes.";
+        }, () -> true).orElseThrow();
+    }
+
+    /**
+     * Encola una sincronización programada. Con el bloqueo ya tomado se llama a {@code reclamar}; si
+     * devuelve false (otro nodo ya la ejecutó) no se encola nada y el resultado es vacío.
+     */
+    Optional<TrabajoBuroResponse> iniciarProgramada(TipoTrabajoEnum tipo, BooleanSupplier reclamar) {
+        Function<ProgresoTrabajo, String> tarea = tipo == TipoTrabajoEnum.SINCRONIZACION_CORE
+                ? tareaCore(false)
+                : buroCreditoService::sincronizarClientesDesdeInternoAExterno;
+        return iniciar(tipo, tarea, reclamar);
+    }
+
+    private Function<ProgresoTrabajo, String> tareaCore(boolean completa) {
+        return progreso -> buroCreditoService.sincronizarClientesDesdeCore(completa, progreso);
+    }
+
+    public Optional<TrabajoBuroResponse> consultar(String id) {
+        return Optional.ofNullable(trabajos.get(id)).map(TrabajoBuro::aRespuesta);
+    }
+
+    public List<TrabajoBuroResponse> listar() {
+        return trabajos.values().stream()
+                .map(TrabajoBuro::aRespuesta)
+                .sorted(Comparator.comparing(TrabajoBuroResponse::getFechaCreacion).reversed())
+                .toList();
+    }
+
+    /**
+     * Abre un flujo de eventos "progreso" para el trabajo; al terminar se envía un evento "fin" y se cierra.
+     */
+    public Optional<SseEmitter> suscribir(String id) {
+        TrabajoBuro trabajo = trabajos.get(id);
+        if (trabajo == null) {
+            return Optional.empty();
+        }
+        SseEmitter emisor = new SseEmitter(properties.getTiempoMaximoEventos().toMillis());
+        List<SseEmitter> emisores = suscriptores.computeIfAbsent(id, k -> new CopyOnWriteArrayList<>());
+        emisores.add(emisor);
+        emisor.onCompletion(() -> emisores.remove(emisor));
+        emisor.onTimeout(() -> emisores.remove(emisor));
+        emisor.onError(ex -> emisores.remove(emisor));
+        // Estado inmediato; si el trabajo ya terminó el flujo se cierra con este único evento
+        publicar(trabajo);
+        return Optional.of(emisor);
+    }
+
+    private synchronized Optional<TrabajoBuroResponse> iniciar(TipoTrabajoEnum tipo, Function<ProgresoTrabajo, String> tarea,
+                                                               BooleanSupplier reclamar) {
+        trabajos.values().stream()
+                .filter(t -> t.getTipo() == tipo && !t.getEstado().esFinal())
+                .findFirst()
+                .ifPresent(activo -> {
+                    throw new TrabajoNoAceptadoException(HttpStatus.CONFLICT,
+                            "Ya existe un trabajo " + tipo.getValor() + " en curso: " + activo.getId());
+                });
+
+        BloqueoCluster.Bloqueo bloqueo = null;
+        if (tipo.esSincronizacion()) {
+            bloqueo = bloqueoCluster.intentar(tipo.getValor())
+                    .orElseThrow(() -> new TrabajoNoAceptadoException(HttpStatus.CONFLICT,
+                            "Ya existe un trabajo " + tipo.getValor() + " en curso en otro nodo"));
+        }
+
+        TrabajoBuro trabajo = new TrabajoBuro(UUID.randomUUID().toString(), tipo);
+        BloqueoCluster.Bloqueo bloqueoTrabajo = bloqueo;
+        try {
+            if (!reclamar.getAsBoolean()) {
+                liberar(bloqueo);
+                return Optional.empty();
+            }
+            trabajos.put(trabajo.getId(), trabajo);
+            trabajosExecutor.execute(() -> ejecutar(trabajo, tarea, bloqueoTrabajo));
+        } catch (RejectedExecutionException ex) {
+            trabajos.remove(trabajo.getId());
+            liberar(bloqueo);
+            throw new TrabajoNoAceptadoException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "No hay capacidad para más trabajos en cola. Intente más tarde.");
+        } catch (RuntimeException ex) {
+            liberar(bloqueo);
+            throw ex;
+        }
+        log.info("Trabajo {} {} encolado", tipo.getValor(), trabajo.getId());
+        return Optional.of(trabajo.aRespuesta());
+    }
+
+    private static void liberar(BloqueoCluster.Bloqueo bloqueo) {
+        if (bloqueo != null) {
+            bloqueo.close();
+        }
+    }
+
+    private void ejecutar(TrabajoBuro trabajo, Function<ProgresoTrabajo, String> tarea, BloqueoCluster.Bloqueo bloqueo) {
+        trabajo.iniciar();
+        log.info("Trabajo {} {} iniciado", trabajo.getTipo().getValor(), trabajo.getId());
+        try {
+            String mensaje = tarea.apply(trabajo.getProgreso());
+            trabajo.completar(mensaje);
+            log.info("Trabajo {} {} completado: {}", trabajo.getTipo().getValor(), trabajo.getId(), mensaje);
+        } catch (Exception ex) {
+            trabajo.fallar(ex.getMessage());
+            log.error("Trabajo {} {} fallido: {}", trabajo.getTipo().getValor(), trabajo.getId(), ex.getMessage(), ex);
+        } finally {
+            liberar(bloqueo);
+            publicar(trabajo);
+        }
+    }
+
+    void publicarProgreso() {
+        try {
+            suscriptores.keySet().forEach(id -> {
+                TrabajoBuro trabajo = trabajos.get(id);
+                if (trabajo != null) {
+                    publicar(trabajo);
+                }
+            });
+            depurarTerminados();
+        } catch (RuntimeException ex) {
+            // Una excepción cancelaría las publicaciones siguientes del executor
+            log.error("Error al publicar el progreso de los trabajos: {}", ex.getMessage(), ex);
+        }
+    }
+
+    private void publicar(TrabajoBuro trabajo) {
+        List<SseEmitter> emisores = suscriptores.get(trabajo.getId());
+        if (emisores == null || emisores.isEmpty()) {
+            return;
+        }
+        TrabajoBuroResponse estado = trabajo.aRespuesta();
+        boolean terminado = trabajo.getEstado().esFinal();
+        for (SseEmitter emisor : emisores) {
+            try {
+                emisor.send(SseEmitter.event().name(terminado ? EVENTO_FIN : EVENTO_PROGRESO).data(estado));
+                if (terminado) {
+                    emisor.complete();
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // El cliente cerró la conexión
+                emisores.remove(emisor);
+            }
+        }
+        if (terminado) {
+            suscriptores.remove(trabajo.getId());
+        }
+    }
+
+    private void depurarTerminados() {
+        LocalDateTime limite = LocalDateTime.now().minus(properties.getRetencion());
+        trabajos.values().removeIf(t -> t.getEstado().esFinal() && t.getFechaFin().isBefore(limite));
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        trabajosExecutor.shutdownNow();
+        progresoExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,58 @@
+-- Huella de contenido de cada registro del buró: md5 de sus campos de negocio (cédula, institución normalizada,
+-- producto, montos y fecha_registro; en egresos también mora y mora_ultimos_3_meses), con índice único. No entran
+-- nombres, fecha_actualizacion ni versión. Una deuda que después se reporta en mora tiene otra huella y entra
+-- como registro nuevo. Las cargas insertan con ON CONFLICT (huella) DO NOTHING: repetir una sincronización no
+-- duplica filas aunque dos corridas se solapen.
+-- Los null se codifican como \N para no confundirlos con un texto vacío. La fecha entra como días desde
+-- 2000-01-01: el texto de un date depende de DateStyle y una columna generada necesita una expresión inmutable.
+--
+-- La migración no borra datos. Si ya hay registros con la misma huella se detiene sin cambiar nada; se depuran
+-- con buro/scripts/depurar_duplicados_huella.sql (respalda en buro_archivo lo que borra y se revierte con
+-- restaurar_duplicados_huella.sql) y se vuelve a migrar.
+
+ALTER TABLE buro_interno.ingresos
+    ADD COLUMN IF NOT EXISTS huella uuid GENERATED ALWAYS AS (
+        md5(cedula_cliente || '|' || upper(btrim(institucion_bancaria)) || '|' || coalesce(producto, '\N') || '|' ||
+        coalesce(numero_cuenta, '\N') || '|' || coalesce(saldo_promedio_mes::text, '\N') || '|' ||
+        coalesce((fecha_registro - DATE '2000-01-01')::text, '\N'))::uuid) STORED;
+
+ALTER TABLE buro_interno.egresos
+    ADD COLUMN IF NOT EXISTS huella uuid GENERATED ALWAYS AS (
+        md5(cedula_cliente || '|' || upper(btrim(institucion_bancaria)) || '|' || producto || '|' ||
+        coalesce(saldo_pendiente::text, '\N') || '|' || coalesce(meses_pendientes::text, '\N') || '|' ||
+        coalesce(cuota_pago::text, '\N') || '|' || mora || '|' || mora_ultimos_3_meses || '|' ||
+        coalesce((fecha_registro - DATE '2000-01-01')::text, '\N'))::uuid) STORED;
+
+ALTER TABLE buro_externo.ingresos
+    ADD COLUMN IF NOT EXISTS huella uuid GENERATED ALWAYS AS (
+        md5(cedula_cliente || '|' || upper(btrim(institucion_bancaria)) || '|' || coalesce(producto, '\N') || '|' ||
+        coalesce(numero_cuenta, '\N') || '|' || coalesce(saldo_promedio_mes::text, '\N') || '|' ||
+        coalesce((fecha_registro - DATE '2000-01-01')::text, '\N'))::uuid) STORED;
+
+ALTER TABLE buro_externo.egresos
+    ADD COLUMN IF NOT EXISTS huella uuid GENERATED ALWAYS AS (
+        md5(cedula_cliente || '|' || upper(btrim(institucion_bancaria)) || '|' || producto || '|' ||
+        coalesce(saldo_pendiente::text, '\N') || '|' || coalesce(meses_pendientes::text, '\N') || '|' ||
+        coalesce(cuota_pago::text, '\N') || '|' || mora || '|' || mora_ultimos_3_meses || '|' ||
+        coalesce((fecha_registro - DATE '2000-01-01')::text, '\N'))::uuid) STORED;
+
+DO $$
+DECLARE
+    repetidos bigint;
+BEGIN
+    SELECT (SELECT count(*) - count(DISTINCT huella) FROM buro_interno.ingresos)
+         + (SELECT count(*) - count(DISTINCT huella) FROM buro_interno.egresos)
+         + (SELECT count(*) - count(DISTINCT huella) FROM buro_externo.ingresos)
+         + (SELECT count(*) - count(DISTINCT huella) FROM buro_externo.egresos)
+    INTO repetidos;
+    IF repetidos > 0 THEN
+        RAISE EXCEPTION 'Hay % registros de buró con huella repetida', repetidos
+            USING HINT = 'Depurarlos con buro/scripts/depurar_duplicados_huella.sql y volver a migrar';
+    END IF;
+END;
+$$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_ingresos_interno_huella ON buro_interno.ingresos (huella);
+CREATE UNIQUE INDEX IF NOT EXISTS uq_egresos_interno_huella ON buro_interno.egresos (huella);
+CREATE UNIQUE INDEX IF NOT EXISTS uq_ingresos_externo_huella ON buro_externo.ingresos (huella);
+CREATE UNIQUE INDEX IF NOT EXISTS uq_egresos_externo_huella ON buro_externo.egresos (huella);
@@ -0,0 +1,35 @@
+-- Bandeja de salida (outbox) del buró interno: cada fila insertada en buro_interno.ingresos o egresos deja un
+-- cambio en buro_control.cambios_interno en la misma transacción, con un trigger por sentencia (sirve igual
+-- para INSERT, INSERT ... SELECT y COPY). El propagador de la aplicación aplica los cambios al buró externo
+-- por lotes y los borra en la misma transacción; si falla, quedan para el siguiente intento (la copia es
+-- idempotente por la huella de V10).
+-- Las tablas del buró solo reciben inserciones, por eso no se registran UPDATE ni DELETE.
+
+CREATE TABLE IF NOT EXISTS buro_control.cambios_interno (
+    id bigint GENERATED ALWAYS AS IDENTITY,
+    tabla varchar(8) NOT NULL CHECK (tabla IN ('INGRESOS','EGRESOS')),
+    registro_id bigint NOT NULL,
+    fecha_cambio timestamp NOT NULL DEFAULT now(),
+    PRIMARY KEY (id)
+);
+
+CREATE OR REPLACE FUNCTION buro_control.registrar_cambios_interno() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO buro_control.cambios_interno (tabla, registro_id)
+    SELECT TG_ARGV[0], n.id FROM nuevos n;
+    RETURN NULL;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS cambios_interno_ingresos ON buro_interno.ingresos;
+CREATE TRIGGER cambios_interno_ingresos
+    AFTER INSERT ON buro_interno.ingresos
+    REFERENCING NEW TABLE AS nuevos
+    FOR EACH STATEMENT EXECUTE FUNCTION buro_control.registrar_cambios_interno('INGRESOS');
+
+DROP TRIGGER IF EXISTS cambios_interno_egresos ON buro_interno.egresos;
+CREATE TRIGGER cambios_interno_egresos
+    AFTER INSERT ON buro_interno.egresos
+    REFERENCING NEW TABLE AS nuevos
+    FOR EACH STATEMENT EXECUTE FUNCTION buro_control.registrar_cambios_interno('EGRESOS');
@@ -0,0 +1,184 @@
+-- Buró externo particionado por rango mensual de fecha_registro. Las consultas que acotan fecha_registro solo
+-- recorren los meses que cubren, y un mes viejo se saca con DETACH PARTITION (solo catálogo) en lugar de un
+-- DELETE masivo. Cada mes es buro_externo.{ingresos|egresos}_AAAAMM; las filas de meses sin partición caen en
+-- {ingresos|egresos}_default y se mueven a la suya al crearla. La aplicación crea los meses siguientes y
+-- archiva los vencidos (ver MantenimientoParticionesExterno).
+--
+-- En una tabla particionada las claves únicas deben incluir la columna de partición: la clave primaria pasa a
+-- (id, fecha_registro) y el índice de huella a (huella, fecha_registro). La huella de V10 ya contiene
+-- fecha_registro, así que dos filas con la misma huella tienen la misma fecha y la unicidad sigue siendo la de
+-- toda la tabla, no la de cada mes: las cargas y la copia desde el interno siguen siendo idempotentes.
+--
+-- fecha_registro pasa a NOT NULL en el externo y también en el interno, de donde se copia. La migración no
+-- completa fechas: si falta alguna se detiene sin cambios; se completan con buro/scripts/completar_fecha_registro.sql
+-- (reversible con restaurar_fecha_registro.sql) y se vuelve a migrar.
+
+DO $$
+DECLARE
+    sin_fecha bigint;
+BEGIN
+    SELECT (SELECT count(*) FROM buro_interno.ingresos WHERE fecha_registro IS NULL)
+         + (SELECT count(*) FROM buro_interno.egresos WHERE fecha_registro IS NULL)
+         + (SELECT count(*) FROM buro_externo.ingresos WHERE fecha_registro IS NULL)
+         + (SELECT count(*) FROM buro_externo.egresos WHERE fecha_registro IS NULL)
+    INTO sin_fecha;
+    IF sin_fecha > 0 THEN
+        RAISE EXCEPTION 'Hay % registros de buró sin fecha_registro', sin_fecha
+            USING HINT = 'Completarla con buro/scripts/completar_fecha_registro.sql y volver a migrar';
+    END IF;
+END;
+$$;
+
+CREATE SCHEMA IF NOT EXISTS buro_archivo;
+
+ALTER TABLE buro_interno.ingresos ALTER COLUMN fecha_registro SET NOT NULL;
+ALTER TABLE buro_interno.egresos ALTER COLUMN fecha_registro SET NOT NULL;
+
+-- Crea la partición de un mes (si no existe) y le pasa las filas de ese mes que estaban en la de defecto.
+-- Devuelve true si la creó. Los nodos la serializan con un bloqueo consultivo de la transacción.
+CREATE OR REPLACE FUNCTION buro_externo.crear_particion_mes(tabla text, mes date) RETURNS boolean
+LANGUAGE plpgsql AS $$
+DECLARE
+    inicio date := date_trunc('month', mes)::date;
+    fin date := (date_trunc('month', mes) + interval '1 month')::date;
+    particion text := tabla || '_' || to_char(mes, 'YYYYMM');
+    columnas text;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('buro_externo.particiones'));
+    IF to_regclass(format('buro_externo.%I', particion)) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+
+    -- Las columnas generadas no se insertan: se recalculan al volver a insertar
+    SELECT string_agg(quote_ident(column_name), ', ' ORDER BY ordinal_position) INTO columnas
+    FROM information_schema.columns
+    WHERE table_schema = 'buro_externo' AND table_name = tabla AND is_generated = 'NEVER';
+
+    EXECUTE format('CREATE TEMP TABLE particion_movidos ON COMMIT DROP AS SELECT %s FROM buro_externo.%I ' ||
+                   'WHERE fecha_registro >= %L AND fecha_registro < %L', columnas, tabla || '_default', inicio, fin);
+    EXECUTE format('DELETE FROM buro_externo.%I WHERE fecha_registro >= %L AND fecha_registro < %L',
+                   tabla || '_default', inicio, fin);
+    EXECUTE format('CREATE TABLE buro_externo.%I PARTITION OF buro_externo.%I FOR VALUES FROM (%L) TO (%L)',
+                   particion, tabla, inicio, fin);
+    EXECUTE format('INSERT INTO buro_externo.%I (%s) SELECT %s FROM particion_movidos', tabla, columnas, columnas);
+    DROP TABLE particion_movidos;
+    RETURN true;
+END;
+$$;
+
+-- Separa de ingresos y egresos los meses anteriores a "antes" y los mueve al esquema buro_archivo, donde
+-- quedan como tablas normales (se consultan, respaldan o eliminan aparte). Devuelve las particiones movidas.
+CREATE OR REPLACE FUNCTION buro_externo.archivar_particiones(antes date) RETURNS integer
+LANGUAGE plpgsql AS $$
+DECLARE
+    p record;
+    archivadas integer := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('buro_externo.particiones'));
+    FOR p IN
+        SELECT padre.relname AS tabla, hija.relname AS particion
+        FROM pg_inherits h
+        JOIN pg_class hija ON hija.oid = h.inhrelid
+        JOIN pg_class padre ON padre.oid = h.inhparent
+        WHERE padre.relnamespace = 'buro_externo'::regnamespace
+          AND padre.relname IN ('ingresos', 'egresos')
+          AND hija.relname ~ '_[0-9]{6}$'
+          AND to_date(right(hija.relname, 6), 'YYYYMM') < date_trunc('month', antes)
+        ORDER BY hija.relname
+    LOOP
+        EXECUTE format('ALTER TABLE buro_externo.%I DETACH PARTITION buro_externo.%I', p.tabla, p.particion);
+        EXECUTE format('ALTER TABLE buro_externo.%I SET SCHEMA buro_archivo', p.particion);
+        archivadas := archivadas + 1;
+    END LOOP;
+    RETURN archivadas;
+END;
+$$;
+
+-- Las secuencias de V6 pertenecen a las tablas actuales: se sueltan para que no se borren con ellas
+ALTER SEQUENCE buro_externo.ingresos_id_seq OWNED BY NONE;
+ALTER SEQUENCE buro_externo.egresos_id_seq OWNED BY NONE;
+
+ALTER TABLE buro_externo.ingresos RENAME TO ingresos_sin_particion;
+ALTER TABLE buro_externo.egresos RENAME TO egresos_sin_particion;
+
+CREATE TABLE buro_externo.ingresos (
+    id bigint NOT NULL DEFAULT nextval('buro_externo.ingresos_id_seq'),
+    cedula_cliente varchar(10) NOT NULL,
+    fecha_actualizacion date,
+    fecha_registro date NOT NULL,
+    institucion_bancaria varchar(35) NOT NULL,
+    nombres varchar(80) NOT NULL,
+    numero_cuenta varchar(20),
+    producto varchar(16),
+    saldo_promedio_mes numeric(12,2),
+    version bigint,
+    institucion_normalizada varchar(35) GENERATED ALWAYS AS (upper(btrim(institucion_bancaria))) STORED,
+    huella uuid GENERATED ALWAYS AS (
+        md5(cedula_cliente || '|' || upper(btrim(institucion_bancaria)) || '|' || coalesce(producto, '\N') || '|' ||
+        coalesce(numero_cuenta, '\N') || '|' || coalesce(saldo_promedio_mes::text, '\N') || '|' ||
+        coalesce((fecha_registro - DATE '2000-01-01')::text, '\N'))::uuid) STORED
+) PARTITION BY RANGE (fecha_registro);
+
+CREATE TABLE buro_externo.egresos (
+    id bigint NOT NULL DEFAULT nextval('buro_externo.egresos_id_seq'),
+    cedula_cliente varchar(10) NOT NULL,
+    cuota_pago numeric(6,2),
+    fecha_actualizacion date,
+    fecha_registro date NOT NULL,
+    institucion_bancaria varchar(35) NOT NULL,
+    meses_pendientes integer,
+    mora varchar(255) NOT NULL CHECK (mora IN ('SI','NO')),
+    mora_ultimos_3_meses varchar(255) NOT NULL CHECK (mora_ultimos_3_meses IN ('SI','NO')),
+    nombres varchar(80) NOT NULL,
+    producto varchar(255) NOT NULL CHECK (producto IN ('TARJETA_DE_CREDITO','PRESTAMO')),
+    saldo_pendiente numeric(12,2),
+    version bigint,
+    institucion_normalizada varchar(35) GENERATED ALWAYS AS (upper(btrim(institucion_bancaria))) STORED,
+    huella uuid GENERATED ALWAYS AS (
+        md5(cedula_cliente || '|' || upper(btrim(institucion_bancaria)) || '|' || producto || '|' ||
+        coalesce(saldo_pendiente::text, '\N') || '|' || coalesce(meses_pendientes::text, '\N') || '|' ||
+        coalesce(cuota_pago::text, '\N') || '|' || mora || '|' || mora_ultimos_3_meses || '|' ||
+        coalesce((fecha_registro - DATE '2000-01-01')::text, '\N'))::uuid) STORED
+) PARTITION BY RANGE (fecha_registro);
+
+CREATE TABLE buro_externo.ingresos_default PARTITION OF buro_externo.ingresos DEFAULT;
+CREATE TABLE buro_externo.egresos_default PARTITION OF buro_externo.egresos DEFAULT;
+
+-- Un mes por cada uno con datos, hasta tres meses después del actual
+SELECT buro_externo.crear_particion_mes(t.tabla, m.mes::date)
+FROM (VALUES ('ingresos'), ('egresos')) AS t (tabla),
+     generate_series(
+         date_trunc('month', least(current_date,
+             (SELECT min(fecha_registro) FROM buro_externo.ingresos_sin_particion),
+             (SELECT min(fecha_registro) FROM buro_externo.egresos_sin_particion))),
+         date_trunc('month', current_date) + interval '3 months',
+         interval '1 month') AS m (mes);
+
+INSERT INTO buro_externo.ingresos (id, cedula_cliente, fecha_actualizacion, fecha_registro, institucion_bancaria,
+    nombres, numero_cuenta, producto, saldo_promedio_mes, version)
+SELECT id, cedula_cliente, fecha_actualizacion, fecha_registro, institucion_bancaria, nombres, numero_cuenta,
+    producto, saldo_promedio_mes, version
+FROM buro_externo.ingresos_sin_particion;
+
+INSERT INTO buro_externo.egresos (id, cedula_cliente, cuota_pago, fecha_actualizacion, fecha_registro,
+    institucion_bancaria, meses_pendientes, mora, mora_ultimos_3_meses, nombres, producto, saldo_pendiente, version)
+SELECT id, cedula_cliente, cuota_pago, fecha_actualizacion, fecha_registro, institucion_bancaria, meses_pendientes,
+    mora, mora_ultimos_3_meses, nombres, producto, saldo_pendiente, version
+FROM buro_externo.egresos_sin_particion;
+
+DROP TABLE buro_externo.ingresos_sin_particion;
+DROP TABLE buro_externo.egresos_sin_particion;
+
+-- Índices y claves sobre la tabla padre: se crean igual en cada partición, también en las futuras
+ALTER TABLE buro_externo.ingresos ADD PRIMARY KEY (id, fecha_registro);
+ALTER TABLE buro_externo.egresos ADD PRIMARY KEY (id, fecha_registro);
+CREATE UNIQUE INDEX uq_ingresos_externo_huella ON buro_externo.ingresos (huella, fecha_registro);
+CREATE UNIQUE INDEX uq_egresos_externo_huella ON buro_externo.egresos (huella, fecha_registro);
+CREATE INDEX idx_ingresos_externo_cedula_institucion ON buro_externo.ingresos (cedula_cliente, institucion_normalizada);
+CREATE INDEX idx_egresos_externo_cedula_institucion ON buro_externo.egresos (cedula_cliente, institucion_normalizada);
+
+ALTER SEQUENCE buro_externo.ingresos_id_seq OWNED BY buro_externo.ingresos.id;
+ALTER SEQUENCE buro_externo.egresos_id_seq OWNED BY buro_externo.egresos.id;
+
+ANALYZE buro_externo.ingresos;
+ANALYZE buro_externo.egresos;
@@ -0,0 +1,123 @@
+-- Buró interno particionado por hash de cedula_cliente en 16 particiones, buro_interno.{ingresos|egresos}_pNN.
+-- Con el mismo módulo y la misma clave, una cédula cae en la partición del mismo número en ingresos y en
+-- egresos: los trabajos masivos reparten las particiones entre sus hilos y cada hilo lee solo las suyas
+-- (ver findCedulasInternasDespuesDe). Cada partición tiene sus propios índices, más chicos, que se mantienen
+-- y se recorren en paralelo por separado.
+--
+-- Las claves únicas incluyen la clave de partición: (id, cedula_cliente) y (huella, cedula_cliente). La huella
+-- ya contiene la cédula, así que la unicidad no cambia. La bandeja de V11 guarda también la cédula del
+-- registro para que la propagación lea solo su partición.
+
+ALTER TABLE buro_control.cambios_interno ADD COLUMN IF NOT EXISTS cedula_cliente varchar(10);
+UPDATE buro_control.cambios_interno c SET cedula_cliente = i.cedula_cliente
+FROM buro_interno.ingresos i WHERE c.tabla = 'INGRESOS' AND i.id = c.registro_id;
+UPDATE buro_control.cambios_interno c SET cedula_cliente = e.cedula_cliente
+FROM buro_interno.egresos e WHERE c.tabla = 'EGRESOS' AND e.id = c.registro_id;
+DELETE FROM buro_control.cambios_interno WHERE cedula_cliente IS NULL;
+ALTER TABLE buro_control.cambios_interno ALTER COLUMN cedula_cliente SET NOT NULL;
+
+CREATE OR REPLACE FUNCTION buro_control.registrar_cambios_interno() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO buro_control.cambios_interno (tabla, registro_id, cedula_cliente)
+    SELECT TG_ARGV[0], n.id, n.cedula_cliente FROM nuevos n;
+    RETURN NULL;
+END;
+$$;
+
+-- Las secuencias de V6 pertenecen a las tablas actuales: se sueltan para que no se borren con ellas
+ALTER SEQUENCE buro_interno.ingresos_id_seq OWNED BY NONE;
+ALTER SEQUENCE buro_interno.egresos_id_seq OWNED BY NONE;
+
+ALTER TABLE buro_interno.ingresos RENAME TO ingresos_sin_particion;
+ALTER TABLE buro_interno.egresos RENAME TO egresos_sin_particion;
+
+CREATE TABLE buro_interno.ingresos (
+    id bigint NOT NULL DEFAULT nextval('buro_interno.ingresos_id_seq'),
+    cedula_cliente varchar(10) NOT NULL,
+    fecha_actualizacion date,
+    fecha_registro date NOT NULL,
+    institucion_bancaria varchar(35) NOT NULL,
+    nombres varchar(60) NOT NULL,
+    numero_cuenta varchar(20),
+    producto varchar(100),
+    saldo_promedio_mes numeric(12,2),
+    version bigint,
+    huella uuid GENERATED ALWAYS AS (
+        md5(cedula_cliente || '|' || upper(btrim(institucion_bancaria)) || '|' || coalesce(producto, '\N') || '|' ||
+        coalesce(numero_cuenta, '\N') || '|' || coalesce(saldo_promedio_mes::text, '\N') || '|' ||
+        coalesce((fecha_registro - DATE '2000-01-01')::text, '\N'))::uuid) STORED
+) PARTITION BY HASH (cedula_cliente);
+
+CREATE TABLE buro_interno.egresos (
+    id bigint NOT NULL DEFAULT nextval('buro_interno.egresos_id_seq'),
+    cedula_cliente varchar(10) NOT NULL,
+    cuota_pago numeric(6,2),
+    fecha_actualizacion date,
+    fecha_registro date NOT NULL,
+    institucion_bancaria varchar(35) NOT NULL,
+    meses_pendientes integer,
+    mora varchar(255) NOT NULL CHECK (mora IN ('SI','NO')),
+    mora_ultimos_3_meses varchar(255) NOT NULL CHECK (mora_ultimos_3_meses IN ('SI','NO')),
+    nombres varchar(60) NOT NULL,
+    producto varchar(255) NOT NULL CHECK (producto IN ('TARJETA_DE_CREDITO','PRESTAMO')),
+    saldo_pendiente numeric(12,2),
+    version bigint,
+    huella uuid GENERATED ALWAYS AS (
+        md5(cedula_cliente || '|' || upper(btrim(institucion_bancaria)) || '|' || producto || '|' ||
+        coalesce(saldo_pendiente::text, '\N') || '|' || coalesce(meses_pendientes::text, '\N') || '|' ||
+        coalesce(cuota_pago::text, '\N') || '|' || mora || '|' || mora_ultimos_3_meses || '|' ||
+        coalesce((fecha_registro - DATE '2000-01-01')::text, '\N'))::uuid) STORED
+) PARTITION BY HASH (cedula_cliente);
+
+DO $$
+BEGIN
+    FOR resto IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE buro_interno.%I PARTITION OF buro_interno.ingresos FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                       'ingresos_p' || lpad(resto::text, 2, '0'), resto);
+        EXECUTE format('CREATE TABLE buro_interno.%I PARTITION OF buro_interno.egresos FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                       'egresos_p' || lpad(resto::text, 2, '0'), resto);
+    END LOOP;
+END;
+$$;
+
+-- Los triggers de la bandeja se crean después de copiar los datos: las filas que ya existían no son cambios
+INSERT INTO buro_interno.ingresos (id, cedula_cliente, fecha_actualizacion, fecha_registro, institucion_bancaria,
+    nombres, numero_cuenta, producto, saldo_promedio_mes, version)
+SELECT id, cedula_cliente, fecha_actualizacion, fecha_registro, institucion_bancaria,
+    nombres, numero_cuenta, producto, saldo_promedio_mes, version
+FROM buro_interno.ingresos_sin_particion;
+
+INSERT INTO buro_interno.egresos (id, cedula_cliente, cuota_pago, fecha_actualizacion, fecha_registro,
+    institucion_bancaria, meses_pendientes, mora, mora_ultimos_3_meses, nombres, producto, saldo_pendiente, version)
+SELECT id, cedula_cliente, cuota_pago, fecha_actualizacion, fecha_registro,
+    institucion_bancaria, meses_pendientes, mora, mora_ultimos_3_meses, nombres, producto, saldo_pendiente, version
+FROM buro_interno.egresos_sin_particion;
+
+DROP TABLE buro_interno.ingresos_sin_particion;
+DROP TABLE buro_interno.egresos_sin_particion;
+
+-- Índices y claves sobre la tabla padre: se crean igual en cada partición
+ALTER TABLE buro_interno.ingresos ADD PRIMARY KEY (id, cedula_cliente);
+ALTER TABLE buro_interno.egresos ADD PRIMARY KEY (id, cedula_cliente);
+CREATE UNIQUE INDEX uq_ingresos_interno_huella ON buro_interno.ingresos (huella, cedula_cliente);
+CREATE UNIQUE INDEX uq_egresos_interno_huella ON buro_interno.egresos (huella, cedula_cliente);
+CREATE INDEX idx_ingresos_interno_cedula ON buro_interno.ingresos (cedula_cliente);
+CREATE INDEX idx_egresos_interno_cedula ON buro_interno.egresos (cedula_cliente);
+
+ALTER SEQUENCE buro_interno.ingresos_id_seq OWNED BY buro_interno.ingresos.id;
+ALTER SEQUENCE buro_interno.egresos_id_seq OWNED BY buro_interno.egresos.id;
+
+-- Triggers por sentencia con tabla de transición en la tabla padre: reciben las filas de todas las particiones
+CREATE TRIGGER cambios_interno_ingresos
+    AFTER INSERT ON buro_interno.ingresos
+    REFERENCING NEW TABLE AS nuevos
+    FOR EACH STATEMENT EXECUTE FUNCTION buro_control.registrar_cambios_interno('INGRESOS');
+
+CREATE TRIGGER cambios_interno_egresos
+    AFTER INSERT ON buro_interno.egresos
+    REFERENCING NEW TABLE AS nuevos
+    FOR EACH STATEMENT EXECUTE FUNCTION buro_control.registrar_cambios_interno('EGRESOS');
+
+ANALYZE buro_interno.ingresos;
+ANALYZE buro_interno.egresos;
@@ -0,0 +1,67 @@
+-- Esquema base del buró, equivalente al generado por Hibernate (ddl-auto=update).
+-- Usa IF NOT EXISTS para que bases existentes queden alineadas sin cambios.
+
+CREATE SCHEMA IF NOT EXISTS buro_interno;
+CREATE SCHEMA IF NOT EXISTS buro_externo;
+
+CREATE TABLE IF NOT EXISTS buro_interno.ingresos (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    cedula_cliente varchar(10) NOT NULL,
+    fecha_actualizacion date,
+    fecha_registro date,
+    institucion_bancaria varchar(35) NOT NULL,
+    nombres varchar(60) NOT NULL,
+    numero_cuenta varchar(20),
+    producto varchar(100),
+    saldo_promedio_mes numeric(12,2),
+    version bigint,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS buro_interno.egresos (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    cedula_cliente varchar(10) NOT NULL,
+    cuota_pago numeric(6,2),
+    fecha_actualizacion date,
+    fecha_registro date,
+    institucion_bancaria varchar(35) NOT NULL,
+    meses_pendientes integer,
+    mora varchar(255) NOT NULL CHECK (mora IN ('SI','NO')),
+    mora_ultimos_3_meses varchar(255) NOT NULL CHECK (mora_ultimos_3_meses IN ('SI','NO')),
+    nombres varchar(60) NOT NULL,
+    producto varchar(255) NOT NULL CHECK (producto IN ('TARJETA_DE_CREDITO','PRESTAMO')),
+    saldo_pendiente numeric(12,2),
+    version bigint,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS buro_externo.ingresos (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    cedula_cliente varchar(10) NOT NULL,
+    fecha_actualizacion date,
+    fecha_registro date,
+    institucion_bancaria varchar(35) NOT NULL,
+    nombres varchar(80) NOT NULL,
+    numero_cuenta varchar(20),
+    producto varchar(16),
+    saldo_promedio_mes numeric(12,2),
+    version bigint,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS buro_externo.egresos (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    cedula_cliente varchar(10) NOT NULL,
+    cuota_pago numeric(6,2),
+    fecha_actualizacion date,
+    fecha_registro date,
+    institucion_bancaria varchar(35) NOT NULL,
+    meses_pendientes integer,
+    mora varchar(255) NOT NULL CHECK (mora IN ('SI','NO')),
+    mora_ultimos_3_meses varchar(255) NOT NULL CHECK (mora_ultimos_3_meses IN ('SI','NO')),
+    nombres varchar(80) NOT NULL,
+    producto varchar(255) NOT NULL CHECK (producto IN ('TARJETA_DE_CREDITO','PRESTAMO')),
+    saldo_pendiente numeric(12,2),
+    version bigint,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,16 @@
+-- Institución normalizada (mayúsculas, sin espacios extremos) para filtrar el buró externo
+-- por institución directamente en la base, con índice compuesto por cédula.
+
+ALTER TABLE buro_externo.ingresos
+    ADD COLUMN IF NOT EXISTS institucion_normalizada varchar(35)
+    GENERATED ALWAYS AS (upper(btrim(institucion_bancaria))) STORED;
+
+ALTER TABLE buro_externo.egresos
+    ADD COLUMN IF NOT EXISTS institucion_normalizada varchar(35)
+    GENERATED ALWAYS AS (upper(btrim(institucion_bancaria))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_ingresos_externo_cedula_institucion
+    ON buro_externo.ingresos (cedula_cliente, institucion_normalizada);
+
+CREATE INDEX IF NOT EXISTS idx_egresos_externo_cedula_institucion
+    ON buro_externo.egresos (cedula_cliente, institucion_normalizada);
@@ -0,0 +1,20 @@
+-- Foto de la calificación por cédula, recalculada por las sincronizaciones.
+-- Permite responder la consulta resumida con una sola búsqueda por clave primaria.
+
+CREATE SCHEMA IF NOT EXISTS buro_consolidado;
+
+CREATE TABLE IF NOT EXISTS buro_consolidado.puntajes (
+    cedula_cliente varchar(10) NOT NULL,
+    nombres varchar(80),
+    origen varchar(10) NOT NULL CHECK (origen IN ('INTERNO','EXTERNO')),
+    calificacion_riesgo varchar(2) NOT NULL,
+    capacidad_pago numeric(14,2) NOT NULL,
+    total_ingresos numeric(14,2) NOT NULL,
+    total_cuotas numeric(14,2) NOT NULL,
+    saldo_pendiente numeric(14,2) NOT NULL,
+    max_meses_pendientes integer NOT NULL,
+    tiene_mora boolean NOT NULL,
+    mora_ultimos_tres_meses boolean NOT NULL,
+    fecha_calculo timestamp NOT NULL,
+    PRIMARY KEY (cedula_cliente)
+);
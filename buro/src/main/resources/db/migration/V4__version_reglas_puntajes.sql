@@ -0,0 +1,4 @@
+-- Versión de la tabla de calificación con la que se calculó cada puntaje.
+-- Los puntajes sin versión o de una versión anterior se recalculan en línea al consultarlos.
+
+ALTER TABLE buro_consolidado.puntajes ADD COLUMN IF NOT EXISTS version_reglas varchar(40);
@@ -0,0 +1,5 @@
+-- Búsquedas por cédula en el buró interno (consulta y verificación de existencia en la sincronización).
+-- El buró externo ya tiene (cedula_cliente, institucion_normalizada), que cubre las búsquedas por cédula.
+
+CREATE INDEX IF NOT EXISTS idx_ingresos_interno_cedula ON buro_interno.ingresos (cedula_cliente);
+CREATE INDEX IF NOT EXISTS idx_egresos_interno_cedula ON buro_interno.egresos (cedula_cliente);
@@ -0,0 +1,24 @@
+-- Ids por secuencia en lugar de IDENTITY para que Hibernate agrupe los INSERT en lotes JDBC.
+-- Cada secuencia avanza de 50 en 50 (allocationSize de las entidades): Hibernate reserva el bloque
+-- (valor - 49 .. valor] con un solo nextval. El DEFAULT se mantiene para los INSERT escritos en SQL.
+-- La secuencia arranca en MAX(id) + 50, así el primer bloque empieza después del último id existente.
+
+ALTER TABLE buro_interno.ingresos ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS buro_interno.ingresos_id_seq INCREMENT BY 50 OWNED BY buro_interno.ingresos.id;
+SELECT setval('buro_interno.ingresos_id_seq', COALESCE((SELECT MAX(id) FROM buro_interno.ingresos), 0) + 50, false);
+ALTER TABLE buro_interno.ingresos ALTER COLUMN id SET DEFAULT nextval('buro_interno.ingresos_id_seq');
+
+ALTER TABLE buro_interno.egresos ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS buro_interno.egresos_id_seq INCREMENT BY 50 OWNED BY buro_interno.egresos.id;
+SELECT setval('buro_interno.egresos_id_seq', COALESCE((SELECT MAX(id) FROM buro_interno.egresos), 0) + 50, false);
+ALTER TABLE buro_interno.egresos ALTER COLUMN id SET DEFAULT nextval('buro_interno.egresos_id_seq');
+
+ALTER TABLE buro_externo.ingresos ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS buro_externo.ingresos_id_seq INCREMENT BY 50 OWNED BY buro_externo.ingresos.id;
+SELECT setval('buro_externo.ingresos_id_seq', COALESCE((SELECT MAX(id) FROM buro_externo.ingresos), 0) + 50, false);
+ALTER TABLE buro_externo.ingresos ALTER COLUMN id SET DEFAULT nextval('buro_externo.ingresos_id_seq');
+
+ALTER TABLE buro_externo.egresos ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS buro_externo.egresos_id_seq INCREMENT BY 50 OWNED BY buro_externo.egresos.id;
+SELECT setval('buro_externo.egresos_id_seq', COALESCE((SELECT MAX(id) FROM buro_externo.egresos), 0) + 50, false);
+ALTER TABLE buro_externo.egresos ALTER COLUMN id SET DEFAULT nextval('buro_externo.egresos_id_seq');
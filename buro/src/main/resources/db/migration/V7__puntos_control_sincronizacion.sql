@@ -0,0 +1,16 @@
+-- Avance de las sincronizaciones por lotes. Cada lote confirma sus registros y el punto de control en la
+-- misma transacción; una corrida interrumpida continúa desde el último lote confirmado.
+
+CREATE SCHEMA IF NOT EXISTS buro_control;
+
+CREATE TABLE IF NOT EXISTS buro_control.puntos_control (
+    proceso varchar(40) NOT NULL,
+    estado varchar(12) NOT NULL CHECK (estado IN ('EN_CURSO','COMPLETADA')),
+    ultima_pagina integer,
+    ultima_cedula varchar(10),
+    creados bigint NOT NULL,
+    existentes bigint NOT NULL,
+    fecha_inicio timestamp NOT NULL,
+    fecha_actualizacion timestamp NOT NULL,
+    PRIMARY KEY (proceso)
+);
@@ -0,0 +1,11 @@
+-- Sincronización incremental con el core: la corrida pide solo los clientes creados desde la marca de agua
+-- (fecha de creación más alta ya confirmada). Cada cierto tiempo se hace una corrida completa de reconciliación.
+
+ALTER TABLE buro_control.puntos_control
+    ADD COLUMN IF NOT EXISTS creado_desde date,
+    ADD COLUMN IF NOT EXISTS marca_agua date,
+    ADD COLUMN IF NOT EXISTS fecha_ultima_completa timestamp;
+
+COMMENT ON COLUMN buro_control.puntos_control.creado_desde IS 'Filtro de la corrida en curso; null = corrida completa';
+COMMENT ON COLUMN buro_control.puntos_control.marca_agua IS 'Mayor fecha de creación del core confirmada';
+COMMENT ON COLUMN buro_control.puntos_control.fecha_ultima_completa IS 'Fin de la última corrida completa';
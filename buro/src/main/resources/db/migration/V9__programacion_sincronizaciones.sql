@@ -0,0 +1,7 @@
+-- Programación de las sincronizaciones: la fecha programada más reciente que ya tomó algún nodo. El nodo
+-- que la reclama (UPDATE condicional) es el único que la ejecuta; las demás réplicas la ven tomada.
+
+ALTER TABLE buro_control.puntos_control
+    ADD COLUMN IF NOT EXISTS ultima_programada timestamp;
+
+COMMENT ON COLUMN buro_control.puntos_control.ultima_programada IS 'Última ejecución programada (cron) ya reclamada por un nodo';
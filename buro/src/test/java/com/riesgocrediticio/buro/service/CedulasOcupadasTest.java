@@ -0,0 +1,65 @@
+package com.riesgocrediticio.buro.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CedulasOcupadas frente a un HashSet: duplicados, la cédula 0 (que marca las posiciones libres) y el
+ * crecimiento de la tabla, que se duplica varias veces desde su capacidad inicial de 65 536 posiciones.
+ */
+class CedulasOcupadasTest {
+
+    private static final long SEMILLA = 20_250_101L;
+
+    @Test
+    void detectaLasCedulasRepetidas() {
+        CedulasOcupadas cedulas = new CedulasOcupadas();
+
+        assertTrue(cedulas.agregar(1_700_000_001L));
+        assertTrue(cedulas.agregar(1_700_000_002L));
+        assertFalse(cedulas.agregar(1_700_000_001L));
+        assertFalse(cedulas.agregar(1_700_000_002L));
+        assertEquals(2, cedulas.tamano());
+    }
+
+    @Test
+    void guardaLaCedulaCeroAparte() {
+        CedulasOcupadas cedulas = new CedulasOcupadas();
+
+        assertTrue(cedulas.agregar(0L));
+        assertFalse(cedulas.agregar(0L));
+        assertEquals(1, cedulas.tamano());
+
+        assertTrue(cedulas.agregar(1_700_000_001L));
+        assertFalse(cedulas.agregar(0L));
+        assertEquals(2, cedulas.tamano());
+    }
+
+    @Test
+    void conservaLasCedulasAlDuplicarLaTabla() {
+        SplittableRandom random = new SplittableRandom(SEMILLA);
+        CedulasOcupadas cedulas = new CedulasOcupadas();
+        Set<Long> esperadas = new HashSet<>();
+
+        // 300 000 cédulas de un rango chico para que haya repetidas; las unas 211 000 distintas llevan la tabla
+        // de 65 536 a 524 288 posiciones
+        for (int i = 0; i < 300_000; i++) {
+            long cedula = 1_700_000_000L + random.nextLong(400_000);
+            assertEquals(esperadas.add(cedula), cedulas.agregar(cedula), "cédula " + cedula);
+        }
+        assertEquals(esperadas.size(), cedulas.tamano());
+
+        // Después de crecer, todas las que ya estaban se siguen reconociendo
+        for (long cedula : esperadas) {
+            assertFalse(cedulas.agregar(cedula), "cédula " + cedula);
+        }
+        assertEquals(esperadas.size(), cedulas.tamano());
+    }
+}
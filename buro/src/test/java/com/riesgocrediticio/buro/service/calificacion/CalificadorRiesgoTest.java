@@ -0,0 +1,292 @@
+package com.riesgocrediticio.buro.service.calificacion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.riesgocrediticio.buro.config.CalificacionProperties;
+import com.riesgocrediticio.buro.enums.MoraEnum;
+import com.riesgocrediticio.buro.enums.MoraTresMesesEnum;
+import com.riesgocrediticio.buro.enums.ProductoExternoEnum;
+import com.riesgocrediticio.buro.enums.ProductoInternoEnum;
+import com.riesgocrediticio.buro.model.EgresosExterno;
+import com.riesgocrediticio.buro.model.EgresosInterno;
+import com.riesgocrediticio.buro.model.IngresosExterno;
+import com.riesgocrediticio.buro.model.IngresosInterno;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Equivalencia de CalificadorRiesgo (centavos y tabla configurada) con las reglas anteriores en BigDecimal
+ * (calcularCalificacionRiesgo y calcularCapacidadPago de BuroCreditoService), sobre clientes aleatorios con
+ * semilla fija. Cada escenario lleva los totales a una frontera de las reglas: saldo en cero, saldo en el
+ * 25 %, 50 % y 100 % de los ingresos (y un centavo a cada lado), los dos caminos de mora y los límites de
+ * ingresos. Los totales se reparten entre varios registros para cubrir también la suma.
+ */
+class CalificadorRiesgoTest {
+
+    private static final long SEMILLA = 20_250_101L;
+    private static final int CLIENTES_POR_ESCENARIO = 5_000;
+
+    enum Escenario {
+        LIBRE, SIN_SALDO, SALDO_EN_LIMITE, MORA, MORA_ULTIMOS_TRES_MESES, INGRESOS_EN_LIMITE
+    }
+
+    // Totales de un cliente en centavos, repartidos después entre sus registros
+    private record Totales(long ingresos, long saldo, long cuotas, int meses, boolean mora, boolean moraReciente) {
+    }
+
+    private record Egreso(long saldo, long cuota, int meses, boolean mora, boolean moraReciente) {
+    }
+
+    private static CalificadorRiesgo calificador;
+
+    @BeforeAll
+    static void cargarTabla() {
+        calificador = new CalificadorRiesgo(new ReglasCalificacionVigentes(
+            new DefaultResourceLoader(), new ObjectMapper(), new CalificacionProperties(), evento -> { }));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Escenario.class)
+    void coincideConLasReglasAnterioresEnElBuroInterno(Escenario escenario) {
+        SplittableRandom random = new SplittableRandom(SEMILLA + escenario.ordinal());
+        for (int i = 0; i < CLIENTES_POR_ESCENARIO; i++) {
+            Totales totales = generarTotales(escenario, random);
+            List<IngresosInterno> ingresos = new ArrayList<>();
+            for (long monto : repartir(totales.ingresos(), 1 + random.nextInt(3), random)) {
+                IngresosInterno ingreso = new IngresosInterno();
+                ingreso.setSaldoPromedioMes(BigDecimal.valueOf(monto, 2));
+                ingresos.add(ingreso);
+            }
+            List<EgresosInterno> egresos = new ArrayList<>();
+            for (Egreso valores : repartirEgresos(totales, random)) {
+                EgresosInterno egreso = new EgresosInterno();
+                egreso.setProducto(ProductoInternoEnum.PRESTAMO);
+                egreso.setSaldoPendiente(BigDecimal.valueOf(valores.saldo(), 2));
+                egreso.setCuotaPago(BigDecimal.valueOf(valores.cuota(), 2));
+                egreso.setMesesPendientes(valores.meses());
+                egreso.setMora(valores.mora() ? MoraEnum.SI : MoraEnum.NO);
+                egreso.setMoraUltimosTresMeses(valores.moraReciente() ? MoraTresMesesEnum.SI : MoraTresMesesEnum.NO);
+                egresos.add(egreso);
+            }
+
+            ResultadoCalificacion resultado = calificador.calificar(calificador.calcularAgregadosInterno(ingresos, egresos));
+            String caso = escenario + " #" + i + " " + totales;
+            assertEquals(calificacionAnterior(ingresos, egresos), resultado.getCalificacionRiesgo(), caso);
+            assertEquals(capacidadPagoAnterior(ingresos, egresos), resultado.getCapacidadPago(), caso);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Escenario.class)
+    void coincideConLasReglasAnterioresEnElBuroExterno(Escenario escenario) {
+        SplittableRandom random = new SplittableRandom(~SEMILLA + escenario.ordinal());
+        for (int i = 0; i < CLIENTES_POR_ESCENARIO; i++) {
+            Totales totales = generarTotales(escenario, random);
+            List<IngresosExterno> ingresos = new ArrayList<>();
+            for (long monto : repartir(totales.ingresos(), 1 + random.nextInt(3), random)) {
+                IngresosExterno ingreso = new IngresosExterno();
+                ingreso.setSaldoPromedioMes(BigDecimal.valueOf(monto, 2));
+                ingresos.add(ingreso);
+            }
+            List<EgresosExterno> egresos = new ArrayList<>();
+            for (Egreso valores : repartirEgresos(totales, random)) {
+                EgresosExterno egreso = new EgresosExterno();
+                egreso.setProducto(ProductoExternoEnum.TARJETA_DE_CREDITO);
+                egreso.setSaldoPendiente(BigDecimal.valueOf(valores.saldo(), 2));
+                egreso.setCuotaPago(BigDecimal.valueOf(valores.cuota(), 2));
+                egreso.setMesesPendientes(valores.meses());
+                egreso.setMora(valores.mora() ? MoraEnum.SI : MoraEnum.NO);
+                egreso.setMoraUltimosTresMeses(valores.moraReciente() ? MoraTresMesesEnum.SI : MoraTresMesesEnum.NO);
+                egresos.add(egreso);
+            }
+
+            ResultadoCalificacion resultado = calificador.calificar(calificador.calcularAgregadosExterno(ingresos, egresos));
+            String caso = escenario + " #" + i + " " + totales;
+            assertEquals(calificacionAnterior(ingresos, egresos), resultado.getCalificacionRiesgo(), caso);
+            assertEquals(capacidadPagoAnterior(ingresos, egresos), resultado.getCapacidadPago(), caso);
+        }
+    }
+
+    private static Totales generarTotales(Escenario escenario, SplittableRandom random) {
+        long ingresos = random.nextInt(10) == 0 ? 0 : random.nextLong(1, 800_000);
+        return switch (escenario) {
+            case LIBRE -> new Totales(ingresos, random.nextLong(0, 3 * ingresos + 2), random.nextLong(0, ingresos * 3 / 2 + 2),
+                random.nextInt(49), random.nextInt(3) == 0, random.nextInt(3) == 0);
+            case SIN_SALDO -> new Totales(ingresos, 0, random.nextBoolean() ? 0 : random.nextLong(1, 200_000),
+                random.nextBoolean() ? 0 : random.nextInt(1, 49), random.nextInt(4) == 0, random.nextBoolean());
+            case SALDO_EN_LIMITE -> {
+                // Con ingresos múltiplos de 4 el 25 % es exacto; con los demás el límite cae entre dos centavos
+                long base = random.nextBoolean() ? ingresos - ingresos % 4 : ingresos;
+                long[] porcentajes = {25, 50, 100, 200};
+                long saldo = Math.max(0, base * porcentajes[random.nextInt(porcentajes.length)] / 100 + random.nextInt(-1, 2));
+                yield new Totales(base, saldo, random.nextLong(0, base + 2), random.nextInt(49),
+                    random.nextInt(5) == 0, random.nextBoolean());
+            }
+            case MORA -> {
+                long cuotas = random.nextBoolean() ? Math.max(0, ingresos + random.nextInt(-1, 2)) : random.nextLong(0, 2 * ingresos + 2);
+                yield new Totales(ingresos, random.nextLong(0, 3 * ingresos + 2), cuotas,
+                    random.nextBoolean() ? 0 : random.nextInt(1, 49), true, random.nextBoolean());
+            }
+            case MORA_ULTIMOS_TRES_MESES -> {
+                long saldo = Math.max(0, ingresos * (1 + random.nextInt(2)) + random.nextInt(-1, 2));
+                int[] meses = {0, 1, 23, 24, 25, 36};
+                yield new Totales(ingresos, saldo, random.nextLong(0, ingresos + 2), meses[random.nextInt(meses.length)],
+                    random.nextInt(3) == 0, true);
+            }
+            case INGRESOS_EN_LIMITE -> {
+                long[] limites = {200_000, 100_000, 40_000, 0};
+                long limite = Math.max(0, limites[random.nextInt(limites.length)] + random.nextInt(-1, 2));
+                yield new Totales(limite, random.nextBoolean() ? 0 : random.nextLong(0, limite + 2),
+                    random.nextBoolean() ? 0 : random.nextLong(0, limite + 2), random.nextInt(37),
+                    random.nextInt(5) == 0, random.nextInt(5) == 0);
+            }
+        };
+    }
+
+    private static long[] repartir(long total, int partes, SplittableRandom random) {
+        long[] montos = new long[partes];
+        long restante = total;
+        for (int i = 0; i < partes - 1; i++) {
+            montos[i] = restante == 0 ? 0 : random.nextLong(0, restante + 1);
+            restante -= montos[i];
+        }
+        montos[partes - 1] = restante;
+        return montos;
+    }
+
+    // Un egreso lleva los meses máximos y las marcas de mora; los demás quedan por debajo y sin mora
+    private static List<Egreso> repartirEgresos(Totales totales, SplittableRandom random) {
+        boolean sinDeudas = totales.saldo() == 0 && totales.cuotas() == 0 && totales.meses() == 0
+            && !totales.mora() && !totales.moraReciente();
+        int cantidad = sinDeudas && random.nextBoolean() ? 0 : 1 + random.nextInt(4);
+        long[] saldos = repartir(totales.saldo(), Math.max(cantidad, 1), random);
+        long[] cuotas = repartir(totales.cuotas(), Math.max(cantidad, 1), random);
+        List<Egreso> egresos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            boolean principal = i == 0;
+            egresos.add(new Egreso(saldos[i], cuotas[i],
+                principal ? totales.meses() : random.nextInt(totales.meses() + 1),
+                principal && totales.mora(), principal && totales.moraReciente()));
+        }
+        return egresos;
+    }
+
+    // Reglas anteriores a la tabla configurable, tal como estaban en BuroCreditoService
+
+    private static String calificacionAnterior(List<?> ingresos, List<?> egresos) {
+        BigDecimal totalIngresos = ingresos.stream()
+                .map(i -> {
+                    if (i instanceof IngresosInterno ii) return ii.getSaldoPromedioMes();
+                    if (i instanceof IngresosExterno ie) return ie.getSaldoPromedioMes();
+                    return BigDecimal.ZERO;
+                })
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        BigDecimal saldoPendiente = egresos.stream()
+                .map(e -> {
+                    if (e instanceof EgresosInterno ei) return ei.getSaldoPendiente();
+                    if (e instanceof EgresosExterno ee) return ee.getSaldoPendiente();
+                    return BigDecimal.ZERO;
+                })
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        BigDecimal totalCuotas = egresos.stream()
+                .map(e -> {
+                    if (e instanceof EgresosInterno ei) return ei.getCuotaPago();
+                    if (e instanceof EgresosExterno ee) return ee.getCuotaPago();
+                    return BigDecimal.ZERO;
+                })
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        int mesesPendientes = egresos.stream()
+                .map(e -> {
+                    if (e instanceof EgresosInterno ei) return Optional.ofNullable(ei.getMesesPendientes()).orElse(0);
+                    if (e instanceof EgresosExterno ee) return Optional.ofNullable(ee.getMesesPendientes()).orElse(0);
+                    return 0;
+                })
+                .max(Integer::compareTo)
+                .orElse(0);
+
+        boolean tieneMora = egresos.stream().anyMatch(e ->
+            (e instanceof EgresosInterno ei && ei.getMora() != null && ei.getMora().toString().equalsIgnoreCase("SI")) ||
+            (e instanceof EgresosExterno ee && ee.getMora() != null && ee.getMora().toString().equalsIgnoreCase("SI"))
+        );
+        boolean moraUltimosTresMeses = egresos.stream().anyMatch(e ->
+            (e instanceof EgresosInterno ei && ei.getMoraUltimosTresMeses() != null && ei.getMoraUltimosTresMeses().toString().equalsIgnoreCase("SI")) ||
+            (e instanceof EgresosExterno ee && ee.getMoraUltimosTresMeses() != null && ee.getMoraUltimosTresMeses().toString().equalsIgnoreCase("SI"))
+        );
+
+        if (!tieneMora && saldoPendiente.compareTo(BigDecimal.ZERO) == 0 &&
+            totalCuotas.compareTo(BigDecimal.ZERO) == 0 && mesesPendientes == 0) {
+
+            if (totalIngresos.compareTo(new BigDecimal("2000")) > 0) return "A+";
+            if (totalIngresos.compareTo(new BigDecimal("1000")) >= 0) return "A-";
+            if (totalIngresos.compareTo(new BigDecimal("400")) >= 0) return "B";
+            if (totalIngresos.compareTo(BigDecimal.ZERO) > 0) return "C";
+            return "C-";
+        }
+
+        if (!tieneMora && saldoPendiente.compareTo(BigDecimal.ZERO) == 0) {
+            if (totalIngresos.compareTo(new BigDecimal("2000")) > 0) return "A+";
+            if (totalIngresos.compareTo(new BigDecimal("1000")) >= 0) return "A-";
+            if (totalIngresos.compareTo(new BigDecimal("400")) >= 0) return "B";
+            if (totalIngresos.compareTo(BigDecimal.ZERO) > 0) return "C";
+            return "C-";
+        }
+        if (!tieneMora && saldoPendiente.compareTo(BigDecimal.ZERO) > 0 &&
+                saldoPendiente.compareTo(totalIngresos.multiply(new BigDecimal("0.25"))) < 0)
+            return "B+";
+        if (!tieneMora && saldoPendiente.compareTo(totalIngresos.multiply(new BigDecimal("0.25"))) >= 0 &&
+                saldoPendiente.compareTo(totalIngresos.multiply(new BigDecimal("0.5"))) < 0)
+            return "B-";
+        if (!tieneMora && saldoPendiente.compareTo(totalIngresos.multiply(new BigDecimal("0.5"))) >= 0 &&
+                saldoPendiente.compareTo(totalIngresos) < 0)
+            return "C+";
+        if (!tieneMora && saldoPendiente.compareTo(totalIngresos) >= 0)
+            return "C-";
+        if (tieneMora && mesesPendientes > 0 && totalCuotas.compareTo(totalIngresos) <= 0)
+            return "D+";
+        if (tieneMora && mesesPendientes > 0 && totalCuotas.compareTo(totalIngresos) > 0)
+            return "D-";
+        if (moraUltimosTresMeses && saldoPendiente.compareTo(totalIngresos) > 0)
+            return "E+";
+        if (moraUltimosTresMeses && saldoPendiente.compareTo(totalIngresos.multiply(new BigDecimal("2"))) > 0 && mesesPendientes > 24)
+            return "E-";
+
+        return "C-";
+    }
+
+    private static BigDecimal capacidadPagoAnterior(List<?> ingresos, List<?> egresos) {
+        BigDecimal totalIngresos = ingresos.stream()
+                .map(i -> {
+                    if (i instanceof IngresosInterno ii) return ii.getSaldoPromedioMes();
+                    if (i instanceof IngresosExterno ie) return ie.getSaldoPromedioMes();
+                    return BigDecimal.ZERO;
+                })
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        BigDecimal totalCuotas = egresos.stream()
+                .map(e -> {
+                    if (e instanceof EgresosInterno ei) return ei.getCuotaPago();
+                    if (e instanceof EgresosExterno ee) return ee.getCuotaPago();
+                    return BigDecimal.ZERO;
+                })
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        BigDecimal diferencia = totalIngresos.subtract(totalCuotas);
+        if (diferencia.compareTo(BigDecimal.ZERO) < 0) {
+            diferencia = BigDecimal.ZERO;
+        }
+
+        return diferencia.multiply(new BigDecimal("0.3")).setScale(2, BigDecimal.ROUND_HALF_UP);
+    }
+}